@@ -0,0 +1,33 @@
+-- Compares the legacy LIKE '%...%' filter against the full-text and trigram search paths.
+-- Run after product-search-dataset.sql:  psql -d product_db -f product-search-benchmark.sql
+
+\timing on
+
+-- Legacy findProductsWithFilters predicate (now served by the lower(name) trigram index)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.id FROM products p
+WHERE p.is_active = TRUE AND lower(p.name) LIKE '%waterproof%'
+ORDER BY p.created_at DESC
+LIMIT 20;
+
+-- Ranked full-text search, first page
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT ranked.id, ranked.rank FROM (
+    SELECT p.id, CAST(ts_rank_cd(p.search_vector, q.query) + similarity(lower(p.name), 'waterproof jacket') AS FLOAT8) AS rank
+    FROM products p, websearch_to_tsquery('english', 'waterproof jacket') AS q(query)
+    WHERE p.is_active = TRUE
+      AND (p.search_vector @@ q.query OR lower(p.name) % 'waterproof jacket')
+) ranked
+ORDER BY ranked.rank DESC, ranked.id DESC
+LIMIT 21;
+
+-- Fuzzy match on a misspelled term
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT ranked.id, ranked.rank FROM (
+    SELECT p.id, CAST(ts_rank_cd(p.search_vector, q.query) + similarity(lower(p.name), 'waterprof jaket') AS FLOAT8) AS rank
+    FROM products p, websearch_to_tsquery('english', 'waterprof jaket') AS q(query)
+    WHERE p.is_active = TRUE
+      AND (p.search_vector @@ q.query OR lower(p.name) % 'waterprof jaket')
+) ranked
+ORDER BY ranked.rank DESC, ranked.id DESC
+LIMIT 21;
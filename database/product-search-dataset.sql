@@ -0,0 +1,47 @@
+-- Generates a synthetic catalog for exercising product search at scale.
+-- Usage: psql -d product_db -v product_count=1000000 -f product-search-dataset.sql
+-- Requires the V4 search migration to have been applied.
+
+\if :{?product_count}
+\else
+\set product_count 1000000
+\endif
+
+INSERT INTO categories (name, description, is_active, created_at, updated_at)
+SELECT 'Bench Category ' || c, 'Synthetic category ' || c, TRUE, NOW(), NOW()
+FROM generate_series(1, 50) AS c
+ON CONFLICT (name) DO NOTHING;
+
+WITH words AS (
+    SELECT ARRAY['wireless', 'running', 'organic', 'leather', 'smart', 'portable', 'ceramic', 'vintage',
+                 'ergonomic', 'waterproof', 'bamboo', 'stainless', 'compact', 'premium', 'kids', 'outdoor'] AS adjectives,
+           ARRAY['headphones', 'shoes', 'mat', 'backpack', 'watch', 'speaker', 'mug', 'lamp',
+                 'chair', 'jacket', 'bottle', 'keyboard', 'camera', 'tent', 'blender', 'charger'] AS nouns,
+           ARRAY['TechBrand', 'SportyBrand', 'ZenFit', 'GameMakers', 'ToyMasters', 'HomeCraft',
+                 'UrbanGear', 'NordicLine', 'PeakOutdoor', 'KitchenPro'] AS brands
+),
+bench_categories AS (
+    SELECT array_agg(id ORDER BY id) AS ids FROM categories WHERE name LIKE 'Bench Category %'
+)
+INSERT INTO products (name, description, sku, price, cost_price, stock_quantity, min_stock_level,
+                      brand, weight, is_active, is_featured, images_url, created_at, updated_at, category_id, version)
+SELECT w.adjectives[1 + (g * 7) % 16] || ' ' || w.adjectives[1 + (g * 13) % 16] || ' ' || w.nouns[1 + g % 16],
+       'Synthetic ' || w.nouns[1 + g % 16] || ' by ' || w.brands[1 + (g * 3) % 10] || ', model ' || g,
+       'BENCH-' || lpad(g::text, 8, '0'),
+       round((5 + random() * 495)::numeric, 2),
+       round((2 + random() * 200)::numeric, 2),
+       (random() * 500)::int,
+       10,
+       w.brands[1 + (g * 3) % 10],
+       round((random() * 5)::numeric, 3),
+       g % 20 <> 0,
+       g % 500 = 0,
+       NULL,
+       NOW() - (g || ' seconds')::interval,
+       NOW(),
+       bc.ids[1 + g % array_length(bc.ids, 1)],
+       0
+FROM generate_series(1, :product_count) AS g, words w, bench_categories bc
+ON CONFLICT (sku) DO NOTHING;
+
+ANALYZE products;
@@ -0,0 +1,147 @@
+package com.nahid.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.nahid.gateway.config.ResponseCacheProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cached upstream responses for idempotent catalog GETs. Caffeine's W-TinyLFU policy bounds the
+ * cache by total body bytes and each entry expires after its route's TTL. Entries carry an optional
+ * invalidation tag (a product id, the product collection, or the categories) so change events can drop exactly the
+ * responses they affect; a striped generation counter stops a load that raced an invalidation from
+ * re-inserting the stale body.
+ */
+@Component
+public class ResponseCache {
+
+    public static final String COLLECTION_TAG = "products";
+    public static final String CATEGORIES_TAG = "categories";
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final ConcurrentHashMap<String, Set<String>> keysByTag = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final Cache<String, CachedResponse> cache;
+
+    public ResponseCache(ResponseCacheProperties properties) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSizeBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .expireAfter(new TtlExpiry())
+                .removalListener((String key, CachedResponse response, RemovalCause cause) -> {
+                    if (key != null && response != null && cause != RemovalCause.REPLACED) {
+                        untag(response.tag(), key);
+                    }
+                })
+                .build();
+    }
+
+    public static String productTag(long productId) {
+        return "product:" + productId;
+    }
+
+    /**
+     * @return the cached response, or {@code null} when absent or expired
+     */
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Reads the generation a load must present to {@link #put}; taken before going upstream.
+     */
+    public long generation(String tag) {
+        return tag == null ? 0 : generations.get(stripe(tag));
+    }
+
+    /**
+     * Stores the response unless its tag was invalidated after {@code generation} was read.
+     */
+    public void put(String key, CachedResponse response, long generation) {
+        String tag = response.tag();
+        if (tag != null) {
+            if (generations.get(stripe(tag)) != generation) {
+                return;
+            }
+            keysByTag.computeIfAbsent(tag, ignored -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        cache.put(key, response);
+        if (tag != null && generations.get(stripe(tag)) != generation) {
+            cache.invalidate(key);
+        }
+    }
+
+    public void invalidateProducts(Collection<Long> productIds, boolean includeCollections) {
+        for (Long productId : productIds) {
+            if (productId != null) {
+                invalidateTag(productTag(productId));
+            }
+        }
+        if (includeCollections) {
+            invalidateTag(COLLECTION_TAG);
+        }
+    }
+
+    public void invalidateCategories() {
+        invalidateTag(CATEGORIES_TAG);
+    }
+
+    private void invalidateTag(String tag) {
+        generations.incrementAndGet(stripe(tag));
+        Set<String> keys = keysByTag.remove(tag);
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    private void untag(String tag, String key) {
+        if (tag == null) {
+            return;
+        }
+        keysByTag.computeIfPresent(tag, (ignored, keys) -> {
+            // The listener runs asynchronously; keep the key if a newer entry was stored meanwhile
+            if (!cache.asMap().containsKey(key)) {
+                keys.remove(key);
+            }
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static int stripe(String tag) {
+        return (tag.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    /**
+     * @param tag  invalidation tag, {@code null} for entries that only expire by TTL
+     * @param etag strong validator served with the body and compared against {@code If-None-Match}
+     */
+    public record CachedResponse(String contentType, byte[] body, String etag, String tag, Duration ttl) {
+    }
+
+    private static final class TtlExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+            return response.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return response.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.nahid.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bearer tokens that already passed signature verification, keyed by the SHA-256 of the token so
+ * raw credentials are never held in memory. An entry never outlives the token's own expiry, so a
+ * hit is exactly as trustworthy as re-verifying; only successful verifications are cached. The cache
+ * is bounded to {@code max-entries} by Caffeine's size eviction, so a full cache still takes new tokens.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, Entry> entries;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    public VerifiedTokenCache(@Value("${jwt.verified-cache.max-entries:10000}") int maxEntries,
+                              @Value("${jwt.verified-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, maxEntries))
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    /**
+     * @return the verified claims, or {@code null} when absent or expired
+     */
+    public VerifiedToken get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        String key = hash(token);
+        Entry entry = entries.getIfPresent(key);
+        // Expiry runs on the monotonic clock; the wall-clock check keeps a hit within the token's own expiry
+        if (entry == null || System.currentTimeMillis() >= entry.evictAtMillis()) {
+            return null;
+        }
+        return entry.token();
+    }
+
+    public void put(String token, VerifiedToken verifiedToken) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long evictAt = now + ttlMillis;
+        if (verifiedToken.expiresAt() != null) {
+            evictAt = Math.min(evictAt, verifiedToken.expiresAt().toEpochMilli());
+        }
+        if (evictAt <= now) {
+            return;
+        }
+        entries.put(hash(token), new Entry(verifiedToken, evictAt));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * @param authContextHeader the pre-encoded {@code X-Auth-Context} value, built once per token
+     */
+    public record VerifiedToken(String username, List<String> roles, Instant expiresAt, String authContextHeader) {
+    }
+
+    private record Entry(VerifiedToken token, long evictAtMillis) {
+    }
+
+    private static final class TokenExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, entry.evictAtMillis() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.nahid.gateway.config;
+
+import com.nahid.gateway.ratelimit.RateLimitQuota;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Gateway admission-control settings. Per-route quotas are written as
+ * {@code routeId=capacity:refillPerSecond}, comma separated, and parsed once at startup.
+ */
+@Getter
+@Component
+public class RateLimitProperties {
+
+    private final boolean enabled;
+    private final RateLimitQuota defaultQuota;
+    private final Map<String, RateLimitQuota> routeQuotas;
+    private final int maxBuckets;
+    private final boolean sharedAcrossReplicas;
+    private final int trustedProxies;
+
+    public RateLimitProperties(@Value("${gateway.rate-limit.enabled:true}") boolean enabled,
+                               @Value("${gateway.rate-limit.default-capacity:100}") int defaultCapacity,
+                               @Value("${gateway.rate-limit.default-refill-per-second:50}") double defaultRefillPerSecond,
+                               @Value("${gateway.rate-limit.routes:}") String routes,
+                               @Value("${gateway.rate-limit.max-buckets:100000}") int maxBuckets,
+                               @Value("${gateway.rate-limit.shared-across-replicas:false}") boolean sharedAcrossReplicas,
+                               @Value("${gateway.rate-limit.trusted-proxies:0}") int trustedProxies) {
+        this.enabled = enabled;
+        this.defaultQuota = new RateLimitQuota(defaultCapacity, defaultRefillPerSecond);
+        this.routeQuotas = parseRouteQuotas(routes);
+        this.maxBuckets = maxBuckets;
+        this.sharedAcrossReplicas = sharedAcrossReplicas;
+        this.trustedProxies = trustedProxies;
+    }
+
+    private static Map<String, RateLimitQuota> parseRouteQuotas(String value) {
+        if (!StringUtils.hasText(value)) {
+            return Map.of();
+        }
+        Map<String, RateLimitQuota> quotas = new HashMap<>();
+        for (String entry : value.split(",")) {
+            if (!StringUtils.hasText(entry)) {
+                continue;
+            }
+            String[] routeAndQuota = entry.trim().split("=", 2);
+            String[] capacityAndRefill = routeAndQuota.length == 2 ? routeAndQuota[1].split(":", 2) : new String[0];
+            if (capacityAndRefill.length != 2) {
+                throw new IllegalArgumentException(
+                        "Invalid gateway.rate-limit.routes entry '" + entry + "', expected routeId=capacity:refillPerSecond");
+            }
+            quotas.put(routeAndQuota[0].trim(), new RateLimitQuota(
+                    Integer.parseInt(capacityAndRefill[0].trim()),
+                    Double.parseDouble(capacityAndRefill[1].trim())));
+        }
+        return Map.copyOf(quotas);
+    }
+}
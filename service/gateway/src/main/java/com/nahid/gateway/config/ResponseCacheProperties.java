@@ -0,0 +1,76 @@
+package com.nahid.gateway.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Gateway response-cache settings. Only routes listed in {@code gateway.response-cache.routes}
+ * are cached, each with its own TTL written as {@code routeId=duration} (e.g. {@code 30s}).
+ * Product routes have their entries invalidated by catalog and stock change events, category routes
+ * by category change events.
+ */
+@Getter
+@Component
+public class ResponseCacheProperties {
+
+    private final boolean enabled;
+    private final Map<String, Duration> routeTtls;
+    private final Set<String> productRoutes;
+    private final Set<String> categoryRoutes;
+    private final long maxSizeBytes;
+    private final int maxEntryBytes;
+    private final Duration coalesceTimeout;
+
+    public ResponseCacheProperties(@Value("${gateway.response-cache.enabled:true}") boolean enabled,
+                                   @Value("${gateway.response-cache.routes:}") String routes,
+                                   @Value("${gateway.response-cache.product-routes:}") String productRoutes,
+                                   @Value("${gateway.response-cache.category-routes:}") String categoryRoutes,
+                                   @Value("${gateway.response-cache.max-size-bytes:67108864}") long maxSizeBytes,
+                                   @Value("${gateway.response-cache.max-entry-bytes:262144}") int maxEntryBytes,
+                                   @Value("${gateway.response-cache.coalesce-timeout:5s}") String coalesceTimeout) {
+        this.enabled = enabled;
+        this.routeTtls = parseRouteTtls(routes);
+        this.productRoutes = StringUtils.commaDelimitedListToSet(productRoutes.replace(" ", ""));
+        this.categoryRoutes = StringUtils.commaDelimitedListToSet(categoryRoutes.replace(" ", ""));
+        this.maxSizeBytes = maxSizeBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.coalesceTimeout = DurationStyle.detectAndParse(coalesceTimeout);
+    }
+
+    /**
+     * @return the TTL for the route, or {@code null} when its responses are not cached
+     */
+    public Duration ttlFor(String routeId) {
+        return routeTtls.get(routeId);
+    }
+
+    private static Map<String, Duration> parseRouteTtls(String value) {
+        if (!StringUtils.hasText(value)) {
+            return Map.of();
+        }
+        Map<String, Duration> ttls = new HashMap<>();
+        for (String entry : value.split(",")) {
+            if (!StringUtils.hasText(entry)) {
+                continue;
+            }
+            String[] routeAndTtl = entry.trim().split("=", 2);
+            if (routeAndTtl.length != 2) {
+                throw new IllegalArgumentException(
+                        "Invalid gateway.response-cache.routes entry '" + entry + "', expected routeId=duration");
+            }
+            Duration ttl = DurationStyle.detectAndParse(routeAndTtl[1].trim());
+            if (!ttl.isZero() && !ttl.isNegative()) {
+                ttls.put(routeAndTtl[0].trim(), ttl);
+            }
+        }
+        return Map.copyOf(ttls);
+    }
+}
@@ -0,0 +1,47 @@
+package com.nahid.gateway.consumer;
+
+import com.nahid.gateway.cache.ResponseCache;
+import com.nahid.gateway.dto.event.CatalogChangeEventDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogChangeConsumer {
+
+    private final ResponseCache responseCache;
+
+    // Every gateway replica holds its own cache, so each instance joins with its own consumer group
+    @KafkaListener(
+            topics = "${spring.kafka.topic.product-change-topic}",
+            groupId = "gateway-response-cache-${random.uuid}",
+            containerFactory = "catalogChangeKafkaListenerContainerFactory"
+    )
+    public void handleProductChange(@Payload CatalogChangeEventDto event) {
+        if (event.getProductIds() != null) {
+            log.debug("Evicting cached responses for changed products {}", event.getProductIds());
+            responseCache.invalidateProducts(event.getProductIds(), true);
+        }
+        if (event.getCategoryIds() != null && !event.getCategoryIds().isEmpty()) {
+            log.debug("Evicting cached category responses for changed categories {}", event.getCategoryIds());
+            responseCache.invalidateCategories();
+        }
+    }
+
+    // Stock moves on every purchase; listings are left to their TTL so they keep a useful hit rate
+    @KafkaListener(
+            topics = "${spring.kafka.topic.stock-change-topic}",
+            groupId = "gateway-response-cache-${random.uuid}",
+            containerFactory = "catalogChangeKafkaListenerContainerFactory"
+    )
+    public void handleStockChange(@Payload CatalogChangeEventDto event) {
+        if (event.getProductIds() == null) {
+            return;
+        }
+        responseCache.invalidateProducts(event.getProductIds(), false);
+    }
+}
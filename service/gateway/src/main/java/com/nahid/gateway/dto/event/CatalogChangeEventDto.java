@@ -0,0 +1,23 @@
+package com.nahid.gateway.dto.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The part of the product service's product-change and stock-change events the gateway needs.
+ * Category changes arrive on the product-change topic with {@code categoryIds} set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CatalogChangeEventDto {
+    private List<Long> productIds;
+    private List<Long> categoryIds;
+}
@@ -2,9 +2,10 @@ package com.nahid.gateway.filter;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.nahid.gateway.config.GatewaySecurityProperties;
-import com.nahid.gateway.dto.CustomAuthContextDto;
+import com.nahid.gateway.cache.VerifiedTokenCache.VerifiedToken;
+import com.nahid.gateway.util.AuthContextCodec;
 import com.nahid.gateway.util.JwtUtil;
+import com.nahid.gateway.util.PublicEndpointMatcher;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +17,6 @@ import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
@@ -26,7 +26,6 @@ import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 
@@ -39,22 +38,30 @@ import static com.nahid.gateway.util.constant.ExceptionMessageConstant.JWT_TOKEN
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
+    /**
+     * Exchange attribute holding the verified username, read by filters that run later.
+     */
+    public static final String AUTHENTICATED_USER_ATTR = JwtAuthenticationFilter.class.getName() + ".user";
+
     private static final String BEARER_PREFIX = "Bearer ";
-    private static final String HEADER_CUSTOM_AUTH_CONTEXT = "X-Auth-Context";
-    private static final String HEADER_USER_ID = "X-Auth-User";
-    private static final String HEADER_USER_ROLES = "X-Auth-Roles";
 
     private final JwtUtil jwtUtil;
     private final ObjectMapper objectMapper;
-    private final GatewaySecurityProperties securityProperties;
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final PublicEndpointMatcher publicEndpointMatcher;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
-        String requestPath = request.getURI().getPath();
-
-        if (isPublicEndpoint(requestPath)) {
+        String requestPath = request.getPath().value();
+
+        if (publicEndpointMatcher.matches(request.getMethod(), request.getPath().pathWithinApplication())) {
+            if (request.getHeaders().containsKey(AuthContextCodec.HEADER)) {
+                // Never let a client forge the context that downstream services trust
+                ServerHttpRequest strippedRequest = request.mutate()
+                        .headers(headers -> headers.remove(AuthContextCodec.HEADER))
+                        .build();
+                return chain.filter(exchange.mutate().request(strippedRequest).build());
+            }
             return chain.filter(exchange);
         }
 
@@ -64,51 +71,27 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         }
 
         try {
-            if (!jwtUtil.isTokenValid(token)) {
-                return writeErrorResponse(exchange, JWT_TOKEN_INVALID);
+            VerifiedToken verifiedToken = jwtUtil.verify(token);
+            if (verifiedToken.username() != null) {
+                exchange.getAttributes().put(AUTHENTICATED_USER_ATTR, verifiedToken.username());
             }
 
-            String username = jwtUtil.extractUsername(token);
-            List<String> roles = jwtUtil.extractRoles(token);
-
-            CustomAuthContextDto customAuthContextDto = CustomAuthContextDto.builder()
-                    .userName(username)
-                    .role(roles)
-                    .build();
-
-            String customAuthContextDtoJson = objectMapper.writeValueAsString(customAuthContextDto);
-            String customAuthContextDtoBase64 = Base64.getEncoder().encodeToString(customAuthContextDtoJson.getBytes());
-
             ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
-                    .header(HEADER_CUSTOM_AUTH_CONTEXT, customAuthContextDtoBase64)
+                    .header(AuthContextCodec.HEADER, verifiedToken.authContextHeader())
                     .build();
 
-//            ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
-//                    .header(HEADER_USER_ID, username)
-//                    .header(HEADER_USER_ROLES, roles == null ? "" : String.join(",", roles))
-//                    .build();
-
             return chain.filter(exchange.mutate().request(mutatedRequest).build());
         } catch (ExpiredJwtException ex) {
             log.debug("JWT token expired for path {}: {}", requestPath, ex.getMessage());
             return writeErrorResponse(exchange, JWT_TOKEN_EXPIRED);
-        } catch (JwtException ex) {
-            log.error("JWT validation failed for path {}: {}", requestPath, ex.getMessage());
-            return writeErrorResponse(exchange, "JWT validation failed");
-        }
-        catch (JsonProcessingException e) {
-            log.error("Failed to serialize auth context: {}", e.getMessage());
-           return writeErrorResponse(exchange, "Failed to serialize auth context");
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("JWT validation failed for path {}: {}", requestPath, ex.getMessage());
+            return writeErrorResponse(exchange, JWT_TOKEN_INVALID);
         }
     }
 
 
 
-    private boolean isPublicEndpoint(String path) {
-        return securityProperties.getPublicEndpoints().stream()
-                .anyMatch(pattern -> pathMatcher.match(pattern, path));
-    }
-
     private String extractToken(HttpHeaders headers) {
         List<String> authorizationHeaders = headers.getOrEmpty(HttpHeaders.AUTHORIZATION);
         if (CollectionUtils.isEmpty(authorizationHeaders)) {
@@ -0,0 +1,122 @@
+package com.nahid.gateway.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nahid.gateway.config.RateLimitProperties;
+import com.nahid.gateway.ratelimit.InMemoryRateLimitStore;
+import com.nahid.gateway.ratelimit.RateLimitDecision;
+import com.nahid.gateway.ratelimit.RateLimitQuotaResolver;
+import com.nahid.gateway.ratelimit.RateLimitStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import static com.nahid.gateway.util.constant.ExceptionMessageConstant.RATE_LIMIT_EXCEEDED;
+
+/**
+ * Admission control for every routed request. Runs after {@link JwtAuthenticationFilter} so
+ * authenticated callers get a bucket per user and route; anonymous callers are keyed by client
+ * address. Rejections are answered with 429 and {@code Retry-After} without reaching the service.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private static final String DEFAULT_ROUTE = "default";
+
+    private final RateLimitProperties properties;
+    private final RateLimitQuotaResolver quotaResolver;
+    private final RateLimitStore rateLimitStore;
+    private final RemoteAddressResolver remoteAddressResolver;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitProperties properties,
+                           RateLimitQuotaResolver quotaResolver,
+                           ObjectProvider<RateLimitStore> rateLimitStore,
+                           ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.quotaResolver = quotaResolver;
+        this.rateLimitStore = rateLimitStore.getIfAvailable(
+                () -> new InMemoryRateLimitStore(properties.getMaxBuckets()));
+        this.remoteAddressResolver = properties.getTrustedProxies() > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(properties.getTrustedProxies())
+                : new RemoteAddressResolver() { };
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : DEFAULT_ROUTE;
+        String key = routeId + '|' + clientKey(exchange);
+
+        return rateLimitStore.tryAcquire(key, quotaResolver.resolve(routeId))
+                .flatMap(decision -> decision.allowed()
+                        ? chain.filter(exchange)
+                        : writeTooManyRequests(exchange, decision));
+    }
+
+    private String clientKey(ServerWebExchange exchange) {
+        String user = exchange.getAttribute(JwtAuthenticationFilter.AUTHENTICATED_USER_ATTR);
+        if (user != null) {
+            return "user:" + user;
+        }
+        InetSocketAddress address = remoteAddressResolver.resolve(exchange);
+        if (address == null) {
+            return "ip:unknown";
+        }
+        return "ip:" + (address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString());
+    }
+
+    private Mono<Void> writeTooManyRequests(ServerWebExchange exchange, RateLimitDecision decision) {
+        // Round up so clients never retry before a token is available
+        long retryAfterSeconds = Math.max(1, (decision.retryAfter().toMillis() + 999) / 1000);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        Map<String, Object> responseBody = Map.of(
+                "timestamp", Instant.now().toString(),
+                "status", HttpStatus.TOO_MANY_REQUESTS.value(),
+                "error", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                "message", RATE_LIMIT_EXCEEDED,
+                "path", exchange.getRequest().getPath().value()
+        );
+
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(responseBody);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialise rate limit response: {}", e.getMessage());
+            bytes = ("{\"message\":\"" + RATE_LIMIT_EXCEEDED + "\"}").getBytes(StandardCharsets.UTF_8);
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+}
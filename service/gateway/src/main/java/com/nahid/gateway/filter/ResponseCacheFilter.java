@@ -0,0 +1,272 @@
+package com.nahid.gateway.filter;
+
+import com.nahid.gateway.cache.ResponseCache;
+import com.nahid.gateway.cache.ResponseCache.CachedResponse;
+import com.nahid.gateway.config.ResponseCacheProperties;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Serves idempotent catalog GETs from {@link ResponseCache}. Runs after authentication and rate
+ * limiting, so cached answers are still admitted per caller. On a miss only one request per key goes
+ * upstream; concurrent requests for the same key wait for its body instead of stampeding the service,
+ * and fall back to their own upstream call if it turns out not to be cacheable.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final PathPattern PRODUCT_ITEM_PATTERN = new PathPatternParser().parse("/api/v1/products/{id}/**");
+
+    private final ResponseCacheProperties properties;
+    private final ResponseCache responseCache;
+    private final ConcurrentHashMap<String, Mono<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null || request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        Duration ttl = properties.ttlFor(route.getId());
+        if (ttl == null) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(request);
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            return writeCached(exchange, cached);
+        }
+
+        Sinks.One<CachedResponse> loaded = Sinks.one();
+        Mono<CachedResponse> shared = loaded.asMono();
+        Mono<CachedResponse> leader = inFlight.putIfAbsent(key, shared);
+        if (leader != null) {
+            return leader.timeout(properties.getCoalesceTimeout(), Mono.empty())
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(response -> response.isPresent()
+                            ? writeCached(exchange, response.get())
+                            : chain.filter(exchange));
+        }
+
+        // A previous leader may have stored the entry between the lookup and winning the slot
+        cached = responseCache.get(key);
+        if (cached != null) {
+            inFlight.remove(key, shared);
+            loaded.tryEmitValue(cached);
+            return writeCached(exchange, cached);
+        }
+
+        String tag = tagFor(route.getId(), request);
+        long generation = responseCache.generation(tag);
+        CachingResponseDecorator response = new CachingResponseDecorator(
+                exchange.getResponse(), properties.getMaxEntryBytes(), tag, ttl, captured -> {
+                    responseCache.put(key, captured, generation);
+                    loaded.tryEmitValue(captured);
+                });
+        response.getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, shared);
+                    loaded.tryEmitEmpty();
+                });
+    }
+
+    /**
+     * Normalised path plus query parameters sorted by name (values keep their order, which can be
+     * significant), plus the {@code Accept} header since upstream endpoints negotiate on it.
+     */
+    static String cacheKey(ServerHttpRequest request) {
+        String path = request.getPath().pathWithinApplication().value();
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        StringBuilder key = new StringBuilder(path);
+        MultiValueMap<String, String> queryParams = request.getQueryParams();
+        if (!queryParams.isEmpty()) {
+            List<String> names = new ArrayList<>(queryParams.keySet());
+            Collections.sort(names);
+            char separator = '?';
+            for (String name : names) {
+                for (String value : queryParams.get(name)) {
+                    key.append(separator).append(name).append('=').append(value == null ? "" : value);
+                    separator = '&';
+                }
+            }
+        }
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        return key.append('|').append(accept == null ? "" : accept).toString();
+    }
+
+    private String tagFor(String routeId, ServerHttpRequest request) {
+        if (properties.getCategoryRoutes().contains(routeId)) {
+            return ResponseCache.CATEGORIES_TAG;
+        }
+        if (!properties.getProductRoutes().contains(routeId)) {
+            return null;
+        }
+        PathContainer path = request.getPath().pathWithinApplication();
+        PathPattern.PathMatchInfo match = PRODUCT_ITEM_PATTERN.matchAndExtract(path);
+        if (match != null) {
+            String id = match.getUriVariables().get("id");
+            if (id.chars().allMatch(Character::isDigit) && id.length() < 19) {
+                return ResponseCache.productTag(Long.parseLong(id));
+            }
+        }
+        return ResponseCache.COLLECTION_TAG;
+    }
+
+    private static Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        if (matchesIfNoneMatch(exchange.getRequest().getHeaders(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.set(HttpHeaders.CONTENT_TYPE, cached.contentType());
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean matchesIfNoneMatch(HttpHeaders requestHeaders, String etag) {
+        for (String candidate : requestHeaders.getIfNoneMatch()) {
+            if ("*".equals(candidate)) {
+                return true;
+            }
+            // If-None-Match uses weak comparison
+            String opaque = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if (opaque.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int getOrder() {
+        return 1;
+    }
+
+    /**
+     * Passes the upstream body through unchanged while keeping a copy of it, and hands the copy to
+     * {@code onCaptured} once the body completes. Responses that are not plain 200 JSON, are marked
+     * {@code no-store}/{@code private}, set cookies, are encoded or exceed the entry limit are not
+     * captured. Streaming writes ({@code writeAndFlushWith}) always pass through.
+     */
+    private static final class CachingResponseDecorator extends ServerHttpResponseDecorator {
+
+        private final int maxEntryBytes;
+        private final String tag;
+        private final Duration ttl;
+        private final Consumer<CachedResponse> onCaptured;
+
+        private CachingResponseDecorator(ServerHttpResponse delegate, int maxEntryBytes, String tag,
+                                         Duration ttl, Consumer<CachedResponse> onCaptured) {
+            super(delegate);
+            this.maxEntryBytes = maxEntryBytes;
+            this.tag = tag;
+            this.ttl = ttl;
+            this.onCaptured = onCaptured;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isCacheable()) {
+                return super.writeWith(body);
+            }
+            Capture capture = new Capture();
+            Flux<DataBuffer> teed = Flux.from(body)
+                    .map(DataBuffer.class::cast)
+                    .doOnNext(capture::append)
+                    .doOnComplete(() -> {
+                        if (!capture.overflowed) {
+                            onCaptured.accept(toCachedResponse(capture.bytes.toByteArray()));
+                        }
+                    });
+            return super.writeWith(teed);
+        }
+
+        private boolean isCacheable() {
+            HttpHeaders headers = getHeaders();
+            MediaType contentType = headers.getContentType();
+            String cacheControl = headers.getCacheControl();
+            return HttpStatus.OK.equals(getStatusCode())
+                    && contentType != null
+                    && MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                    && !headers.containsKey(HttpHeaders.CONTENT_ENCODING)
+                    && !headers.containsKey(HttpHeaders.SET_COOKIE)
+                    && headers.getContentLength() <= maxEntryBytes
+                    && (cacheControl == null
+                        || !(cacheControl.contains("no-store") || cacheControl.contains("private")));
+        }
+
+        private CachedResponse toCachedResponse(byte[] body) {
+            HttpHeaders headers = getHeaders();
+            String etag = headers.getETag();
+            if (!StringUtils.hasText(etag) || etag.startsWith("W/")) {
+                etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+            }
+            return new CachedResponse(headers.getFirst(HttpHeaders.CONTENT_TYPE), body, etag, tag, ttl);
+        }
+
+        private final class Capture {
+
+            private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            private boolean overflowed;
+
+            private void append(DataBuffer buffer) {
+                int readable = buffer.readableByteCount();
+                if (overflowed || bytes.size() + readable > maxEntryBytes) {
+                    overflowed = true;
+                    return;
+                }
+                byte[] chunk = new byte[readable];
+                // Copies without moving the read position, so the original buffer is still written out
+                buffer.toByteBuffer(ByteBuffer.wrap(chunk));
+                bytes.write(chunk, 0, readable);
+            }
+        }
+    }
+}
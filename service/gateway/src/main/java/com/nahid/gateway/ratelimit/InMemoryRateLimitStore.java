@@ -0,0 +1,104 @@
+package com.nahid.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets implemented as GCRA: each bucket is a single "theoretical arrival time"
+ * advanced by compare-and-set, which is equivalent to a token bucket without a separate refill
+ * step. A bucket whose arrival time has passed is full again, so each bucket expires at that point;
+ * beyond that the table is bounded to {@code maxBuckets} by Caffeine's size eviction, which keeps
+ * the busiest keys when many new ones arrive, so a key that keeps coming back wins a slot from cold ones.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Cache<String, Bucket> buckets;
+    private final Ticker ticker;
+
+    public InMemoryRateLimitStore(int maxBuckets) {
+        this(maxBuckets, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    InMemoryRateLimitStore(int maxBuckets, Ticker ticker, Executor executor) {
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfter(new RefillExpiry())
+                .ticker(ticker)
+                .executor(executor)
+                .build();
+    }
+
+    @Override
+    public Mono<RateLimitDecision> tryAcquire(String key, RateLimitQuota quota) {
+        return Mono.just(acquire(key, quota));
+    }
+
+    RateLimitDecision acquire(String key, RateLimitQuota quota) {
+        long interval = quota.emissionIntervalNanos();
+        AtomicLong arrival = buckets.get(key, ignored -> new Bucket(new AtomicLong(Long.MIN_VALUE), interval)).arrival();
+        long burst = interval * quota.capacity();
+        while (true) {
+            long now = ticker.read();
+            long current = arrival.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return RateLimitDecision.rejected(wait);
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return RateLimitDecision.ALLOWED;
+            }
+        }
+    }
+
+    boolean isTracked(String key) {
+        return buckets.getIfPresent(key) != null;
+    }
+
+    long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    /**
+     * @param intervalNanos emission interval of the quota the bucket was created with
+     */
+    private record Bucket(AtomicLong arrival, long intervalNanos) {
+    }
+
+    /**
+     * Expires a bucket once it is full again. Evaluated when the bucket is looked up, before the
+     * caller advances it by at most one interval, so one interval is added on top of the current
+     * arrival time.
+     */
+    private static final class RefillExpiry implements Expiry<String, Bucket> {
+
+        @Override
+        public long expireAfterCreate(String key, Bucket bucket, long currentTime) {
+            return untilFull(bucket, currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Bucket bucket, long currentTime, long currentDuration) {
+            return untilFull(bucket, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Bucket bucket, long currentTime, long currentDuration) {
+            return untilFull(bucket, currentTime);
+        }
+
+        private static long untilFull(Bucket bucket, long currentTime) {
+            long arrival = bucket.arrival().get();
+            return (arrival > currentTime ? arrival - currentTime : 0) + bucket.intervalNanos();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.nahid.gateway.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one admission attempt; {@code retryAfter} is zero when the request is allowed.
+ */
+public record RateLimitDecision(boolean allowed, Duration retryAfter) {
+
+    public static final RateLimitDecision ALLOWED = new RateLimitDecision(true, Duration.ZERO);
+
+    public static RateLimitDecision rejected(long retryAfterNanos) {
+        return new RateLimitDecision(false, Duration.ofNanos(retryAfterNanos));
+    }
+}
@@ -0,0 +1,34 @@
+package com.nahid.gateway.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket quota: up to {@code capacity} requests in a burst, refilled at
+ * {@code refillPerSecond}.
+ */
+public record RateLimitQuota(int capacity, double refillPerSecond) {
+
+    public RateLimitQuota {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException(
+                    "Rate limit quota needs capacity >= 1 and refill > 0, got " + capacity + ":" + refillPerSecond);
+        }
+    }
+
+    /**
+     * Nanoseconds between two token refills.
+     */
+    public long emissionIntervalNanos() {
+        return Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+    }
+
+    /**
+     * Share of this quota for one of {@code replicas} gateways enforcing it independently.
+     */
+    public RateLimitQuota divide(int replicas) {
+        if (replicas <= 1) {
+            return this;
+        }
+        return new RateLimitQuota(Math.max(1, capacity / replicas), refillPerSecond / replicas);
+    }
+}
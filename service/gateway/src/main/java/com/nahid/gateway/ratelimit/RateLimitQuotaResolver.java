@@ -0,0 +1,66 @@
+package com.nahid.gateway.ratelimit;
+
+import com.nahid.gateway.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves the quota each gateway replica enforces for a route. With
+ * {@code gateway.rate-limit.shared-across-replicas} on and the default in-process store, the
+ * configured quota is split evenly across the live gateway instances known to discovery, so the
+ * aggregate limit holds approximately without shared state. The split is recomputed on every
+ * discovery heartbeat. Leave the flag off when a shared {@link RateLimitStore} bean is supplied,
+ * since that store already enforces the full quota globally.
+ */
+@Component
+@Slf4j
+public class RateLimitQuotaResolver {
+
+    private final RateLimitProperties properties;
+    private final ObjectProvider<DiscoveryClient> discoveryClient;
+    private final String serviceId;
+    private volatile int replicas = 1;
+    private volatile RateLimitQuota defaultQuota;
+    private volatile Map<String, RateLimitQuota> routeQuotas;
+
+    public RateLimitQuotaResolver(RateLimitProperties properties,
+                                  ObjectProvider<DiscoveryClient> discoveryClient,
+                                  @Value("${spring.application.name}") String serviceId) {
+        this.properties = properties;
+        this.discoveryClient = discoveryClient;
+        this.serviceId = serviceId;
+        this.defaultQuota = properties.getDefaultQuota();
+        this.routeQuotas = properties.getRouteQuotas();
+    }
+
+    public RateLimitQuota resolve(String routeId) {
+        RateLimitQuota quota = routeQuotas.get(routeId);
+        return quota != null ? quota : defaultQuota;
+    }
+
+    @EventListener(HeartbeatEvent.class)
+    public void onDiscoveryHeartbeat() {
+        if (!properties.isSharedAcrossReplicas()) {
+            return;
+        }
+        DiscoveryClient client = discoveryClient.getIfAvailable();
+        int current = client == null ? 1 : Math.max(1, client.getInstances(serviceId).size());
+        if (current == replicas) {
+            return;
+        }
+        Map<String, RateLimitQuota> divided = new HashMap<>();
+        properties.getRouteQuotas().forEach((routeId, quota) -> divided.put(routeId, quota.divide(current)));
+        routeQuotas = Map.copyOf(divided);
+        defaultQuota = properties.getDefaultQuota().divide(current);
+        replicas = current;
+        log.info("Rate limit quotas now split across {} gateway replicas", current);
+    }
+}
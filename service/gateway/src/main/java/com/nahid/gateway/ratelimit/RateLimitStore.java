@@ -0,0 +1,16 @@
+package com.nahid.gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Holds token-bucket state. The in-process {@link InMemoryRateLimitStore} is registered unless
+ * another {@code RateLimitStore} bean is present, so a store backed by shared infrastructure can
+ * be dropped in to make quotas exact across gateway replicas.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one token from the bucket identified by {@code key}, creating it full if absent.
+     */
+    Mono<RateLimitDecision> tryAcquire(String key, RateLimitQuota quota);
+}
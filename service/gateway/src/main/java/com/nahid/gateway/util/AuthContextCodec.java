@@ -0,0 +1,35 @@
+package com.nahid.gateway.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Flat encoding of the {@code X-Auth-Context} header forwarded to downstream services:
+ * {@code 1.<base64url(username)>.<base64url(comma-separated roles)>}. The leading version lets
+ * the format change without breaking services that still decode the old one; the Base64url
+ * alphabet never contains '.', so the separators need no escaping. Downstream services decode it
+ * with their own {@code AuthContextUtil}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AuthContextCodec {
+
+    public static final String HEADER = "X-Auth-Context";
+
+    private static final String VERSION_PREFIX = "1.";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    public static String encode(String username, List<String> roles) {
+        return VERSION_PREFIX
+                + encodeSegment(username == null ? "" : username)
+                + '.'
+                + encodeSegment(String.join(",", roles));
+    }
+
+    private static String encodeSegment(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
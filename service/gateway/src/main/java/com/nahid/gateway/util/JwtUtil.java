@@ -1,8 +1,10 @@
 package com.nahid.gateway.util;
 
+import com.nahid.gateway.cache.VerifiedTokenCache;
+import com.nahid.gateway.cache.VerifiedTokenCache.VerifiedToken;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -12,66 +14,68 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.Date;
 import java.util.List;
-import java.util.Optional;
-import java.util.function.Function;
 
 
 @Component
 @Slf4j
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final JwtParser parser;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    @Value("${jwt.clock-skew}")
-    private long clockSkewSeconds;
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.clock-skew}") long clockSkewSeconds,
+                   VerifiedTokenCache verifiedTokenCache) {
+        // JwtParser is immutable and thread-safe, so the key derivation and builder run once.
+        this.parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .clockSkewSeconds(clockSkewSeconds)
+                .build();
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
-    @SuppressWarnings("unchecked")
-    public List<String> extractRoles(String token) {
-        Claims claims = extractAllClaims(token);
-        Object roles = claims.get("role");
-        if (roles instanceof List) {
-            return (List<String>) roles;
+    /**
+     * Verifies the token once and returns the claims the gateway forwards. Tokens seen recently
+     * are served from {@link VerifiedTokenCache} without repeating the HMAC check.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is expired, malformed or badly signed
+     * @throws IllegalArgumentException if the token is blank
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("JWT token is blank");
         }
-        return List.of();
-    }
-
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = extractAllClaims(token);
+        Date expiration = claims.getExpiration();
+        String username = claims.getSubject();
+        List<String> roles = extractRoles(claims);
+        VerifiedToken verified = new VerifiedToken(
+                username,
+                roles,
+                expiration == null ? null : expiration.toInstant(),
+                AuthContextCodec.encode(username, roles));
+        verifiedTokenCache.put(token, verified);
+        return verified;
     }
 
-    public boolean isTokenValid(String token) {
-        if (token == null || token.isBlank()) {
-            return false;
-        }
-        try {
-            extractAllClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.debug("Token validation failed: {}", e.getMessage());
-            return false;
+    private static List<String> extractRoles(Claims claims) {
+        Object roles = claims.get("role");
+        if (roles instanceof List<?> list) {
+            return list.stream().map(String::valueOf).toList();
         }
+        return List.of();
     }
 
     private Claims extractAllClaims(String token) {
         try {
-            SecretKey signingKey = getSignInKey();
-            return Jwts.parser()
-                    .verifyWith(signingKey)
-                    .clockSkewSeconds(clockSkewSeconds)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
             log.debug("JWT token is expired: {}", e.getMessage());
             throw e;
@@ -81,9 +85,4 @@ public class JwtUtil {
             throw e;
         }
     }
-
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
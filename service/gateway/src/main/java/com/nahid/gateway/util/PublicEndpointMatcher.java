@@ -0,0 +1,154 @@
+package com.nahid.gateway.util;
+
+import com.nahid.gateway.config.GatewaySecurityProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import org.springframework.web.util.pattern.PatternParseException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Classifies request paths against {@code app.security.public-endpoints}. An entry is a path pattern,
+ * public for every method, or a method and a pattern such as {@code GET /api/v1/products/**}. Patterns
+ * are parsed once into {@link PathPattern}s and indexed in a trie keyed by their leading literal
+ * segments, so a lookup walks the already-parsed request path and only tests the patterns that share
+ * its prefix. A path with percent-encoded characters is never public. The trie is rebuilt when the
+ * config server pushes a refresh.
+ */
+@Component
+@Slf4j
+public class PublicEndpointMatcher {
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final GatewaySecurityProperties securityProperties;
+    private volatile Node root;
+
+    public PublicEndpointMatcher(GatewaySecurityProperties securityProperties) {
+        this.securityProperties = securityProperties;
+        this.root = compile(securityProperties.getPublicEndpoints());
+    }
+
+    @EventListener(RefreshScopeRefreshedEvent.class)
+    public void recompile() {
+        List<String> patterns = securityProperties.getPublicEndpoints();
+        try {
+            root = compile(patterns);
+            log.info("Recompiled {} public endpoint patterns", patterns.size());
+        } catch (PatternParseException ex) {
+            log.error("Keeping previous public endpoints, refreshed patterns are invalid: {}", ex.getMessage());
+        }
+    }
+
+    public boolean matches(HttpMethod method, PathContainer path) {
+        // The trie is keyed by raw segments while patterns match decoded ones; an encoded path could
+        // land on a public pattern through one and not the other, so it always needs a token
+        if (path.value().indexOf('%') >= 0) {
+            return false;
+        }
+        Node node = root;
+        if (node.matchesAny(method, path)) {
+            return true;
+        }
+        List<PathContainer.Element> elements = path.elements();
+        for (int i = 0; i < elements.size(); i++) {
+            if (elements.get(i) instanceof PathContainer.PathSegment segment) {
+                node = node.children.get(segment.value());
+                if (node == null) {
+                    return false;
+                }
+                if (node.matchesAny(method, path)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Node compile(List<String> patterns) {
+        PathPatternParser parser = new PathPatternParser();
+        Builder root = new Builder();
+        for (String entry : patterns) {
+            String[] parts = entry.trim().split("\\s+", 2);
+            HttpMethod method = parts.length == 2 ? HttpMethod.valueOf(parts[0].toUpperCase(Locale.ROOT)) : null;
+            String pattern = parts[parts.length - 1];
+            Builder node = root;
+            for (String segment : leadingLiteralSegments(pattern)) {
+                node = node.children.computeIfAbsent(segment, key -> new Builder());
+            }
+            node.entries.add(new Entry(method, parser.parse(pattern)));
+        }
+        return root.build();
+    }
+
+    /**
+     * Literal segments before the first wildcard or template variable. Any path the pattern can
+     * match starts with exactly these segments, so that is where the trie stores it.
+     */
+    private static List<String> leadingLiteralSegments(String pattern) {
+        List<String> segments = new ArrayList<>();
+        String[] parts = pattern.split("/");
+        for (String part : parts) {
+            if (part.isEmpty()) {
+                continue;
+            }
+            if (part.indexOf('*') >= 0 || part.indexOf('?') >= 0 || part.indexOf('{') >= 0) {
+                break;
+            }
+            segments.add(part);
+        }
+        return segments;
+    }
+
+    /**
+     * @param method the only method the pattern is public for, or {@code null} for every method
+     */
+    private record Entry(HttpMethod method, PathPattern pattern) {
+
+        private boolean matches(HttpMethod requestMethod, PathContainer path) {
+            return (method == null || method.equals(requestMethod)) && pattern.matches(path);
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children;
+        private final Entry[] entries;
+
+        private Node(Map<String, Node> children, Entry[] entries) {
+            this.children = children;
+            this.entries = entries;
+        }
+
+        private boolean matchesAny(HttpMethod method, PathContainer path) {
+            for (Entry entry : entries) {
+                if (entry.matches(method, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Builder {
+
+        private final Map<String, Builder> children = new HashMap<>();
+        private final List<Entry> entries = new ArrayList<>();
+
+        private Node build() {
+            Map<String, Node> builtChildren = new HashMap<>();
+            children.forEach((segment, child) -> builtChildren.put(segment, child.build()));
+            return new Node(Map.copyOf(builtChildren), entries.toArray(NO_ENTRIES));
+        }
+    }
+}
@@ -6,6 +6,7 @@ public class ExceptionMessageConstant {
     public static final String JWT_TOKEN_INVALID = "JWT token invalid";
     public static final String JWT_TOKEN_MISSING = "JWT token missing";
     public static final String JWT_TOKEN_UNAUTHORIZED = "JWT token unauthorized";
+    public static final String RATE_LIMIT_EXCEEDED = "Rate limit exceeded, retry later";
     private ExceptionMessageConstant() {
         throw new UnsupportedOperationException("Utility class");
     }
@@ -0,0 +1,127 @@
+package com.nahid.gateway.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nahid.gateway.cache.VerifiedTokenCache;
+import com.nahid.gateway.config.GatewaySecurityProperties;
+import com.nahid.gateway.filter.JwtAuthenticationFilter;
+import com.nahid.gateway.util.JwtUtil;
+import com.nahid.gateway.util.PublicEndpointMatcher;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT authentication at the gateway.
+ * <ul>
+ *     <li>{@code legacyTripleParse}: the previous verification alone (no filter overhead), rebuilding key and parser and parsing the token three times</li>
+ *     <li>{@code filterUncached}: the filter with a single parse on a pre-built parser, cache disabled</li>
+ *     <li>{@code filterCached}: the filter with the verified-token cache warm</li>
+ * </ul>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.nahid.gateway.benchmark.JwtAuthenticationFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "Qw8vZ2pLr9sT1uXy4zB7cV6nP0eR5aS3dF8hJ2kL6mN1qW4tU";
+    private static final long CLOCK_SKEW_SECONDS = 300;
+    private static final GatewayFilterChain NO_OP_CHAIN = exchange -> Mono.empty();
+
+    private String token;
+    private JwtAuthenticationFilter uncachedFilter;
+    private JwtAuthenticationFilter cachedFilter;
+
+    @Setup
+    public void setUp() {
+        token = Jwts.builder()
+                .subject("benchmark@example.com")
+                .claim("role", List.of("USER", "ADMIN"))
+                .issuedAt(new Date())
+                .expiration(Date.from(Instant.now().plus(1, ChronoUnit.DAYS)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        GatewaySecurityProperties securityProperties = new GatewaySecurityProperties();
+        ReflectionTestUtils.setField(securityProperties, "publicEndpoints", "/api/auth/**,/actuator/**");
+        PublicEndpointMatcher publicEndpointMatcher = new PublicEndpointMatcher(securityProperties);
+
+        uncachedFilter = new JwtAuthenticationFilter(
+                new JwtUtil(SECRET, CLOCK_SKEW_SECONDS, new VerifiedTokenCache(0, 300)),
+                objectMapper, publicEndpointMatcher);
+        cachedFilter = new JwtAuthenticationFilter(
+                new JwtUtil(SECRET, CLOCK_SKEW_SECONDS, new VerifiedTokenCache(10_000, 300)),
+                objectMapper, publicEndpointMatcher);
+    }
+
+    @Benchmark
+    public void legacyTripleParse(Blackhole blackhole) {
+        blackhole.consume(legacyParse(token));
+        blackhole.consume(legacyParse(token).getSubject());
+        blackhole.consume(legacyParse(token).get("role"));
+    }
+
+    @Benchmark
+    public void filterUncached() {
+        uncachedFilter.filter(newExchange(), NO_OP_CHAIN).block();
+    }
+
+    @Benchmark
+    public void filterCached() {
+        cachedFilter.filter(newExchange(), NO_OP_CHAIN).block();
+    }
+
+    private MockServerWebExchange newExchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/orders")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(signingKey)
+                .clockSkewSeconds(CLOCK_SKEW_SECONDS)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,110 @@
+package com.nahid.gateway.benchmark;
+
+import com.nahid.gateway.config.GatewaySecurityProperties;
+import com.nahid.gateway.util.PublicEndpointMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Public/non-public classification over a route table of 300 patterns, comparing the previous
+ * split-and-AntPathMatcher scan with the precompiled trie. Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.nahid.gateway.benchmark.PublicEndpointMatcherBenchmark}. The GC
+ * profiler is enabled so the report includes bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublicEndpointMatcherBenchmark {
+
+    private static final int RESOURCES = 60;
+    private static final String[] REQUEST_PATHS = {
+            "/api/v1/r7/public/banner.png",
+            "/api/v1/r42/9f1c2d/preview",
+            "/api/v2/r13/catalog/summer",
+            "/docs/r55/getting-started/index.html",
+            "/api/v1/r30/health",
+            "/api/v1/r30/orders/123",
+            "/api/v1/unknown/public/x",
+            "/api/v1/r59/9f1c2d/edit"
+    };
+
+    private GatewaySecurityProperties securityProperties;
+    private AntPathMatcher antPathMatcher;
+    private PublicEndpointMatcher publicEndpointMatcher;
+    private List<String> rawPaths;
+    private List<PathContainer> parsedPaths;
+
+    @Setup
+    public void setUp() {
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < RESOURCES; i++) {
+            patterns.add("/api/v1/r" + i + "/public/**");
+            patterns.add("/api/v1/r" + i + "/{id}/preview");
+            patterns.add("/api/v2/r" + i + "/catalog/*");
+            patterns.add("/docs/r" + i + "/**");
+            patterns.add("/api/v1/r" + i + "/health");
+        }
+
+        securityProperties = new GatewaySecurityProperties();
+        ReflectionTestUtils.setField(securityProperties, "publicEndpoints", String.join(",", patterns));
+        antPathMatcher = new AntPathMatcher();
+        publicEndpointMatcher = new PublicEndpointMatcher(securityProperties);
+
+        rawPaths = List.of(REQUEST_PATHS);
+        parsedPaths = rawPaths.stream()
+                .<PathContainer>map(path -> RequestPath.parse(path, null).pathWithinApplication())
+                .toList();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void legacyAntPathScan(Blackhole blackhole) {
+        for (int i = 0; i < rawPaths.size(); i++) {
+            String path = rawPaths.get(i);
+            blackhole.consume(securityProperties.getPublicEndpoints().stream()
+                    .anyMatch(pattern -> antPathMatcher.match(pattern, path)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(8)
+    public void precompiledTrie(Blackhole blackhole) {
+        for (int i = 0; i < parsedPaths.size(); i++) {
+            blackhole.consume(publicEndpointMatcher.matches(HttpMethod.GET, parsedPaths.get(i)));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PublicEndpointMatcherBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
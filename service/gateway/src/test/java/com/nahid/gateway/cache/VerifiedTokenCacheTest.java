@@ -0,0 +1,52 @@
+package com.nahid.gateway.cache;
+
+import com.nahid.gateway.cache.VerifiedTokenCache.VerifiedToken;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    @Test
+    void fullCacheStillTakesNewTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, 300);
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("token-" + i, verified("user-" + i, expiresAt));
+        }
+
+        cache.put("newest", verified("alice", expiresAt));
+
+        assertThat(cache.get("newest")).isNotNull()
+                .extracting(VerifiedToken::username).isEqualTo("alice");
+    }
+
+    @Test
+    void entryNeverOutlivesTheTokenExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, 300);
+
+        cache.put("expired", verified("alice", Instant.now().minusSeconds(1)));
+        cache.put("expiring", verified("bob", Instant.now().plusMillis(50)));
+
+        assertThat(cache.get("expired")).isNull();
+        assertThat(cache.get("expiring")).isNotNull();
+        await(100);
+        assertThat(cache.get("expiring")).isNull();
+    }
+
+    private static VerifiedToken verified(String username, Instant expiresAt) {
+        return new VerifiedToken(username, List.of("ROLE_USER"), expiresAt, "context-" + username);
+    }
+
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
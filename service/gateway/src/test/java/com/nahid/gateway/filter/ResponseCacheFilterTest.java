@@ -0,0 +1,136 @@
+package com.nahid.gateway.filter;
+
+import com.nahid.gateway.cache.ResponseCache;
+import com.nahid.gateway.config.ResponseCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "{\"id\":7,\"name\":\"Desk lamp\"}";
+    private static final Route PRODUCT_ROUTE = Route.async()
+            .id("product-service")
+            .uri(URI.create("lb://product-service"))
+            .predicate(exchange -> true)
+            .build();
+    private static final Route CATEGORY_ROUTE = Route.async()
+            .id("product-service-categories")
+            .uri(URI.create("lb://product-service"))
+            .predicate(exchange -> true)
+            .build();
+
+    private final ResponseCacheProperties properties = new ResponseCacheProperties(
+            true, "product-service=30s,product-service-categories=5m", "product-service",
+            "product-service-categories", 1 << 20, 1 << 16, "5s");
+    private final ResponseCache responseCache = new ResponseCache(properties);
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(properties, responseCache);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private final GatewayFilterChain upstream = exchange -> {
+        upstreamCalls.incrementAndGet();
+        return Mono.delay(Duration.ofMillis(100)).then(Mono.defer(() -> {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.just(
+                    response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        }));
+    };
+
+    @Test
+    void concurrentMissesShareOneUpstreamCall() {
+        List<MockServerWebExchange> exchanges = Flux.range(0, 20)
+                .map(i -> productExchange(MockServerHttpRequest.get("/api/v1/products/7")))
+                .collectList()
+                .block();
+
+        Flux.fromIterable(exchanges)
+                .flatMap(exchange -> filter.filter(exchange, upstream))
+                .blockLast(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls).hasValue(1);
+        for (MockServerWebExchange exchange : exchanges) {
+            assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        }
+    }
+
+    @Test
+    void answersMatchingIfNoneMatchWithNotModified() {
+        filter.filter(productExchange(MockServerHttpRequest.get("/api/v1/products/7")), upstream).block();
+        MockServerWebExchange hit = productExchange(MockServerHttpRequest.get("/api/v1/products/7"));
+        filter.filter(hit, upstream).block();
+        String etag = hit.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange revalidation = productExchange(MockServerHttpRequest.get("/api/v1/products/7")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+        filter.filter(revalidation, upstream).block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(hit.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER)).isEqualTo("HIT");
+        assertThat(revalidation.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void queryParameterOrderDoesNotSplitTheCache() {
+        filter.filter(productExchange(MockServerHttpRequest.get("/api/v1/products?page=0&size=20")), upstream).block();
+        filter.filter(productExchange(MockServerHttpRequest.get("/api/v1/products?size=20&page=0")), upstream).block();
+
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void productChangeEvictsOnlyThatProduct() {
+        filter.filter(productExchange(MockServerHttpRequest.get("/api/v1/products/7")), upstream).block();
+        filter.filter(productExchange(MockServerHttpRequest.get("/api/v1/products/8")), upstream).block();
+
+        responseCache.invalidateProducts(List.of(7L), false);
+        filter.filter(productExchange(MockServerHttpRequest.get("/api/v1/products/7")), upstream).block();
+        filter.filter(productExchange(MockServerHttpRequest.get("/api/v1/products/8")), upstream).block();
+
+        assertThat(upstreamCalls).hasValue(3);
+    }
+
+    @Test
+    void categoryChangeEvictsCategoryResponsesButNotProducts() {
+        filter.filter(categoryExchange(MockServerHttpRequest.get("/api/v1/categories")), upstream).block();
+        filter.filter(productExchange(MockServerHttpRequest.get("/api/v1/products/7")), upstream).block();
+
+        responseCache.invalidateProducts(List.of(7L), false);
+        filter.filter(categoryExchange(MockServerHttpRequest.get("/api/v1/categories")), upstream).block();
+        assertThat(upstreamCalls).hasValue(2);
+
+        responseCache.invalidateCategories();
+        filter.filter(categoryExchange(MockServerHttpRequest.get("/api/v1/categories")), upstream).block();
+        assertThat(upstreamCalls).hasValue(3);
+    }
+
+    private static MockServerWebExchange categoryExchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, CATEGORY_ROUTE);
+        return exchange;
+    }
+
+    private static MockServerWebExchange productExchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, PRODUCT_ROUTE);
+        return exchange;
+    }
+}
@@ -0,0 +1,75 @@
+package com.nahid.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimitStoreTest {
+
+    // Fake clock and same-thread maintenance, so expiry and eviction happen exactly when the test says
+    private final AtomicLong nanos = new AtomicLong();
+    private final InMemoryRateLimitStore store = new InMemoryRateLimitStore(100, nanos::get, Runnable::run);
+
+    @Test
+    void admitsABurstUpToCapacityThenAsksToRetryAfterOneRefill() {
+        RateLimitQuota quota = new RateLimitQuota(3, 1.0);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.acquire("order-service|user:alice", quota).allowed()).isTrue();
+        }
+        RateLimitDecision rejected = store.acquire("order-service|user:alice", quota);
+
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfter()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void keepsSeparateBucketsPerKey() {
+        RateLimitQuota quota = new RateLimitQuota(1, 1.0);
+
+        assertThat(store.acquire("order-service|user:alice", quota).allowed()).isTrue();
+        assertThat(store.acquire("order-service|user:alice", quota).allowed()).isFalse();
+        assertThat(store.acquire("order-service|user:bob", quota).allowed()).isTrue();
+        assertThat(store.acquire("product-service|user:alice", quota).allowed()).isTrue();
+    }
+
+    @Test
+    void fullTableStillTracksNewKeysAndStaysBounded() {
+        InMemoryRateLimitStore small = new InMemoryRateLimitStore(10, nanos::get, Runnable::run);
+        // Slow refill, so none of these buckets is full again during the test
+        RateLimitQuota quota = new RateLimitQuota(1, 0.001);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(small.acquire("order-service|ip:10.0.0." + i, quota).allowed()).isTrue();
+        }
+        assertThat(small.size()).isLessThanOrEqualTo(10);
+
+        // A key seen once may lose to the residents, but one that keeps coming back takes a slot and is limited
+        String returning = "order-service|ip:10.0.9.1";
+        int allowed = 0;
+        while (allowed < 5 && small.acquire(returning, quota).allowed()) {
+            allowed++;
+        }
+        assertThat(allowed).isLessThan(5);
+        assertThat(small.isTracked(returning)).isTrue();
+        assertThat(small.size()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void bucketIsDroppedOnceItHasRefilled() {
+        // 10 ms emission interval; the bucket is full again one interval after use and expires one later
+        RateLimitQuota quota = new RateLimitQuota(1, 100.0);
+
+        assertThat(store.acquire("order-service|user:alice", quota).allowed()).isTrue();
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+        assertThat(store.isTracked("order-service|user:alice")).isTrue();
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(store.isTracked("order-service|user:alice")).isFalse();
+        assertThat(store.acquire("order-service|user:alice", quota).allowed()).isTrue();
+    }
+}
@@ -0,0 +1,92 @@
+package com.nahid.gateway.util;
+
+import com.nahid.gateway.config.GatewaySecurityProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PublicEndpointMatcherTest {
+
+    private final PublicEndpointMatcher matcher = matcher(
+            "/api/auth/login",
+            "/api/auth/register",
+            "/actuator/**",
+            "/api/v1/products/public/**",
+            "/api/v1/products/{id}/reviews",
+            "GET /api/v1/categories/**");
+
+    @Test
+    void exactPathsArePublicForEveryMethod() {
+        assertThat(isPublic(HttpMethod.POST, "/api/auth/login")).isTrue();
+        assertThat(isPublic(HttpMethod.GET, "/api/auth/register")).isTrue();
+        assertThat(isPublic(HttpMethod.POST, "/api/auth/logout")).isFalse();
+    }
+
+    @Test
+    void wildcardsCoverTheirSubtreeOnly() {
+        assertThat(isPublic(HttpMethod.GET, "/actuator")).isTrue();
+        assertThat(isPublic(HttpMethod.GET, "/actuator/health/liveness")).isTrue();
+        assertThat(isPublic(HttpMethod.GET, "/api/v1/products/public/banner.png")).isTrue();
+        assertThat(isPublic(HttpMethod.GET, "/api/v1/products/42/reviews")).isTrue();
+        assertThat(isPublic(HttpMethod.GET, "/api/v1/products/42/reviews/7")).isFalse();
+        assertThat(isPublic(HttpMethod.GET, "/api/v1/orders/42")).isFalse();
+    }
+
+    @Test
+    void methodSpecificEntriesOnlyOpenThatMethod() {
+        assertThat(isPublic(HttpMethod.GET, "/api/v1/categories/3")).isTrue();
+        assertThat(isPublic(HttpMethod.POST, "/api/v1/categories")).isFalse();
+        assertThat(isPublic(HttpMethod.DELETE, "/api/v1/categories/3")).isFalse();
+    }
+
+    @Test
+    void trailingSlashDoesNotMatchAnExactEntry() {
+        assertThat(isPublic(HttpMethod.POST, "/api/auth/login/")).isFalse();
+        assertThat(isPublic(HttpMethod.GET, "/api/v1/products/42/reviews/")).isFalse();
+    }
+
+    @Test
+    void percentEncodedPathsAreNeverPublic() {
+        assertThat(isPublic(HttpMethod.POST, "/api/auth/%6Cogin")).isFalse();
+        assertThat(isPublic(HttpMethod.GET, "/api/v1/products/%70ublic/banner.png")).isFalse();
+        assertThat(isPublic(HttpMethod.GET, "/api/v1/products/public%2F..%2F42")).isFalse();
+        assertThat(isPublic(HttpMethod.GET, "/actuator/%2e%2e/api/v1/orders")).isFalse();
+    }
+
+    @Test
+    void prefixOfAPublicPathIsStillProtected() {
+        assertThat(isPublic(HttpMethod.GET, "/api/v1/products")).isFalse();
+        assertThat(isPublic(HttpMethod.GET, "/api/v1/products/public-offers")).isFalse();
+        assertThat(isPublic(HttpMethod.POST, "/api/auth/login-as")).isFalse();
+        assertThat(isPublic(HttpMethod.GET, "/api/auth")).isFalse();
+    }
+
+    @Test
+    void refreshPicksUpNewEntries() {
+        GatewaySecurityProperties properties = properties("/api/auth/login");
+        PublicEndpointMatcher refreshed = new PublicEndpointMatcher(properties);
+        assertThat(refreshed.matches(HttpMethod.GET, PathContainer.parsePath("/actuator/health"))).isFalse();
+
+        ReflectionTestUtils.setField(properties, "publicEndpoints", "/api/auth/login,/actuator/**");
+        refreshed.recompile();
+
+        assertThat(refreshed.matches(HttpMethod.GET, PathContainer.parsePath("/actuator/health"))).isTrue();
+    }
+
+    private boolean isPublic(HttpMethod method, String path) {
+        return matcher.matches(method, PathContainer.parsePath(path));
+    }
+
+    private static PublicEndpointMatcher matcher(String... entries) {
+        return new PublicEndpointMatcher(properties(entries));
+    }
+
+    private static GatewaySecurityProperties properties(String... entries) {
+        GatewaySecurityProperties properties = new GatewaySecurityProperties();
+        ReflectionTestUtils.setField(properties, "publicEndpoints", String.join(",", entries));
+        return properties;
+    }
+}
@@ -1,5 +1,6 @@
 package com.nahid.notification.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nahid.notification.dto.NotificationDto;
 import com.nahid.notification.dto.NotificationResponseDto;
 import com.nahid.notification.enums.NotificationStatus;
@@ -7,21 +8,27 @@ import com.nahid.notification.service.NotificationService;
 import com.nahid.notification.util.constant.ApiResponseConstant;
 import com.nahid.notification.util.constant.AppConstant;
 import com.nahid.notification.dto.response.ApiResponse;
+import com.nahid.notification.dto.response.CursorPageDto;
 import com.nahid.notification.util.helper.ApiResponseUtil;
+import com.nahid.notification.util.helper.JsonStreamUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -32,6 +39,7 @@ import java.util.UUID;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<NotificationDto>> getNotificationById(@PathVariable UUID id) {
@@ -65,6 +73,19 @@ public class NotificationController {
         );
     }
 
+    @GetMapping("/user/{userId}/scroll")
+    public ResponseEntity<ApiResponse<CursorPageDto<NotificationResponseDto>>> scrollNotificationsByUserId(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        CursorPageDto<NotificationResponseDto> notifications =
+                notificationService.scrollNotificationsByUserId(userId, cursor, size);
+        return ApiResponseUtil.success(
+                notifications,
+                String.format(ApiResponseConstant.FETCH_ALL_SUCCESSFUL, AppConstant.NOTIFICATIONS)
+        );
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<ApiResponse<NotificationDto>> updateNotificationStatus(
             @PathVariable UUID id,
@@ -76,13 +97,12 @@ public class NotificationController {
         );
     }
 
-    @GetMapping("/failed")
-    public ResponseEntity<ApiResponse<List<NotificationResponseDto>>> getFailedNotifications() {
-        List<NotificationResponseDto> failedNotifications = notificationService.getFailedNotifications();
-        return ApiResponseUtil.success(
-                failedNotifications,
-                String.format(ApiResponseConstant.FETCH_ALL_SUCCESSFUL, AppConstant.FAILED_NOTIFICATIONS)
-        );
+    @GetMapping(value = "/failed",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> getFailedNotifications(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return JsonStreamUtil.<NotificationResponseDto>stream(accept, objectMapper,
+                notificationService::streamFailedNotifications);
     }
 
     @PostMapping("/retry-failed")
@@ -3,16 +3,24 @@ package com.nahid.notification.repository;
 import com.nahid.notification.entity.Notification;
 import com.nahid.notification.enums.NotificationStatus;
 import com.nahid.notification.enums.ReferenceType;
+import com.nahid.notification.util.constant.AppConstant;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 
 @Repository
@@ -23,7 +31,13 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
 
     Page<Notification> findByUserIdOrderByCreatedAtDesc(String customerId, Pageable pageable);
 
-    List<Notification> findByStatusOrderByCreatedAtDesc(NotificationStatus status);
+    Window<Notification> findByUserIdOrderByCreatedAtDescIdDesc(String customerId, ScrollPosition position, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstant.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Notification> streamByStatusOrderByCreatedAtDesc(NotificationStatus status);
 
 
 
@@ -4,6 +4,7 @@ import com.nahid.notification.dto.NotificationDto;
 import com.nahid.notification.dto.NotificationResponseDto;
 import com.nahid.notification.dto.OrderEventDto;
 import com.nahid.notification.dto.PaymentNotificationDto;
+import com.nahid.notification.dto.response.CursorPageDto;
 import com.nahid.notification.entity.Notification;
 import com.nahid.notification.enums.NotificationStatus;
 import com.nahid.notification.enums.ReferenceType;
@@ -12,6 +13,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface NotificationService {
 
@@ -23,6 +25,8 @@ public interface NotificationService {
 
     Page<NotificationResponseDto> getNotificationsByUserId(String userId, Pageable pageable);
 
+    CursorPageDto<NotificationResponseDto> scrollNotificationsByUserId(String userId, String cursor, int size);
+
     NotificationDto updateNotificationStatus(UUID id, NotificationStatus status);
 
     void processPaymentNotification(PaymentNotificationDto paymentNotificationDto);
@@ -31,7 +35,7 @@ public interface NotificationService {
 
     void retryFailedNotifications();
 
-    List<NotificationResponseDto> getFailedNotifications();
+    void streamFailedNotifications(Consumer<NotificationResponseDto> sink);
 
     void sendSmsNotification(Notification notification);
 
@@ -4,6 +4,7 @@ import com.nahid.notification.dto.NotificationDto;
 import com.nahid.notification.dto.NotificationResponseDto;
 import com.nahid.notification.dto.OrderEventDto;
 import com.nahid.notification.dto.PaymentNotificationDto;
+import com.nahid.notification.dto.response.CursorPageDto;
 import com.nahid.notification.entity.Notification;
 import com.nahid.notification.enums.NotificationStatus;
 import com.nahid.notification.enums.ReferenceType;
@@ -11,8 +12,11 @@ import com.nahid.notification.exception.NotificationNotFoundException;
 import com.nahid.notification.mapper.NotificationMapper;
 import com.nahid.notification.repository.NotificationRepository;
 import com.nahid.notification.service.NotificationService;
+import com.nahid.notification.util.helper.KeysetCursorUtil;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,6 +25,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -30,6 +36,7 @@ public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final NotificationMapper notificationMapper;
+    private final EntityManager entityManager;
 
     @Override
     public NotificationDto createNotification(NotificationDto notificationDto) {
@@ -70,6 +77,16 @@ public class NotificationServiceImpl implements NotificationService {
         return notifications.map(notificationMapper::toResponseDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<NotificationResponseDto> scrollNotificationsByUserId(String customerId, String cursor, int size) {
+        return KeysetCursorUtil.toPage(notificationRepository.findByUserIdOrderByCreatedAtDescIdDesc(
+                        customerId,
+                        KeysetCursorUtil.decode(cursor, UUID::fromString),
+                        Limit.of(KeysetCursorUtil.pageSize(size)))
+                .map(notificationMapper::toResponseDto));
+    }
+
     @Override
     public NotificationDto updateNotificationStatus(UUID id, NotificationStatus status) {
 
@@ -156,14 +173,14 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<NotificationResponseDto> getFailedNotifications() {
-
-        List<Notification> failedNotifications = notificationRepository
-                .findByStatusOrderByCreatedAtDesc(NotificationStatus.FAILED);
-
-        return failedNotifications.stream()
-                .map(notificationMapper::toResponseDto)
-                .toList();
+    public void streamFailedNotifications(Consumer<NotificationResponseDto> sink) {
+        try (Stream<Notification> failedNotifications = notificationRepository
+                .streamByStatusOrderByCreatedAtDesc(NotificationStatus.FAILED)) {
+            failedNotifications.forEach(notification -> {
+                sink.accept(notificationMapper.toResponseDto(notification));
+                entityManager.detach(notification);
+            });
+        }
     }
 
     @Override
@@ -10,4 +10,7 @@ public class AppConstant {
     public static final String FAILED_NOTIFICATIONS = "Failed notifications";
     public static final String HEALTH = "Notification service health";
     public static final String RETRY_FAILED_NOTIFICATIONS = "Retry failed notifications";
+
+    // JDBC rows fetched per round trip when streaming large result sets
+    public static final String STREAM_FETCH_SIZE = "500";
 }
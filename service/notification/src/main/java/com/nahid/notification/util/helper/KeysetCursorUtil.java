@@ -0,0 +1,66 @@
+package com.nahid.notification.util.helper;
+
+import com.nahid.notification.dto.response.CursorPageDto;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque continuation tokens for keyset pagination over (createdAt, id), newest first.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetCursorUtil {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String CREATED_AT = "createdAt";
+    private static final String ID = "id";
+    private static final char SEPARATOR = '|';
+
+    public static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    public static ScrollPosition decode(String cursor, Function<String, ?> idParser) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(CREATED_AT, LocalDateTime.parse(raw.substring(0, separator)));
+            keys.put(ID, idParser.apply(raw.substring(separator + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid pagination cursor: " + cursor, ex);
+        }
+    }
+
+    public static <T> CursorPageDto<T> toPage(Window<T> window) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = encode(position.getKeys());
+        }
+        return CursorPageDto.<T>builder()
+                .items(window.getContent())
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .build();
+    }
+
+    private static String encode(Map<String, ?> keys) {
+        String raw = String.valueOf(keys.get(CREATED_AT)) + SEPARATOR + keys.get(ID);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,45 @@
+package com.nahid.notification.util.helper;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDs (RFC 9562 version 7): a 48-bit Unix millisecond timestamp, then a 12-bit
+ * counter in place of {@code rand_a}, then 62 random bits. Keys generated later sort later, so new
+ * rows land on the right-hand edge of a primary-key B-tree instead of splitting pages all over it.
+ * <p>
+ * The counter keeps ids from this JVM strictly increasing within a millisecond. When it runs out,
+ * or the clock steps back, the timestamp is advanced past the last one issued (RFC 9562, section
+ * 6.2, method 1); the random bits keep ids from different instances apart.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class UuidV7 {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+    private static final long VERSION = 7L << COUNTER_BITS;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    // (unix millis << COUNTER_BITS) | counter of the last issued id
+    private static final AtomicLong LAST_ISSUED = new AtomicLong();
+
+    public static UUID randomUuid() {
+        long next;
+        while (true) {
+            long last = LAST_ISSUED.get();
+            long now = System.currentTimeMillis();
+            next = now > (last >>> COUNTER_BITS) ? now << COUNTER_BITS : last + 1;
+            if (LAST_ISSUED.compareAndSet(last, next)) {
+                break;
+            }
+        }
+        long mostSigBits = ((next >>> COUNTER_BITS) << 16) | VERSION | (next & COUNTER_MASK);
+        long leastSigBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RAND_B_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
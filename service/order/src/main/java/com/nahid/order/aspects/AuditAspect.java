@@ -4,6 +4,7 @@ import com.nahid.order.dto.event.AuditEventMessageDto;
 import com.nahid.order.enums.EventStatus;
 import com.nahid.order.producer.AuditEventPublisher;
 import com.nahid.order.util.annotation.Auditable;
+import com.nahid.order.util.helper.AuthContextUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -87,7 +88,7 @@ public class AuditAspect {
     }
 
     private String getUserId() {
-        String userHeader = request.getHeader("X-Auth-User");
-        return userHeader != null ? userHeader : "";
+        AuthContextUtil.AuthContext authContext = AuthContextUtil.decode(request.getHeader(AuthContextUtil.HEADER));
+        return authContext != null ? authContext.username() : "";
     }
 }
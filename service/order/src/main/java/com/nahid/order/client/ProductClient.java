@@ -1,14 +1,19 @@
 package com.nahid.order.client;
 
+import com.nahid.order.dto.request.BulkReservationRequestDto;
 import com.nahid.order.dto.request.PurchaseProductRequestDto;
+import com.nahid.order.dto.request.ReservationReferencesRequestDto;
 import com.nahid.order.dto.response.ApiResponse;
 import com.nahid.order.dto.response.PurchaseProductResponseDto;
+import com.nahid.order.dto.response.ReservationResultDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
+
 @FeignClient(
         name = "product-service",
         path = "/api/v1/products",
@@ -19,6 +24,18 @@ public interface ProductClient {
     ResponseEntity<ApiResponse<PurchaseProductResponseDto>> reserveInventory(
             @RequestBody PurchaseProductRequestDto request);
 
+    @PostMapping("/inventory/reservations/bulk")
+    ResponseEntity<ApiResponse<List<ReservationResultDto>>> reserveInventoryBulk(
+            @RequestBody BulkReservationRequestDto request);
+
+    @PostMapping("/inventory/reservations/bulk/confirm")
+    ResponseEntity<ApiResponse<List<ReservationResultDto>>> confirmReservations(
+            @RequestBody ReservationReferencesRequestDto request);
+
+    @PostMapping("/inventory/reservations/bulk/release")
+    ResponseEntity<ApiResponse<List<ReservationResultDto>>> releaseReservations(
+            @RequestBody ReservationReferencesRequestDto request);
+
     @PostMapping("/inventory/reservations/{orderReference}/confirm")
     ResponseEntity<ApiResponse<Void>> confirmReservation(
             @PathVariable("orderReference") String orderReference);
@@ -1,14 +1,19 @@
 package com.nahid.order.client;
 
+import com.nahid.order.dto.request.BulkReservationRequestDto;
 import com.nahid.order.dto.request.PurchaseProductRequestDto;
+import com.nahid.order.dto.request.ReservationReferencesRequestDto;
 import com.nahid.order.dto.response.ApiResponse;
 import com.nahid.order.dto.response.PurchaseProductResponseDto;
+import com.nahid.order.dto.response.ReservationResultDto;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.List;
+
 @Component
 @Slf4j
 public class ProductFeignClientFallback implements ProductClient {
@@ -28,6 +33,23 @@ public class ProductFeignClientFallback implements ProductClient {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(apiResponse);
     }
 
+    @Override
+    public ResponseEntity<ApiResponse<List<ReservationResultDto>>> reserveInventoryBulk(BulkReservationRequestDto request) {
+        return buildUnavailableBulkResponse("Product service is unavailable. Unable to reserve inventory.");
+    }
+
+    @Override
+    public ResponseEntity<ApiResponse<List<ReservationResultDto>>> confirmReservations(
+            ReservationReferencesRequestDto request) {
+        return buildUnavailableBulkResponse("Product service is unavailable. Unable to confirm reservations.");
+    }
+
+    @Override
+    public ResponseEntity<ApiResponse<List<ReservationResultDto>>> releaseReservations(
+            ReservationReferencesRequestDto request) {
+        return buildUnavailableBulkResponse("Product service is unavailable. Unable to release reservations.");
+    }
+
     @Override
     public ResponseEntity<ApiResponse<Void>> confirmReservation(String orderReference) {
         return buildUnavailableResponse("Product service is unavailable. Unable to confirm reservation.");
@@ -38,6 +60,17 @@ public class ProductFeignClientFallback implements ProductClient {
         return buildUnavailableResponse("Product service is unavailable. Unable to release reservation.");
     }
 
+    private ResponseEntity<ApiResponse<List<ReservationResultDto>>> buildUnavailableBulkResponse(String message) {
+        ApiResponse<List<ReservationResultDto>> apiResponse = ApiResponse.<List<ReservationResultDto>>builder()
+                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .success(false)
+                .message(message)
+                .data(null)
+                .timestamp(Instant.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(apiResponse);
+    }
+
     private ResponseEntity<ApiResponse<Void>> buildUnavailableResponse(String message) {
         ApiResponse<Void> apiResponse = ApiResponse.<Void>builder()
                 .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
@@ -0,0 +1,27 @@
+package com.nahid.order.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import static com.nahid.order.util.constant.AppConstant.MAX_BULK_RESERVATIONS;
+
+/**
+ * Bulk order creation settings. Orders are processed in chunks of {@code chunk-size}: one grouped
+ * reservation call, one batched insert and one grouped confirmation per chunk, capped at what the
+ * product service accepts per call. Up to {@code concurrency} chunks (and user validations) run at
+ * once; unset or 0 means one per available core.
+ */
+@Getter
+@Component
+public class BulkOrderProperties {
+
+    private final int chunkSize;
+    private final int concurrency;
+
+    public BulkOrderProperties(@Value("${order.bulk.chunk-size:50}") int chunkSize,
+                               @Value("${order.bulk.concurrency:0}") int concurrency) {
+        this.chunkSize = Math.min(Math.max(1, chunkSize), MAX_BULK_RESERVATIONS);
+        this.concurrency = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,38 @@
+package com.nahid.order.config;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class OrderExecutorConfig {
+
+    /**
+     * Runs the independent remote calls of order creation side by side. The work is blocking I/O,
+     * so each task gets its own virtual thread rather than a slot in a bounded pool. Tasks carry the
+     * submitting thread's tracing context, so their Feign calls stay in the request's trace.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService orderFanOutExecutor() {
+        return ContextExecutorService.wrap(
+                Executors.newVirtualThreadPerTaskExecutor(),
+                ContextSnapshotFactory.builder().build());
+    }
+
+    /**
+     * Runs the chunks and user validations of a bulk order request. Each chunk holds a database
+     * connection while it inserts, so unlike the fan-out executor this one is bounded, to
+     * {@code order.bulk.concurrency} threads. They are virtual threads, so a chunk waiting on the
+     * product service does not tie up a platform thread.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService bulkOrderExecutor(BulkOrderProperties properties) {
+        return ContextExecutorService.wrap(
+                Executors.newFixedThreadPool(properties.getConcurrency(), Thread.ofVirtual().name("bulk-order-", 0).factory()),
+                ContextSnapshotFactory.builder().build());
+    }
+}
@@ -0,0 +1,51 @@
+package com.nahid.order.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.netflix.eureka.EurekaInstanceConfigBean;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+
+/**
+ * Order number generator settings. Every running instance needs its own node id between 0 and 1023:
+ * {@code order.number.node-id} wins, otherwise the {@code node-id} entry of the Eureka instance
+ * metadata ({@code eureka.instance.metadata-map.node-id}) is used. Without either, the instance leases
+ * a free id from the database for {@code node-lease-ms} at a time, see OrderNumberNodeLease.
+ * {@code max-clock-drift-ms} is how far the clock may step back before generation fails instead of waiting.
+ */
+@Getter
+@Component
+public class OrderNumberProperties {
+
+    static final String NODE_ID_METADATA_KEY = "node-id";
+
+    // null when no node id is configured and one has to be leased
+    private final Long nodeId;
+    private final long maxClockDriftMs;
+    private final Duration nodeLease;
+
+    public OrderNumberProperties(@Value("${order.number.node-id:}") String nodeId,
+                                 @Value("${order.number.max-clock-drift-ms:5000}") long maxClockDriftMs,
+                                 @Value("${order.number.node-lease-ms:300000}") long nodeLeaseMs,
+                                 ObjectProvider<EurekaInstanceConfigBean> eurekaInstance) {
+        this.nodeId = configuredNodeId(nodeId, eurekaInstance.getIfAvailable());
+        this.maxClockDriftMs = maxClockDriftMs;
+        this.nodeLease = Duration.ofMillis(nodeLeaseMs);
+    }
+
+    private static Long configuredNodeId(String configured, EurekaInstanceConfigBean eurekaInstance) {
+        if (StringUtils.hasText(configured)) {
+            return Long.parseLong(configured.trim());
+        }
+        if (eurekaInstance != null) {
+            String fromMetadata = eurekaInstance.getMetadataMap().get(NODE_ID_METADATA_KEY);
+            if (StringUtils.hasText(fromMetadata)) {
+                return Long.parseLong(fromMetadata.trim());
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.nahid.order.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Order saga engine settings. A failed step is retried up to {@code max-attempts} times with
+ * exponential backoff between {@code initial-backoff-ms} and {@code max-backoff-ms}; compensations
+ * get the same budget before the saga is marked FAILED. {@code lease-ms} must outlast the slowest
+ * step, since another instance takes the saga over once the lease expires.
+ */
+@Getter
+@Component
+public class OrderSagaProperties {
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final int pollBatchSize;
+    private final Duration syncWait;
+
+    public OrderSagaProperties(@Value("${order.saga.max-attempts:5}") int maxAttempts,
+                               @Value("${order.saga.initial-backoff-ms:500}") long initialBackoffMs,
+                               @Value("${order.saga.max-backoff-ms:30000}") long maxBackoffMs,
+                               @Value("${order.saga.lease-ms:60000}") long leaseMs,
+                               @Value("${order.saga.poll-batch-size:50}") int pollBatchSize,
+                               @Value("${order.saga.sync-wait-ms:3000}") long syncWaitMs) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.lease = Duration.ofMillis(leaseMs);
+        this.pollBatchSize = pollBatchSize;
+        this.syncWait = Duration.ofMillis(syncWaitMs);
+    }
+
+    /**
+     * @param attempt the number of failed attempts so far, starting at 1
+     */
+    public Duration backoff(int attempt) {
+        long multiplier = 1L << Math.min(attempt - 1, 20);
+        Duration backoff = initialBackoff.multipliedBy(multiplier);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
@@ -1,14 +1,24 @@
 package com.nahid.order.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nahid.order.dto.request.BulkCreateOrderRequest;
 import com.nahid.order.dto.request.CreateOrderRequest;
 import com.nahid.order.dto.request.OrderDto;
 import com.nahid.order.dto.response.ApiResponse;
+import com.nahid.order.dto.response.BulkOrderResponseDto;
+import com.nahid.order.dto.response.CursorPageDto;
+import com.nahid.order.dto.response.OrderSagaStatusDto;
 import com.nahid.order.enums.OrderStatus;
+import com.nahid.order.enums.SagaStatus;
+import com.nahid.order.idempotency.IdempotencyManager;
+import com.nahid.order.service.BulkOrderService;
 import com.nahid.order.service.OrderService;
 import com.nahid.order.util.constant.AppConstant;
 import com.nahid.order.util.constant.ApiResponseConstant;
 import com.nahid.order.util.helper.ApiResponseUtil;
+import com.nahid.order.util.helper.AuthContextUtil;
+import com.nahid.order.util.helper.JsonStreamUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -18,11 +28,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.net.URI;
 import java.util.UUID;
 @Tag(
         name = "Order Management",
@@ -34,16 +47,78 @@ import java.util.UUID;
 @Slf4j
 public class OrderController {
 
-    private final OrderService orderService;
+    private static final String PREFER_HEADER = "Prefer";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final String SAGA_STATUS_PATH = "/api/v1/orders/sagas/";
+    private static final String CREATE_ORDER_OPERATION = "create-order";
+    private static final String CREATE_ORDERS_BULK_OPERATION = "create-orders-bulk";
 
-    @Operation(summary = "Create a new order", description = "Create a new order")
+    private final OrderService orderService;
+    private final BulkOrderService bulkOrderService;
+    private final IdempotencyManager idempotencyManager;
+    private final ObjectMapper objectMapper;
+
+    @Operation(summary = "Create a new order",
+            description = "Create a new order. Returns 201 with the order when it completes within the wait window, "
+                    + "otherwise 202 with the saga status URL in Location. Send 'Prefer: respond-async' to get 202 "
+                    + "straight away. Retries carrying the same 'Idempotency-Key' get the first response replayed "
+                    + "instead of creating another order.")
     @PostMapping
-    public ResponseEntity<ApiResponse<OrderDto>> createOrder(@Valid @RequestBody CreateOrderRequest request) {
-        OrderDto orderDto = orderService.createOrder(request);
+    public ResponseEntity<?> createOrder(
+            @Valid @RequestBody CreateOrderRequest request,
+            @RequestHeader(value = PREFER_HEADER, required = false) String prefer,
+            @RequestHeader(value = IdempotencyManager.HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = AuthContextUtil.HEADER, required = false) String authContext) {
+        boolean respondAsync = prefer != null && prefer.contains(RESPOND_ASYNC);
+        AuthContextUtil.AuthContext caller = AuthContextUtil.decode(authContext);
+        return idempotencyManager.execute(CREATE_ORDER_OPERATION, caller != null ? caller.username() : null,
+                idempotencyKey, request, () -> startOrder(request, respondAsync));
+    }
+
+    private ResponseEntity<?> startOrder(CreateOrderRequest request, boolean respondAsync) {
+        OrderSagaStatusDto saga = orderService.createOrder(request, respondAsync);
+        if (saga.getStatus() == SagaStatus.COMPLETED && saga.getOrder() != null) {
+            return ApiResponseUtil.success(
+                    saga.getOrder(),
+                    String.format(ApiResponseConstant.CREATE_SUCCESSFUL, AppConstant.ORDER),
+                    HttpStatus.CREATED
+            );
+        }
+        return ApiResponseUtil.accepted(
+                saga,
+                String.format(ApiResponseConstant.ACCEPTED, AppConstant.ORDER),
+                URI.create(SAGA_STATUS_PATH + saga.getSagaId())
+        );
+    }
+
+    @Operation(summary = "Create orders in bulk",
+            description = "Create up to " + AppConstant.MAX_BULK_ORDERS + " orders in one request. Returns a result "
+                    + "per order, at the same index as in the request: COMPLETED, IN_PROGRESS (stored, reservation "
+                    + "still being confirmed; follow its saga) or FAILED with the reason. 'Idempotency-Key' is "
+                    + "honoured as for single orders.")
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createOrdersBulk(
+            @Valid @RequestBody BulkCreateOrderRequest request,
+            @RequestHeader(value = IdempotencyManager.HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = AuthContextUtil.HEADER, required = false) String authContext) {
+        AuthContextUtil.AuthContext caller = AuthContextUtil.decode(authContext);
+        return idempotencyManager.execute(CREATE_ORDERS_BULK_OPERATION, caller != null ? caller.username() : null,
+                idempotencyKey, request, () -> {
+                    BulkOrderResponseDto response = bulkOrderService.createOrders(request.getOrders());
+                    return ApiResponseUtil.success(
+                            response,
+                            String.format(ApiResponseConstant.BULK_PROCESSED, AppConstant.BULK_ORDERS,
+                                    response.getCompleted(), response.getInProgress(), response.getFailed())
+                    );
+                });
+    }
+
+    @GetMapping("/sagas/{sagaId}")
+    public ResponseEntity<ApiResponse<OrderSagaStatusDto>> getOrderSaga(@PathVariable UUID sagaId) {
+        OrderSagaStatusDto saga = orderService.getOrderSaga(sagaId);
         return ApiResponseUtil.success(
-                orderDto,
-                String.format(ApiResponseConstant.CREATE_SUCCESSFUL, AppConstant.ORDER),
-                HttpStatus.CREATED
+                saga,
+                String.format(ApiResponseConstant.FETCH_SUCCESSFUL, AppConstant.ORDER_SAGA)
         );
     }
 
@@ -99,14 +174,36 @@ public class OrderController {
         );
     }
 
-    @GetMapping("/status/{status}")
-    public ResponseEntity<ApiResponse<List<OrderDto>>> getOrdersByStatus(@PathVariable OrderStatus status) {
-        List<OrderDto> orders = orderService.getOrdersByStatus(status);
-        String message = String.format(
-                ApiResponseConstant.FETCH_ALL_SUCCESSFUL,
-                AppConstant.ORDERS + " with status " + status.name()
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPageDto<OrderDto>>> scrollAllOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        CursorPageDto<OrderDto> orders = orderService.scrollAllOrders(cursor, size);
+        return ApiResponseUtil.success(
+                orders,
+                String.format(ApiResponseConstant.FETCH_ALL_SUCCESSFUL, AppConstant.ORDERS)
+        );
+    }
+
+    @GetMapping("/user/{userId}/scroll")
+    public ResponseEntity<ApiResponse<CursorPageDto<OrderDto>>> scrollOrdersByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        CursorPageDto<OrderDto> orders = orderService.scrollOrdersByUserId(userId, cursor, size);
+        return ApiResponseUtil.success(
+                orders,
+                String.format(ApiResponseConstant.FETCH_ALL_SUCCESSFUL, AppConstant.ORDERS)
         );
-        return ApiResponseUtil.success(orders, message);
+    }
+
+    @GetMapping(value = "/status/{status}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> getOrdersByStatus(
+            @PathVariable OrderStatus status,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return JsonStreamUtil.<OrderDto>stream(accept, objectMapper,
+                sink -> orderService.streamOrdersByStatus(status, sink));
     }
 
     @PutMapping("/{orderId}/status")
@@ -0,0 +1,25 @@
+package com.nahid.order.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static com.nahid.order.util.constant.AppConstant.MAX_BULK_ORDERS;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateOrderRequest {
+
+    @NotEmpty(message = "Orders cannot be empty")
+    @Size(max = MAX_BULK_ORDERS, message = "At most " + MAX_BULK_ORDERS + " orders per request")
+    private List<@Valid @NotNull(message = "Order cannot be null") CreateOrderRequest> orders;
+}
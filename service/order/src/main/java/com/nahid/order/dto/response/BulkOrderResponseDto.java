@@ -0,0 +1,20 @@
+package com.nahid.order.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderResponseDto {
+    private int total;
+    private int completed;
+    private int inProgress;
+    private int failed;
+    private List<BulkOrderResultDto> results;
+}
@@ -0,0 +1,27 @@
+package com.nahid.order.dto.response;
+
+import com.nahid.order.enums.SagaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one order in a bulk request, at the same {@code index} as in the request. An
+ * {@code IN_PROGRESS} order is stored but its reservation is still being confirmed; follow it
+ * through its saga.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderResultDto {
+    private int index;
+    private String orderNumber;
+    private SagaStatus status;
+    private UUID orderId;
+    private UUID sagaId;
+    private String failureReason;
+}
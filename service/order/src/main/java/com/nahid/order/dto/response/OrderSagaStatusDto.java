@@ -0,0 +1,28 @@
+package com.nahid.order.dto.response;
+
+import com.nahid.order.dto.request.OrderDto;
+import com.nahid.order.enums.SagaStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSagaStatusDto {
+    private UUID sagaId;
+    private String orderNumber;
+    private SagaStatus status;
+    private String failureReason;
+    private LocalDateTime nextAttemptAt;
+    private OrderDto order;
+    private List<OrderSagaStepDto> steps;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,22 @@
+package com.nahid.order.dto.response;
+
+import com.nahid.order.enums.SagaStepAction;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSagaStepDto {
+    private String stepName;
+    private SagaStepAction action;
+    private boolean succeeded;
+    private int attempt;
+    private String error;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,17 @@
+package com.nahid.order.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResultDto {
+    private String orderReference;
+    private boolean success;
+    private String message;
+    private PurchaseProductResponseDto reservation;
+}
@@ -0,0 +1,68 @@
+package com.nahid.order.entity;
+
+import com.nahid.order.enums.SagaStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Durable state of one order-creation saga. {@code stepIndex} counts the steps that have run forward;
+ * while compensating, the steps below it are the ones still to be undone. A node works on a saga only
+ * while it holds the lease in {@code lockedUntil}.
+ */
+@Entity
+@Table(name = "order_sagas", indexes = {
+        @Index(name = "idx_order_sagas_status_next_attempt_at", columnList = "status, next_attempt_at")
+})
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderSaga extends BaseEntity<UUID> {
+
+    @Column(name = "order_number", nullable = false, unique = true)
+    String orderNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    SagaStatus status;
+
+    @Column(name = "step_index", nullable = false)
+    int stepIndex;
+
+    @Column(name = "attempts", nullable = false)
+    int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_until")
+    LocalDateTime lockedUntil;
+
+    @Column(name = "request_payload", nullable = false, columnDefinition = "text")
+    String requestPayload;
+
+    @Column(name = "reservation_payload", columnDefinition = "text")
+    String reservationPayload;
+
+    @Column(name = "order_id")
+    UUID orderId;
+
+    @Column(name = "failure_reason", length = 1000)
+    String failureReason;
+}
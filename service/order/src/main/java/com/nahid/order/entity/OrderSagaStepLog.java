@@ -0,0 +1,60 @@
+package com.nahid.order.entity;
+
+import com.nahid.order.enums.SagaStepAction;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.SuperBuilder;
+
+import java.util.UUID;
+
+/**
+ * Append-only record of every step execution and compensation attempt of a saga.
+ */
+@Entity
+@Table(name = "order_saga_steps", indexes = {
+        @Index(name = "idx_order_saga_steps_saga_id_created_at", columnList = "saga_id, created_at")
+})
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderSagaStepLog extends BaseEntity<UUID> {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "saga_id", nullable = false)
+    OrderSaga saga;
+
+    @Column(name = "step_index", nullable = false)
+    int stepIndex;
+
+    @Column(name = "step_name", nullable = false)
+    String stepName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false)
+    SagaStepAction action;
+
+    @Column(name = "succeeded", nullable = false)
+    boolean succeeded;
+
+    @Column(name = "attempt", nullable = false)
+    int attempt;
+
+    @Column(name = "error", length = 1000)
+    String error;
+}
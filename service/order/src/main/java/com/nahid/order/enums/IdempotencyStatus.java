@@ -0,0 +1,6 @@
+package com.nahid.order.enums;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
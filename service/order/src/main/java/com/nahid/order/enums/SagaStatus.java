@@ -0,0 +1,9 @@
+package com.nahid.order.enums;
+
+public enum SagaStatus {
+    IN_PROGRESS,
+    COMPENSATING,
+    COMPLETED,
+    COMPENSATED,
+    FAILED
+}
@@ -0,0 +1,79 @@
+package com.nahid.order.idempotency;
+
+import com.nahid.order.enums.IdempotencyStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claims the key for the caller; the primary key makes this atomic across instances.
+     *
+     * @return 1 when the key was claimed, 0 when it already exists
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_keys (record_key, request_hash, status, locked_until, expires_at, created_at)
+            VALUES (:recordKey, :requestHash, 'IN_PROGRESS', :lockedUntil, :expiresAt, :now)
+            ON CONFLICT (record_key) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("recordKey") String recordKey,
+                       @Param("requestHash") String requestHash,
+                       @Param("now") LocalDateTime now,
+                       @Param("lockedUntil") LocalDateTime lockedUntil,
+                       @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Takes over a key whose owner stopped renewing its lease, e.g. because the instance died
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.lockedUntil = :lockedUntil " +
+            "WHERE r.recordKey = :recordKey AND r.status = :inProgress AND r.lockedUntil < :now")
+    int takeOver(@Param("recordKey") String recordKey,
+                 @Param("inProgress") IdempotencyStatus inProgress,
+                 @Param("now") LocalDateTime now,
+                 @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    // Extends the owner's lease while its handler is still running
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.lockedUntil = :lockedUntil " +
+            "WHERE r.recordKey = :recordKey AND r.status = :inProgress")
+    int renew(@Param("recordKey") String recordKey,
+              @Param("inProgress") IdempotencyStatus inProgress,
+              @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :completed, r.responseStatus = :responseStatus, " +
+            "r.responseLocation = :responseLocation, r.responseBody = :responseBody, r.expiresAt = :expiresAt " +
+            "WHERE r.recordKey = :recordKey")
+    int complete(@Param("recordKey") String recordKey,
+                 @Param("completed") IdempotencyStatus completed,
+                 @Param("responseStatus") int responseStatus,
+                 @Param("responseLocation") String responseLocation,
+                 @Param("responseBody") String responseBody,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.recordKey = :recordKey AND r.status = :inProgress")
+    int release(@Param("recordKey") String recordKey, @Param("inProgress") IdempotencyStatus inProgress);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.recordKey = :recordKey AND r.expiresAt < :now")
+    int deleteIfExpired(@Param("recordKey") String recordKey, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
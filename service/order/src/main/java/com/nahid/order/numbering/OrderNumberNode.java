@@ -0,0 +1,37 @@
+package com.nahid.order.numbering;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * One order number node id, held by the instance in {@code instanceId} until {@code leasedUntil}.
+ */
+@Entity
+@Table(name = "order_number_nodes")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderNumberNode {
+
+    @Id
+    @Column(name = "node_id")
+    Long nodeId;
+
+    @Column(name = "instance_id", nullable = false, length = 64)
+    String instanceId;
+
+    @Column(name = "leased_until", nullable = false)
+    LocalDateTime leasedUntil;
+}
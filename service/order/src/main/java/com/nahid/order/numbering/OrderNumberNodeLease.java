@@ -0,0 +1,78 @@
+package com.nahid.order.numbering;
+
+import com.nahid.order.config.OrderNumberProperties;
+import com.nahid.order.util.helper.SnowflakeIdGenerator;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The node id this instance generates order numbers with. A configured node id is used as is;
+ * otherwise the instance leases the lowest free id from {@code order_number_nodes} at startup and
+ * renews it while running, so two running instances never share an id. Startup fails when every
+ * id is leased.
+ */
+@Component
+@Slf4j
+public class OrderNumberNodeLease {
+
+    private final OrderNumberNodeRepository orderNumberNodeRepository;
+    private final Duration lease;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final boolean leased;
+
+    @Getter
+    private final long nodeId;
+
+    public OrderNumberNodeLease(OrderNumberProperties properties, OrderNumberNodeRepository orderNumberNodeRepository) {
+        this.orderNumberNodeRepository = orderNumberNodeRepository;
+        this.lease = properties.getNodeLease();
+        this.leased = properties.getNodeId() == null;
+        this.nodeId = leased ? claim() : properties.getNodeId();
+    }
+
+    private long claim() {
+        for (long candidate = 0; candidate <= SnowflakeIdGenerator.MAX_NODE_ID; candidate++) {
+            LocalDateTime now = LocalDateTime.now();
+            if (orderNumberNodeRepository.claim(candidate, instanceId, now, now.plus(lease)) == 1) {
+                log.info("Leased order number node id {} for instance {}", candidate, instanceId);
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("Every order number node id is leased by another instance; "
+                + "set order.number.node-id or wait for a stopped instance's lease to expire");
+    }
+
+    /**
+     * Extends the lease, or takes the id back if it expired and nobody else claimed it in the meantime.
+     */
+    public void renew() {
+        if (!leased) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (orderNumberNodeRepository.claim(nodeId, instanceId, now, now.plus(lease)) == 0) {
+            log.error("Order number node id {} was leased by another instance after this one failed to renew it; "
+                    + "both may now generate the same order numbers", nodeId);
+        }
+    }
+
+    @PreDestroy
+    void release() {
+        if (!leased) {
+            return;
+        }
+        try {
+            orderNumberNodeRepository.release(nodeId, instanceId);
+        } catch (DataAccessException ex) {
+            log.warn("Could not release order number node id {}; it frees up when its lease expires: {}",
+                    nodeId, ex.getMessage());
+        }
+    }
+}
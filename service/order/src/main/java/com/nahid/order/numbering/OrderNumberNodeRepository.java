@@ -0,0 +1,40 @@
+package com.nahid.order.numbering;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface OrderNumberNodeRepository extends JpaRepository<OrderNumberNode, Long> {
+
+    /**
+     * Leases the node id to the instance, or extends the lease it already holds. The primary key makes
+     * this atomic across instances; an id leased to another instance is only taken once that lease expired.
+     *
+     * @return 1 when the instance holds the node id, 0 when another instance does
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO order_number_nodes (node_id, instance_id, leased_until)
+            VALUES (:nodeId, :instanceId, :leasedUntil)
+            ON CONFLICT (node_id) DO UPDATE
+                SET instance_id = EXCLUDED.instance_id, leased_until = EXCLUDED.leased_until
+                WHERE order_number_nodes.instance_id = EXCLUDED.instance_id
+                   OR order_number_nodes.leased_until < :now
+            """, nativeQuery = true)
+    int claim(@Param("nodeId") long nodeId,
+              @Param("instanceId") String instanceId,
+              @Param("now") LocalDateTime now,
+              @Param("leasedUntil") LocalDateTime leasedUntil);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OrderNumberNode n WHERE n.nodeId = :nodeId AND n.instanceId = :instanceId")
+    int release(@Param("nodeId") long nodeId, @Param("instanceId") String instanceId);
+}
@@ -0,0 +1,56 @@
+package com.nahid.order.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stores events in the outbox instead of sending them to Kafka. {@link #append} joins the caller's
+ * transaction, so the event commits or rolls back together with the change it describes.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public void append(String topic, String key, String typeId, Object event) {
+        save(topic, key, typeId, event);
+    }
+
+    /**
+     * Commits the event on its own, for records that must survive the rollback of the surrounding
+     * transaction, such as the audit trail of a failed operation.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void appendIndependently(String topic, String key, String typeId, Object event) {
+        save(topic, key, typeId, event);
+    }
+
+    private void save(String topic, String key, String typeId, Object event) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.save(OutboxEvent.builder()
+                .topic(topic)
+                .messageKey(key)
+                .typeId(typeId)
+                .payload(toJson(event))
+                .createdAt(now)
+                .availableAt(now)
+                .build());
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -1,30 +1,34 @@
 package com.nahid.order.producer;
 
 import com.nahid.order.dto.event.AuditEventMessageDto;
+import com.nahid.order.enums.EventStatus;
+import com.nahid.order.outbox.OutboxWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
+/**
+ * Writes audit events to the outbox. A successful operation's event joins its transaction when the
+ * audited method runs in one; a failed operation's event is committed on its own, since the
+ * operation's transaction is about to roll back.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class AuditEventPublisher {
 
-    private final KafkaTemplate<String, AuditEventMessageDto> auditKafkaTemplate;
+    private final OutboxWriter outboxWriter;
 
     @Value("${spring.kafka.topic.audit-topic}")
     private String auditTopic;
 
     public void publishAuditEvent(AuditEventMessageDto auditEventMessageDto) {
-        auditKafkaTemplate.send(
-                MessageBuilder.withPayload(auditEventMessageDto)
-                        .setHeader(KafkaHeaders.TOPIC, auditTopic)
-                        .setHeader(KafkaHeaders.KEY, auditEventMessageDto.getEventId())
-                        .build()
-        );
+        String typeId = AuditEventMessageDto.class.getName();
+        if (auditEventMessageDto.getStatus() == EventStatus.FAILED) {
+            outboxWriter.appendIndependently(auditTopic, auditEventMessageDto.getEventId(), typeId, auditEventMessageDto);
+        } else {
+            outboxWriter.append(auditTopic, auditEventMessageDto.getEventId(), typeId, auditEventMessageDto);
+        }
     }
 }
@@ -1,45 +1,49 @@
 package com.nahid.order.producer;
 
 import com.nahid.order.dto.OrderEventDto;
+import com.nahid.order.entity.Order;
+import com.nahid.order.enums.OrderStatus;
 import com.nahid.order.exception.PublishOrderEventException;
+import com.nahid.order.outbox.OutboxWriter;
 import com.nahid.order.util.constant.ExceptionMessageConstant;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.kafka.support.SendResult;
-import org.springframework.messaging.Message;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.CompletableFuture;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderEventPublisher {
 
-    private final KafkaTemplate<String, OrderEventDto> kafkaTemplate;
+    private final OutboxWriter outboxWriter;
 
     @Value("${kafka.topic.order-notification}")
     private String orderNotificationTopic;
-    public void publishOrderEvent(OrderEventDto orderEvent) {
-        validateOrderEvent(orderEvent);
 
-        Message<OrderEventDto> message = MessageBuilder
-                .withPayload(orderEvent)
-                .setHeader(KafkaHeaders.TOPIC, orderNotificationTopic)
-                .setHeader(KafkaHeaders.KEY, orderEvent.getOrderId().toString())
+    /**
+     * Records an {@code ORDER_<status>} event for the order in the outbox. It joins the caller's
+     * transaction, so the event is relayed exactly when the order change commits.
+     */
+    public void publishOrderStatusEvent(Order order, OrderStatus status) {
+        OrderEventDto orderEvent = OrderEventDto.builder()
+                .orderId(order.getOrderId())
+                .orderNumber(order.getOrderNumber())
+                .userId(order.getUserId())
+                .status(status)
+                .totalAmount(order.getTotalAmount())
+                .createdAt(order.getCreatedAt())
+                .eventType("ORDER_" + status.name())
                 .build();
 
-        CompletableFuture<SendResult<String, OrderEventDto>> future = kafkaTemplate.send(message);
+        publishOrderEvent(orderEvent);
+    }
 
-        future.whenComplete((result, ex) -> {
-            if (ex != null) {
-                log.error("Failed to publish order event to Kafka. OrderId: {}, OrderNumber: {}, Topic: {}", orderEvent.getOrderId(), orderEvent.getOrderNumber(), orderNotificationTopic, ex);
-            }
-        });
+    // Keyed by order id so the events of one order are relayed, and consumed, in order
+    public void publishOrderEvent(OrderEventDto orderEvent) {
+        validateOrderEvent(orderEvent);
+        outboxWriter.append(orderNotificationTopic, orderEvent.getOrderId().toString(),
+                OrderEventDto.class.getName(), orderEvent);
     }
 
     private void validateOrderEvent(OrderEventDto orderEvent) {
@@ -0,0 +1,51 @@
+package com.nahid.order.repository;
+
+import com.nahid.order.entity.OrderSaga;
+import com.nahid.order.enums.SagaStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OrderSagaRepository extends JpaRepository<OrderSaga, UUID> {
+
+    @Query("SELECT s.id FROM OrderSaga s WHERE s.status IN :statuses AND s.nextAttemptAt <= :now " +
+            "AND (s.lockedUntil IS NULL OR s.lockedUntil < :now) ORDER BY s.nextAttemptAt")
+    List<UUID> findDueSagaIds(@Param("statuses") Collection<SagaStatus> statuses,
+                              @Param("now") LocalDateTime now,
+                              Limit limit);
+
+    /**
+     * Takes the lease on a due saga. Returns 0 when the saga is not due, already finished or leased
+     * to another instance.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderSaga s SET s.lockedUntil = :lockedUntil, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.status IN :statuses AND s.nextAttemptAt <= :now " +
+            "AND (s.lockedUntil IS NULL OR s.lockedUntil < :now)")
+    int claim(@Param("id") UUID id,
+              @Param("statuses") Collection<SagaStatus> statuses,
+              @Param("now") LocalDateTime now,
+              @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    /**
+     * Marks the sagas COMPLETED if this instance still holds their lease. Returns how many were
+     * completed; fewer than requested means a lease ran out and the saga may be resumed elsewhere.
+     */
+    @Modifying
+    @Query("UPDATE OrderSaga s SET s.status = :completed, s.lockedUntil = NULL, s.version = s.version + 1 " +
+            "WHERE s.id IN :ids AND s.lockedUntil > :now")
+    int completeLeased(@Param("ids") Collection<UUID> ids,
+                       @Param("completed") SagaStatus completed,
+                       @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,14 @@
+package com.nahid.order.repository;
+
+import com.nahid.order.entity.OrderSagaStepLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OrderSagaStepLogRepository extends JpaRepository<OrderSagaStepLog, UUID> {
+
+    List<OrderSagaStepLog> findBySagaIdOrderByCreatedAtAsc(UUID sagaId);
+}
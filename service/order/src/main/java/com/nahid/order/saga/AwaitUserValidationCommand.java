@@ -0,0 +1,47 @@
+package com.nahid.order.saga;
+
+import com.nahid.order.service.UserValidationService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Joins a user validation that was started alongside the earlier saga steps. When there is none
+ * (the saga was resumed after a retry or a restart) the user is validated here instead. A failed
+ * validation fails this step, so the saga compensates whatever those steps already did.
+ */
+public class AwaitUserValidationCommand implements SagaCommand {
+
+    private final UserValidationService userValidationService;
+    private final Long userId;
+    private final CompletableFuture<Void> userValidation;
+
+    public AwaitUserValidationCommand(UserValidationService userValidationService, Long userId,
+                                      CompletableFuture<Void> userValidation) {
+        this.userValidationService = userValidationService;
+        this.userId = userId;
+        this.userValidation = userValidation;
+    }
+
+    @Override
+    public void execute() {
+        if (userValidation == null) {
+            userValidationService.validateUserForOrder(userId);
+            return;
+        }
+        try {
+            userValidation.join();
+        } catch (CompletionException ex) {
+            // Surface the validation service's own exception rather than the async wrapper
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public void compensate() {
+        // no-op: validation has no side effects to undo
+    }
+}
@@ -36,6 +36,13 @@ public class PersistOrderCommand implements SagaCommand {
 
     @Override
     public void execute() {
+        // A previous attempt may have saved the order before its progress was recorded
+        Order existingOrder = orderRepository.findByOrderNumber(context.getOrderNumber()).orElse(null);
+        if (existingOrder != null) {
+            context.setSavedOrder(existingOrder);
+            return;
+        }
+
         PurchaseProductResponseDto reservationResponse = context.getReservationResponse();
         Map<Long, PurchaseProductItemResultDto> reservedItemsMap = reservationResponse.getItems()
                 .stream()
@@ -66,9 +73,12 @@ public class PersistOrderCommand implements SagaCommand {
 
     @Override
     public void compensate() {
-        Order savedOrder = context.getSavedOrder();
+        Order savedOrder = context.getSavedOrder() != null
+                ? context.getSavedOrder()
+                : orderRepository.findByOrderNumber(context.getOrderNumber()).orElse(null);
         if (savedOrder != null) {
             orderRepository.delete(savedOrder);
+            context.setSavedOrder(null);
         }
     }
 }
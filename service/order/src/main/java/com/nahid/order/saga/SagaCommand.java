@@ -1,8 +1,16 @@
 package com.nahid.order.saga;
 
+/**
+ * One step of a saga. Both methods may be invoked again after a crash or a failed attempt, so they
+ * must be idempotent; {@code compensate} may also run after a failed {@code execute}.
+ */
 public interface SagaCommand {
 
     void execute() throws Exception;
 
     void compensate() throws Exception;
+
+    default String name() {
+        return getClass().getSimpleName();
+    }
 }
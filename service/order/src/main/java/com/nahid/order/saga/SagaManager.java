@@ -1,38 +1,376 @@
 package com.nahid.order.saga;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nahid.order.config.OrderSagaProperties;
+import com.nahid.order.dto.request.CreateOrderRequest;
+import com.nahid.order.dto.response.PurchaseProductResponseDto;
+import com.nahid.order.entity.Order;
+import com.nahid.order.entity.OrderSaga;
+import com.nahid.order.entity.OrderSagaStepLog;
+import com.nahid.order.enums.OrderStatus;
+import com.nahid.order.enums.SagaStatus;
+import com.nahid.order.enums.SagaStepAction;
+import com.nahid.order.mapper.OrderMapper;
+import com.nahid.order.producer.OrderEventPublisher;
+import com.nahid.order.repository.OrderRepository;
+import com.nahid.order.repository.OrderSagaRepository;
+import com.nahid.order.repository.OrderSagaStepLogRepository;
+import com.nahid.order.service.OrderItemFactory;
+import com.nahid.order.service.OrderNumberService;
+import com.nahid.order.service.ProductPurchaseService;
+import com.nahid.order.service.UserValidationService;
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Durable engine for the order-creation saga: reserve products, validate the user, persist the order,
+ * confirm the reservation. Saga state and every step attempt are stored, and progress is saved after
+ * each step, so a saga survives a restart and is resumed, or compensated, by whichever instance
+ * claims it next.
+ * <p>
+ * Steps run on virtual threads, never on the request thread. A step that fails with a transient
+ * error (no response, 429/5xx, transient database error) is retried with exponential backoff.
+ * Any other failure, or running out of attempts, switches the saga to compensation, which undoes
+ * the completed steps in reverse order. The failed step is undone as well, because its remote call
+ * may have taken effect before the error. A compensation that keeps failing leaves the saga FAILED
+ * and is logged for manual follow-up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
 public class SagaManager {
 
-    private final List<SagaCommand> commands = new ArrayList<>();
-    private final Deque<SagaCommand> executedCommands = new ArrayDeque<>();
+    private static final Set<SagaStatus> ACTIVE_STATUSES = EnumSet.of(SagaStatus.IN_PROGRESS, SagaStatus.COMPENSATING);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    // Position of ConfirmReservationCommand in steps()
+    private static final int CONFIRM_RESERVATION_STEP = 3;
+
+    private final OrderSagaRepository sagaRepository;
+    private final OrderSagaStepLogRepository stepLogRepository;
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final OrderItemFactory orderItemFactory;
+    private final OrderNumberService orderNumberService;
+    private final ProductPurchaseService productPurchaseService;
+    private final UserValidationService userValidationService;
+    private final OrderEventPublisher orderEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService orderFanOutExecutor;
+    private final OrderSagaProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    // Validations started together with a saga on this instance, consumed by its validation step
+    private final ConcurrentHashMap<UUID, CompletableFuture<Void>> pendingValidations = new ConcurrentHashMap<>();
+    // Completed when this instance stops working on the saga: finished, or parked until its next retry
+    private final ConcurrentHashMap<UUID, CompletableFuture<Void>> runs = new ConcurrentHashMap<>();
+
+    /**
+     * Stores a new saga for the request and starts running it in the background. The user is
+     * validated concurrently with the product reservation.
+     */
+    public OrderSaga start(CreateOrderRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        OrderSaga saga = sagaRepository.save(OrderSaga.builder()
+                .orderNumber(orderNumberService.generateOrderNumber())
+                .status(SagaStatus.IN_PROGRESS)
+                .nextAttemptAt(now)
+                .lockedUntil(now.plus(properties.getLease()))
+                .requestPayload(write(request))
+                .build());
 
-    public void addStep(SagaCommand command) {
-        commands.add(command);
+        UUID sagaId = saga.getId();
+        runs.put(sagaId, new CompletableFuture<>());
+        pendingValidations.put(sagaId, CompletableFuture.runAsync(
+                () -> userValidationService.validateUserForOrder(request.getUserId()), orderFanOutExecutor));
+        orderFanOutExecutor.execute(() -> advance(saga));
+        return saga;
     }
 
-    public void execute() throws Exception {
+    /**
+     * Blocks until this instance has finished or parked the saga, or the timeout elapses.
+     */
+    public void awaitRun(UUID sagaId, Duration timeout) {
+        CompletableFuture<Void> run = runs.get(sagaId);
+        if (run == null) {
+            return;
+        }
         try {
-            for (SagaCommand command : commands) {
-                command.execute();
-                executedCommands.push(command);
+            run.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            // Still running; the caller reports the current state
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Claims sagas whose retry is due or whose lease has expired (their instance stopped or crashed)
+     * and resumes them where their stored progress left off.
+     */
+    public void resumeDueSagas() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> dueSagaIds = sagaRepository.findDueSagaIds(ACTIVE_STATUSES, now, Limit.of(properties.getPollBatchSize()));
+        for (UUID sagaId : dueSagaIds) {
+            if (sagaRepository.claim(sagaId, ACTIVE_STATUSES, now, now.plus(properties.getLease())) == 0) {
+                continue;
             }
-        } catch (Exception ex) {
-            rollback();
-            throw ex;
+            orderFanOutExecutor.execute(() -> sagaRepository.findById(sagaId).ifPresent(this::advance));
         }
     }
 
-    private void rollback() {
-        while (!executedCommands.isEmpty()) {
+    /**
+     * Builds the saga for an order whose products were reserved and which was stored outside the saga
+     * engine, as bulk creation does, positioned at the reservation confirmation and leased to this
+     * instance. The caller stores it with the order. Unless {@link #completeConfirmed} completes it,
+     * it is resumed once the lease expires and confirms, or compensates, like any other saga.
+     */
+    public OrderSaga awaitingConfirmation(CreateOrderRequest request, PurchaseProductResponseDto reservation,
+                                          Order order) {
+        LocalDateTime now = LocalDateTime.now();
+        return OrderSaga.builder()
+                .orderNumber(order.getOrderNumber())
+                .status(SagaStatus.IN_PROGRESS)
+                .stepIndex(CONFIRM_RESERVATION_STEP)
+                .nextAttemptAt(now)
+                .lockedUntil(now.plus(properties.getLease()))
+                .requestPayload(write(request))
+                .reservationPayload(write(reservation))
+                .orderId(order.getOrderId())
+                .build();
+    }
+
+    /**
+     * Completes sagas from {@link #awaitingConfirmation} whose reservations have been confirmed, and
+     * records their PENDING events in the same transaction.
+     *
+     * @return {@code false} if a lease had already run out; none are completed then, and they are
+     * all left to saga recovery
+     */
+    public boolean completeConfirmed(Map<UUID, Order> ordersBySagaId) {
+        if (ordersBySagaId.isEmpty()) {
+            return true;
+        }
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            int completed = sagaRepository.completeLeased(
+                    ordersBySagaId.keySet(), SagaStatus.COMPLETED, LocalDateTime.now());
+            if (completed != ordersBySagaId.size()) {
+                status.setRollbackOnly();
+                return false;
+            }
+            ordersBySagaId.values().forEach(order ->
+                    orderEventPublisher.publishOrderStatusEvent(order, OrderStatus.PENDING));
+            return true;
+        }));
+    }
+
+    private void advance(OrderSaga saga) {
+        UUID sagaId = saga.getId();
+        try {
+            OrderSagaContext context = restoreContext(saga);
+            List<SagaCommand> steps = steps(sagaId, context);
+            if (saga.getStatus() == SagaStatus.IN_PROGRESS) {
+                saga = executeSteps(saga, context, steps);
+            }
+            if (saga.getStatus() == SagaStatus.COMPENSATING) {
+                compensateSteps(saga, context, steps);
+            }
+        } catch (OptimisticLockingFailureException ex) {
+            log.warn("Saga {} was taken over by another instance", sagaId);
+        } catch (RuntimeException ex) {
+            log.error("Saga {} stopped unexpectedly; it resumes once its lease expires", sagaId, ex);
+        } finally {
+            pendingValidations.remove(sagaId);
+            CompletableFuture<Void> run = runs.remove(sagaId);
+            if (run != null) {
+                run.complete(null);
+            }
+        }
+    }
+
+    private OrderSaga executeSteps(OrderSaga saga, OrderSagaContext context, List<SagaCommand> steps) {
+        while (saga.getStepIndex() < steps.size()) {
+            int index = saga.getStepIndex();
+            SagaCommand step = steps.get(index);
+            try {
+                step.execute();
+            } catch (Exception ex) {
+                recordStep(saga, index, step, SagaStepAction.EXECUTE, ex);
+                if (isRetryable(ex) && saga.getAttempts() + 1 < properties.getMaxAttempts()) {
+                    return scheduleRetry(saga, context, step, ex);
+                }
+                log.warn("Saga {} for order {} failed at {}, compensating: {}",
+                        saga.getId(), saga.getOrderNumber(), step.name(), ex.getMessage());
+                saga.setStepIndex(index + 1);
+                saga.setStatus(SagaStatus.COMPENSATING);
+                saga.setAttempts(0);
+                saga.setFailureReason(truncate(ex.getMessage()));
+                return save(saga, context);
+            }
+            recordStep(saga, index, step, SagaStepAction.EXECUTE, null);
+            saga.setStepIndex(index + 1);
+            saga.setAttempts(0);
+            saga = save(saga, context);
+        }
+
+        saga.setStatus(SagaStatus.COMPLETED);
+        saga.setLockedUntil(null);
+        // The PENDING event goes to the outbox together with the completion, so it is sent exactly once
+        OrderSaga completed = saga;
+        return transactionTemplate.execute(status -> {
+            OrderSaga saved = save(completed, context);
+            orderEventPublisher.publishOrderStatusEvent(context.getSavedOrder(), OrderStatus.PENDING);
+            return saved;
+        });
+    }
+
+    private void compensateSteps(OrderSaga saga, OrderSagaContext context, List<SagaCommand> steps) {
+        while (saga.getStepIndex() > 0) {
+            int index = saga.getStepIndex() - 1;
+            SagaCommand step = steps.get(index);
             try {
-                executedCommands.pop().compensate();
-            } catch (Exception rollbackEx) {
-                // log and continue rollback
+                step.compensate();
+            } catch (Exception ex) {
+                recordStep(saga, index, step, SagaStepAction.COMPENSATE, ex);
+                if (saga.getAttempts() + 1 < properties.getMaxAttempts()) {
+                    scheduleRetry(saga, context, step, ex);
+                    return;
+                }
+                log.error("Saga {} for order {} could not compensate {} after {} attempts; manual intervention required",
+                        saga.getId(), saga.getOrderNumber(), step.name(), properties.getMaxAttempts(), ex);
+                saga.setStatus(SagaStatus.FAILED);
+                saga.setLockedUntil(null);
+                saga.setFailureReason(truncate(saga.getFailureReason() + "; compensation of " + step.name()
+                        + " failed: " + ex.getMessage()));
+                save(saga, context);
+                return;
+            }
+            recordStep(saga, index, step, SagaStepAction.COMPENSATE, null);
+            saga.setStepIndex(index);
+            saga.setAttempts(0);
+            saga = save(saga, context);
+        }
+
+        saga.setStatus(SagaStatus.COMPENSATED);
+        saga.setLockedUntil(null);
+        save(saga, context);
+    }
+
+    private OrderSaga scheduleRetry(OrderSaga saga, OrderSagaContext context, SagaCommand step, Exception ex) {
+        int attempts = saga.getAttempts() + 1;
+        Duration backoff = properties.backoff(attempts);
+        log.warn("Saga {} step {} failed (attempt {}), retrying in {} ms: {}",
+                saga.getId(), step.name(), attempts, backoff.toMillis(), ex.getMessage());
+        saga.setAttempts(attempts);
+        saga.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        saga.setLockedUntil(null);
+        return save(saga, context);
+    }
+
+    private List<SagaCommand> steps(UUID sagaId, OrderSagaContext context) {
+        return List.of(
+                new ReserveProductsCommand(productPurchaseService, context),
+                new AwaitUserValidationCommand(userValidationService, context.getRequest().getUserId(),
+                        pendingValidations.remove(sagaId)),
+                new PersistOrderCommand(orderRepository, orderMapper, orderItemFactory, context),
+                new ConfirmReservationCommand(productPurchaseService, context));
+    }
+
+    private OrderSagaContext restoreContext(OrderSaga saga) {
+        OrderSagaContext context = new OrderSagaContext(
+                read(saga.getRequestPayload(), CreateOrderRequest.class), saga.getOrderNumber());
+        if (saga.getReservationPayload() != null) {
+            context.setReservationResponse(read(saga.getReservationPayload(), PurchaseProductResponseDto.class));
+        }
+        if (saga.getOrderId() != null) {
+            context.setSavedOrder(orderRepository.findById(saga.getOrderId()).orElse(null));
+        }
+        return context;
+    }
+
+    /**
+     * Stores the saga together with what its steps have produced so far, renewing the lease while
+     * the saga is still being worked on.
+     */
+    private OrderSaga save(OrderSaga saga, OrderSagaContext context) {
+        if (context.getReservationResponse() != null) {
+            saga.setReservationPayload(write(context.getReservationResponse()));
+        }
+        Order savedOrder = context.getSavedOrder();
+        saga.setOrderId(savedOrder != null ? savedOrder.getOrderId() : null);
+        if (saga.getLockedUntil() != null) {
+            saga.setLockedUntil(LocalDateTime.now().plus(properties.getLease()));
+        }
+        return sagaRepository.save(saga);
+    }
+
+    private void recordStep(OrderSaga saga, int index, SagaCommand step, SagaStepAction action, Exception error) {
+        stepLogRepository.save(OrderSagaStepLog.builder()
+                .saga(saga)
+                .stepIndex(index)
+                .stepName(step.name())
+                .action(action)
+                .succeeded(error == null)
+                .attempt(saga.getAttempts() + 1)
+                .error(error != null ? truncate(error.getMessage()) : null)
+                .build());
+    }
+
+    private static boolean isRetryable(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof FeignException feignException) {
+                int status = feignException.status();
+                // A negative status means no response was received at all
+                return status < 0 || status == 429 || status >= 500;
             }
+            if (cause instanceof TransientDataAccessException || cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize saga state", ex);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not deserialize saga state", ex);
         }
     }
 }
@@ -0,0 +1,29 @@
+package com.nahid.order.scheduler;
+
+import com.nahid.order.idempotency.IdempotencyRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyKeyPurgeScheduler {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:600000}")
+    public void purgeExpiredKeys() {
+        try {
+            int purged = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+            if (purged > 0) {
+                log.info("Purged {} expired idempotency keys", purged);
+            }
+        } catch (Exception e) {
+            log.error("Error purging expired idempotency keys: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.nahid.order.scheduler;
+
+import com.nahid.order.numbering.OrderNumberNodeLease;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderNumberNodeLeaseScheduler {
+
+    private final OrderNumberNodeLease orderNumberNodeLease;
+
+    @Scheduled(fixedDelayString = "${order.number.node-lease-renew-interval-ms:60000}")
+    public void renewNodeLease() {
+        try {
+            orderNumberNodeLease.renew();
+        } catch (Exception e) {
+            log.error("Error renewing the order number node id lease: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.nahid.order.scheduler;
+
+import com.nahid.order.saga.SagaManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderSagaRecoveryScheduler {
+
+    private final SagaManager sagaManager;
+
+    // Picks up due retries and, from the first run after startup, sagas left in flight by a stopped instance
+    @Scheduled(fixedDelayString = "${order.saga.poll-interval-ms:1000}")
+    public void resumeDueSagas() {
+        try {
+            sagaManager.resumeDueSagas();
+        } catch (Exception e) {
+            log.error("Error resuming order sagas: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.nahid.order.scheduler;
+
+import com.nahid.order.outbox.OutboxRelay;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelayScheduler {
+
+    private final OutboxRelay outboxRelay;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:200}")
+    public void relayOutbox() {
+        try {
+            outboxRelay.relayPending();
+        } catch (Exception e) {
+            log.error("Error relaying outbox events: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.nahid.order.service;
+
+import com.nahid.order.dto.request.CreateOrderRequest;
+import com.nahid.order.dto.response.BulkOrderResponseDto;
+
+import java.util.List;
+
+public interface BulkOrderService {
+
+    BulkOrderResponseDto createOrders(List<CreateOrderRequest> requests);
+}
@@ -2,16 +2,27 @@ package com.nahid.order.service;
 
 import com.nahid.order.dto.request.CreateOrderRequest;
 import com.nahid.order.dto.request.OrderDto;
+import com.nahid.order.dto.response.CursorPageDto;
+import com.nahid.order.dto.response.OrderSagaStatusDto;
 import com.nahid.order.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
-import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface OrderService {
 
-    OrderDto createOrder(CreateOrderRequest request);
+    /**
+     * Starts the order-creation saga. Unless {@code respondAsync} is set, waits a bounded time for
+     * it to finish; the returned status carries the order once the saga has completed.
+     *
+     * @throws com.nahid.order.exception.OrderProcessingException if the saga was rolled back
+     *                                                            while the caller was waiting
+     */
+    OrderSagaStatusDto createOrder(CreateOrderRequest request, boolean respondAsync);
+
+    OrderSagaStatusDto getOrderSaga(UUID sagaId);
 
     OrderDto getOrderById(UUID orderId);
 
@@ -21,11 +32,19 @@ public interface OrderService {
 
     Page<OrderDto> getAllOrders(Pageable pageable);
 
+    CursorPageDto<OrderDto> scrollOrdersByUserId(Long userId, String cursor, int size);
+
+    CursorPageDto<OrderDto> scrollAllOrders(String cursor, int size);
+
     OrderDto updateOrderStatus(UUID orderId, OrderStatus status);
 
     void cancelOrder(UUID orderId);
 
-    List<OrderDto> getOrdersByStatus(OrderStatus status);
+    /**
+     * Feeds every order with the given status to {@code sink}, newest first, without loading the
+     * whole result set. The sink runs inside a read-only transaction and must not retain entities.
+     */
+    void streamOrdersByStatus(OrderStatus status, Consumer<OrderDto> sink);
 
     long getOrderCountByUserAndStatus(Long userId, OrderStatus status);
 }
\ No newline at end of file
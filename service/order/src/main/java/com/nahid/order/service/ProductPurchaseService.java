@@ -2,6 +2,11 @@ package com.nahid.order.service;
 
 import com.nahid.order.dto.request.CreateOrderRequest;
 import com.nahid.order.dto.response.PurchaseProductResponseDto;
+import com.nahid.order.dto.response.ReservationResultDto;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
 
 public interface ProductPurchaseService {
 
@@ -10,5 +15,17 @@ public interface ProductPurchaseService {
     void confirmReservation(String orderReference);
 
     void releaseReservation(String orderReference);
-}
 
+    /**
+     * Reserves products for several orders in one product-service call, keyed by order reference.
+     * Orders that could not be reserved come back unsuccessful without failing the others.
+     */
+    Map<String, ReservationResultDto> reserveProducts(Map<String, CreateOrderRequest> requestsByReference);
+
+    /**
+     * @return the order references whose reservations were confirmed
+     */
+    Set<String> confirmReservations(Collection<String> orderReferences);
+
+    void releaseReservations(Collection<String> orderReferences);
+}
@@ -0,0 +1,334 @@
+package com.nahid.order.service.impl;
+
+import com.nahid.order.config.BulkOrderProperties;
+import com.nahid.order.dto.request.CreateOrderRequest;
+import com.nahid.order.dto.response.BulkOrderResponseDto;
+import com.nahid.order.dto.response.BulkOrderResultDto;
+import com.nahid.order.dto.response.PurchaseProductItemResultDto;
+import com.nahid.order.dto.response.PurchaseProductResponseDto;
+import com.nahid.order.dto.response.ReservationResultDto;
+import com.nahid.order.entity.Order;
+import com.nahid.order.entity.OrderItem;
+import com.nahid.order.entity.OrderSaga;
+import com.nahid.order.enums.OrderStatus;
+import com.nahid.order.enums.SagaStatus;
+import com.nahid.order.exception.OrderProcessingException;
+import com.nahid.order.mapper.OrderMapper;
+import com.nahid.order.repository.OrderRepository;
+import com.nahid.order.repository.OrderSagaRepository;
+import com.nahid.order.saga.SagaManager;
+import com.nahid.order.service.BulkOrderService;
+import com.nahid.order.service.OrderItemFactory;
+import com.nahid.order.service.OrderNumberService;
+import com.nahid.order.service.ProductPurchaseService;
+import com.nahid.order.service.UserValidationService;
+import com.nahid.order.util.annotation.Auditable;
+import com.nahid.order.util.constant.ExceptionMessageConstant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.nahid.order.util.constant.AppConstant.ORDER;
+
+/**
+ * Creates many orders in one request. Each distinct user is validated once, then the orders are
+ * split into chunks that run in parallel on the bounded bulk executor. A chunk makes one grouped
+ * reservation call, stores its orders in one transaction with batched inserts, and makes one grouped
+ * confirmation call.
+ * <p>
+ * Each order is stored together with a saga already at the confirmation step, so from then on it has
+ * the saga engine's guarantees: if its confirmation does not go through here, saga recovery confirms
+ * it, or compensates it, once the lease lapses. Orders that fail before being stored are reported as
+ * FAILED and their reservations are released.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkOrderServiceImpl implements BulkOrderService {
+
+    private final UserValidationService userValidationService;
+    private final ProductPurchaseService productPurchaseService;
+    private final OrderNumberService orderNumberService;
+    private final OrderItemFactory orderItemFactory;
+    private final OrderMapper orderMapper;
+    private final OrderRepository orderRepository;
+    private final OrderSagaRepository orderSagaRepository;
+    private final SagaManager sagaManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService bulkOrderExecutor;
+    private final BulkOrderProperties properties;
+
+    @Override
+    @Auditable(eventType = "CREATE", entityName = ORDER, action = "CREATE_ORDERS_BULK")
+    public BulkOrderResponseDto createOrders(List<CreateOrderRequest> requests) {
+        BulkOrderResultDto[] results = new BulkOrderResultDto[requests.size()];
+        Map<Long, String> invalidUsers = validateUsers(requests);
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            String userFailure = invalidUsers.get(requests.get(index).getUserId());
+            if (userFailure != null) {
+                results[index] = failed(index, null, userFailure);
+            } else {
+                accepted.add(index);
+            }
+        }
+
+        int chunkSize = properties.getChunkSize();
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + chunkSize, accepted.size()));
+            chunks.add(bulkOrderExecutor.submit(() -> processChunk(chunk, requests, results)));
+        }
+        chunks.forEach(BulkOrderServiceImpl::await);
+        return summarize(results);
+    }
+
+    private Map<Long, String> validateUsers(List<CreateOrderRequest> requests) {
+        Map<Long, CompletableFuture<Void>> validations = new HashMap<>();
+        for (CreateOrderRequest request : requests) {
+            validations.computeIfAbsent(request.getUserId(), userId -> CompletableFuture.runAsync(
+                    () -> userValidationService.validateUserForOrder(userId), bulkOrderExecutor));
+        }
+
+        Map<Long, String> failures = new HashMap<>();
+        validations.forEach((userId, validation) -> {
+            try {
+                validation.join();
+            } catch (CompletionException ex) {
+                failures.put(userId, ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage());
+            }
+        });
+        return failures;
+    }
+
+    private void processChunk(List<Integer> chunk, List<CreateOrderRequest> requests, BulkOrderResultDto[] results) {
+        Map<String, Integer> indexByOrderNumber = new LinkedHashMap<>();
+        Map<String, CreateOrderRequest> requestsByOrderNumber = new LinkedHashMap<>();
+        for (int index : chunk) {
+            String orderNumber = orderNumberService.generateOrderNumber();
+            indexByOrderNumber.put(orderNumber, index);
+            requestsByOrderNumber.put(orderNumber, requests.get(index));
+        }
+
+        Map<String, ReservationResultDto> reservations;
+        try {
+            reservations = productPurchaseService.reserveProducts(requestsByOrderNumber);
+        } catch (RuntimeException ex) {
+            indexByOrderNumber.forEach((orderNumber, index) ->
+                    results[index] = failed(index, orderNumber, ex.getMessage()));
+            // The call may have reserved some of them before it failed
+            release(indexByOrderNumber.keySet());
+            return;
+        }
+
+        List<PendingOrder> pending = new ArrayList<>();
+        List<String> toRelease = new ArrayList<>();
+        indexByOrderNumber.forEach((orderNumber, index) -> {
+            ReservationResultDto result = reservations.get(orderNumber);
+            if (result == null || !result.isSuccess() || result.getReservation() == null) {
+                results[index] = failed(index, orderNumber, result != null && result.getMessage() != null
+                        ? result.getMessage()
+                        : String.format(ExceptionMessageConstant.PRODUCT_RESERVATION_FAILED, "no reservation returned"));
+                if (result == null || result.isSuccess()) {
+                    toRelease.add(orderNumber);
+                }
+                return;
+            }
+            CreateOrderRequest request = requestsByOrderNumber.get(orderNumber);
+            try {
+                pending.add(new PendingOrder(index, request, result.getReservation(),
+                        buildOrder(request, orderNumber, result.getReservation())));
+            } catch (OrderProcessingException ex) {
+                results[index] = failed(index, orderNumber, ex.getMessage());
+                toRelease.add(orderNumber);
+            }
+        });
+
+        List<StoredOrder> stored = store(pending, results, toRelease);
+        release(toRelease);
+        for (StoredOrder order : stored) {
+            results[order.index()] = BulkOrderResultDto.builder()
+                    .index(order.index())
+                    .orderNumber(order.order().getOrderNumber())
+                    .status(SagaStatus.IN_PROGRESS)
+                    .orderId(order.order().getOrderId())
+                    .sagaId(order.sagaId())
+                    .build();
+        }
+        if (!stored.isEmpty()) {
+            confirm(stored, results);
+        }
+    }
+
+    private Order buildOrder(CreateOrderRequest request, String orderNumber, PurchaseProductResponseDto reservation) {
+        Map<Long, PurchaseProductItemResultDto> reservedItemsMap = reservation.getItems().stream()
+                .collect(Collectors.toMap(
+                        PurchaseProductItemResultDto::getProductId,
+                        Function.identity(),
+                        (existing, replacement) -> existing));
+
+        Order order = orderMapper.toEntity(request);
+        order.setOrderNumber(orderNumber);
+        order.setStatus(OrderStatus.PENDING);
+
+        List<OrderItem> orderItems = orderItemFactory.createOrderItems(request.getOrderItems(), reservedItemsMap);
+        order.setTotalAmount(orderItems.stream()
+                .map(OrderItem::getTotalPrice)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        orderItems.forEach(order::addOrderItem);
+        return order;
+    }
+
+    /**
+     * Stores the orders and their sagas in one transaction. If that fails, the orders are stored one
+     * by one so a single bad order does not fail the rest of the chunk.
+     */
+    private List<StoredOrder> store(List<PendingOrder> pending, BulkOrderResultDto[] results, List<String> toRelease) {
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return transactionTemplate.execute(status -> persist(pending));
+        } catch (RuntimeException ex) {
+            if (pending.size() == 1) {
+                PendingOrder order = pending.get(0);
+                String orderNumber = order.order().getOrderNumber();
+                log.warn("Could not store bulk order {}: {}", orderNumber, ex.getMessage());
+                results[order.index()] = failed(order.index(), orderNumber,
+                        String.format(ExceptionMessageConstant.ORDER_CREATION_FAILED, ex.getMessage()));
+                toRelease.add(orderNumber);
+                return List.of();
+            }
+            log.warn("Batched insert of {} bulk orders failed, storing them one by one: {}",
+                    pending.size(), ex.getMessage());
+            List<StoredOrder> stored = new ArrayList<>();
+            for (PendingOrder order : pending) {
+                stored.addAll(store(List.of(order), results, toRelease));
+            }
+            return stored;
+        }
+    }
+
+    private List<StoredOrder> persist(List<PendingOrder> pending) {
+        List<Order> orders = orderRepository.saveAll(pending.stream().map(PendingOrder::order).toList());
+        List<OrderSaga> sagas = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            PendingOrder order = pending.get(i);
+            sagas.add(sagaManager.awaitingConfirmation(order.request(), order.reservation(), orders.get(i)));
+        }
+        List<OrderSaga> savedSagas = orderSagaRepository.saveAll(sagas);
+
+        List<StoredOrder> stored = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            stored.add(new StoredOrder(pending.get(i).index(), orders.get(i), savedSagas.get(i).getId()));
+        }
+        return stored;
+    }
+
+    private void confirm(List<StoredOrder> stored, BulkOrderResultDto[] results) {
+        try {
+            Set<String> confirmed = productPurchaseService.confirmReservations(stored.stream()
+                    .map(order -> order.order().getOrderNumber())
+                    .toList());
+
+            Map<UUID, Order> confirmedBySagaId = new HashMap<>();
+            for (StoredOrder order : stored) {
+                if (confirmed.contains(order.order().getOrderNumber())) {
+                    confirmedBySagaId.put(order.sagaId(), order.order());
+                }
+            }
+            if (sagaManager.completeConfirmed(confirmedBySagaId)) {
+                stored.stream()
+                        .filter(order -> confirmedBySagaId.containsKey(order.sagaId()))
+                        .forEach(order -> results[order.index()].setStatus(SagaStatus.COMPLETED));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not confirm {} bulk orders, leaving them to saga recovery: {}",
+                    stored.size(), ex.getMessage());
+        }
+    }
+
+    // Best effort: a reservation left behind expires and is released by the product service
+    private void release(Collection<String> orderNumbers) {
+        if (orderNumbers.isEmpty()) {
+            return;
+        }
+        try {
+            productPurchaseService.releaseReservations(orderNumbers);
+        } catch (RuntimeException ex) {
+            log.warn("Could not release reservations {}: {}", orderNumbers, ex.getMessage());
+        }
+    }
+
+    private static void await(Future<?> chunk) {
+        try {
+            chunk.get();
+        } catch (ExecutionException ex) {
+            log.error("Bulk order chunk stopped unexpectedly", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new OrderProcessingException(
+                    String.format(ExceptionMessageConstant.ORDER_CREATION_FAILED, "interrupted"), ex);
+        }
+    }
+
+    private static BulkOrderResponseDto summarize(BulkOrderResultDto[] results) {
+        List<BulkOrderResultDto> orderResults = new ArrayList<>(results.length);
+        int completed = 0;
+        int inProgress = 0;
+        int failed = 0;
+        for (int index = 0; index < results.length; index++) {
+            BulkOrderResultDto result = results[index] != null
+                    ? results[index]
+                    : failed(index, null, String.format(ExceptionMessageConstant.ORDER_CREATION_FAILED, "not processed"));
+            switch (result.getStatus()) {
+                case COMPLETED -> completed++;
+                case IN_PROGRESS -> inProgress++;
+                default -> failed++;
+            }
+            orderResults.add(result);
+        }
+        return BulkOrderResponseDto.builder()
+                .total(results.length)
+                .completed(completed)
+                .inProgress(inProgress)
+                .failed(failed)
+                .results(orderResults)
+                .build();
+    }
+
+    private static BulkOrderResultDto failed(int index, String orderNumber, String reason) {
+        return BulkOrderResultDto.builder()
+                .index(index)
+                .orderNumber(orderNumber)
+                .status(SagaStatus.FAILED)
+                .failureReason(reason)
+                .build();
+    }
+
+    private record PendingOrder(int index, CreateOrderRequest request, PurchaseProductResponseDto reservation,
+                                Order order) {
+    }
+
+    private record StoredOrder(int index, Order order, UUID sagaId) {
+    }
+}
@@ -1,16 +1,31 @@
 package com.nahid.order.service.impl;
 
+import com.nahid.order.config.OrderNumberProperties;
+import com.nahid.order.numbering.OrderNumberNodeLease;
 import com.nahid.order.service.OrderNumberService;
+import com.nahid.order.util.helper.SnowflakeIdGenerator;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+
+/**
+ * Order numbers are {@code ORD-<snowflake id>}: unique across instances without any coordination,
+ * since each instance has its own node id, and increasing in creation order on each instance.
+ */
 @Service
 public class OrderNumberServiceImpl implements OrderNumberService {
 
+    private static final String PREFIX = "ORD-";
+
+    private final SnowflakeIdGenerator idGenerator;
+
+    public OrderNumberServiceImpl(OrderNumberProperties properties, OrderNumberNodeLease nodeLease) {
+        this.idGenerator = new SnowflakeIdGenerator(nodeLease.getNodeId(), properties.getMaxClockDriftMs(),
+                Clock.systemUTC());
+    }
+
     @Override
     public String generateOrderNumber() {
-        String prefix = "ORD";
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        return prefix + "-" + timestamp;
+        return PREFIX + idGenerator.nextId();
     }
 }
-
@@ -1,37 +1,41 @@
 package com.nahid.order.service.impl;
 
-import com.nahid.order.dto.OrderEventDto;
+import com.nahid.order.config.OrderSagaProperties;
 import com.nahid.order.dto.request.CreateOrderRequest;
 import com.nahid.order.dto.request.OrderDto;
+import com.nahid.order.dto.response.CursorPageDto;
+import com.nahid.order.dto.response.OrderSagaStatusDto;
+import com.nahid.order.dto.response.OrderSagaStepDto;
 import com.nahid.order.entity.Order;
+import com.nahid.order.entity.OrderSaga;
 import com.nahid.order.enums.OrderStatus;
+import com.nahid.order.enums.SagaStatus;
 import com.nahid.order.exception.OrderNotFoundException;
 import com.nahid.order.exception.OrderProcessingException;
 import com.nahid.order.mapper.OrderMapper;
 import com.nahid.order.producer.OrderEventPublisher;
 import com.nahid.order.repository.OrderRepository;
-import com.nahid.order.saga.ConfirmReservationCommand;
-import com.nahid.order.saga.OrderSagaContext;
-import com.nahid.order.saga.PersistOrderCommand;
-import com.nahid.order.saga.ReserveProductsCommand;
+import com.nahid.order.repository.OrderSagaRepository;
+import com.nahid.order.repository.OrderSagaStepLogRepository;
 import com.nahid.order.saga.SagaManager;
-import com.nahid.order.service.OrderNumberService;
-import com.nahid.order.service.OrderItemFactory;
 import com.nahid.order.service.OrderService;
 import com.nahid.order.service.OrderStatusService;
-import com.nahid.order.service.ProductPurchaseService;
-import com.nahid.order.service.UserValidationService;
 import com.nahid.order.util.annotation.Auditable;
 import com.nahid.order.util.constant.ExceptionMessageConstant;
+import com.nahid.order.util.helper.KeysetCursorUtil;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static com.nahid.order.util.constant.AppConstant.ORDER;
 
@@ -43,39 +47,64 @@ public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
-    private final UserValidationService userValidationService;
-    private final ProductPurchaseService productPurchaseService;
+    private final OrderSagaRepository orderSagaRepository;
+    private final OrderSagaStepLogRepository orderSagaStepLogRepository;
     private final OrderStatusService orderStatusService;
-    private final OrderNumberService orderNumberService;
     private final OrderEventPublisher orderEventPublisher;
-    private final OrderItemFactory orderItemFactory;
+    private final EntityManager entityManager;
+    private final SagaManager sagaManager;
+    private final OrderSagaProperties orderSagaProperties;
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Auditable(eventType = "CREATE", entityName = ORDER, action = "CREATE_ORDER")
-    public OrderDto createOrder(CreateOrderRequest request) {
-        try {
-            // Validate user
-            userValidationService.validateUserForOrder(request.getUserId());
-
-            // Generate order number and reserve products
-            String orderNumber = orderNumberService.generateOrderNumber();
-            OrderSagaContext context = new OrderSagaContext(request, orderNumber);
-
-            SagaManager sagaManager = new SagaManager();
-            sagaManager.addStep(new ReserveProductsCommand(productPurchaseService, context));
-            sagaManager.addStep(new PersistOrderCommand(orderRepository, orderMapper, orderItemFactory, context));
-            sagaManager.addStep(new ConfirmReservationCommand(productPurchaseService, context));
-            sagaManager.execute();
-
-            Order savedOrder = context.getSavedOrder();
-            publishOrderEvent(savedOrder, OrderStatus.PENDING);
-
-            return orderMapper.toDto(savedOrder);
+    public OrderSagaStatusDto createOrder(CreateOrderRequest request, boolean respondAsync) {
+        OrderSaga saga = sagaManager.start(request);
+        if (respondAsync) {
+            return getOrderSaga(saga.getId());
+        }
 
-        } catch (Exception e) {
+        sagaManager.awaitRun(saga.getId(), orderSagaProperties.getSyncWait());
+        OrderSagaStatusDto status = getOrderSaga(saga.getId());
+        if (status.getStatus() == SagaStatus.COMPENSATED || status.getStatus() == SagaStatus.FAILED) {
             throw new OrderProcessingException(
-                    String.format(ExceptionMessageConstant.ORDER_CREATION_FAILED, e.getMessage()), e);
+                    String.format(ExceptionMessageConstant.ORDER_CREATION_FAILED, status.getFailureReason()));
         }
+        return status;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderSagaStatusDto getOrderSaga(UUID sagaId) {
+        OrderSaga saga = orderSagaRepository.findById(sagaId)
+                .orElseThrow(() -> new OrderNotFoundException(
+                        String.format(ExceptionMessageConstant.ORDER_SAGA_NOT_FOUND, sagaId)));
+
+        OrderDto order = saga.getStatus() == SagaStatus.COMPLETED && saga.getOrderId() != null
+                ? orderRepository.findById(saga.getOrderId()).map(orderMapper::toDto).orElse(null)
+                : null;
+
+        return OrderSagaStatusDto.builder()
+                .sagaId(saga.getId())
+                .orderNumber(saga.getOrderNumber())
+                .status(saga.getStatus())
+                .failureReason(saga.getFailureReason())
+                .nextAttemptAt(saga.getStatus() == SagaStatus.IN_PROGRESS
+                        || saga.getStatus() == SagaStatus.COMPENSATING ? saga.getNextAttemptAt() : null)
+                .order(order)
+                .steps(orderSagaStepLogRepository.findBySagaIdOrderByCreatedAtAsc(sagaId).stream()
+                        .map(step -> OrderSagaStepDto.builder()
+                                .stepName(step.getStepName())
+                                .action(step.getAction())
+                                .succeeded(step.isSucceeded())
+                                .attempt(step.getAttempt())
+                                .error(step.getError())
+                                .createdAt(step.getCreatedAt())
+                                .build())
+                        .toList())
+                .createdAt(saga.getCreatedAt())
+                .updatedAt(saga.getUpdatedAt())
+                .build();
     }
 
     @Override
@@ -110,6 +139,25 @@ public class OrderServiceImpl implements OrderService {
                 .map(orderMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<OrderDto> scrollOrdersByUserId(Long userId, String cursor, int size) {
+        return KeysetCursorUtil.toPage(orderRepository.findByUserIdOrderByCreatedAtDescIdDesc(
+                        userId,
+                        KeysetCursorUtil.decode(cursor, UUID::fromString),
+                        Limit.of(KeysetCursorUtil.pageSize(size)))
+                .map(orderMapper::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<OrderDto> scrollAllOrders(String cursor, int size) {
+        return KeysetCursorUtil.toPage(orderRepository.findAllByOrderByCreatedAtDescIdDesc(
+                        KeysetCursorUtil.decode(cursor, UUID::fromString),
+                        Limit.of(KeysetCursorUtil.pageSize(size)))
+                .map(orderMapper::toDto));
+    }
+
     @Override
     @Auditable(eventType = "UPDATE", entityName = ORDER, action = "UPDATE_ORDER_STATUS")
     public OrderDto updateOrderStatus(UUID orderId, OrderStatus status) {
@@ -144,7 +192,7 @@ public class OrderServiceImpl implements OrderService {
             order.setStatus(OrderStatus.CANCELLED);
             orderRepository.save(order);
 
-            publishOrderEvent(order, OrderStatus.CANCELLED);
+            orderEventPublisher.publishOrderStatusEvent(order, OrderStatus.CANCELLED);
 
         } catch (OrderProcessingException | OrderNotFoundException e) {
             throw e;
@@ -156,12 +204,13 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<OrderDto> getOrdersByStatus(OrderStatus status) {
-        return orderRepository.findByStatusOrderByCreatedAtDesc(status, Pageable.unpaged())
-                .getContent()
-                .stream()
-                .map(orderMapper::toDto)
-                .toList();
+    public void streamOrdersByStatus(OrderStatus status, Consumer<OrderDto> sink) {
+        try (Stream<Order> orders = orderRepository.streamByStatusOrderByCreatedAtDescIdDesc(status)) {
+            orders.forEach(order -> {
+                sink.accept(orderMapper.toDto(order));
+                entityManager.detach(order);
+            });
+        }
     }
 
     @Override
@@ -169,23 +218,4 @@ public class OrderServiceImpl implements OrderService {
     public long getOrderCountByUserAndStatus(Long userId, OrderStatus status) {
         return orderRepository.countByUserIdAndStatus(userId, status);
     }
-
-    private void publishOrderEvent(Order order, OrderStatus status) {
-        try {
-            OrderEventDto orderEvent = OrderEventDto.builder()
-                    .orderId(order.getOrderId())
-                    .orderNumber(order.getOrderNumber())
-                    .userId(order.getUserId())
-                    .status(status)
-                    .totalAmount(order.getTotalAmount())
-                    .createdAt(order.getCreatedAt())
-                    .eventType("ORDER_" + status.name())
-                    .build();
-
-            orderEventPublisher.publishOrderEvent(orderEvent);
-        } catch (Exception e) {
-            log.error("Failed to publish order event for orderId {}: {}",
-                    order.getOrderId(), e.getMessage());
-        }
-    }
 }
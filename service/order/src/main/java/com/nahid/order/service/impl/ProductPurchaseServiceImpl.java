@@ -1,11 +1,14 @@
 package com.nahid.order.service.impl;
 
 import com.nahid.order.client.ProductClient;
+import com.nahid.order.dto.request.BulkReservationRequestDto;
 import com.nahid.order.dto.request.CreateOrderRequest;
 import com.nahid.order.dto.request.PurchaseProductItemDto;
 import com.nahid.order.dto.request.PurchaseProductRequestDto;
+import com.nahid.order.dto.request.ReservationReferencesRequestDto;
 import com.nahid.order.dto.response.ApiResponse;
 import com.nahid.order.dto.response.PurchaseProductResponseDto;
+import com.nahid.order.dto.response.ReservationResultDto;
 import com.nahid.order.exception.OrderProcessingException;
 import com.nahid.order.service.ProductPurchaseService;
 import com.nahid.order.util.constant.ExceptionMessageConstant;
@@ -15,6 +18,13 @@ import org.springframework.stereotype.Service;
 
 import org.springframework.http.ResponseEntity;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -25,15 +35,7 @@ public class ProductPurchaseServiceImpl implements ProductPurchaseService {
     @Override
     public PurchaseProductResponseDto reserveProducts(CreateOrderRequest request, String orderReference) {
 
-        PurchaseProductRequestDto purchaseRequest = PurchaseProductRequestDto.builder()
-                .orderReference(orderReference)
-                .items(request.getOrderItems().stream()
-                        .map(item -> PurchaseProductItemDto.builder()
-                                .productId(item.getProductId())
-                                .quantity(item.getQuantity())
-                                .build())
-                        .toList())
-                .build();
+        PurchaseProductRequestDto purchaseRequest = toPurchaseRequest(request, orderReference);
 
         ResponseEntity<ApiResponse<PurchaseProductResponseDto>> responseEntity = productClient.reserveInventory(purchaseRequest);
         ApiResponse<PurchaseProductResponseDto> apiResponse =
@@ -80,5 +82,70 @@ public class ProductPurchaseServiceImpl implements ProductPurchaseService {
         productClient.releaseReservation(orderReference);
     }
 
+    @Override
+    public Map<String, ReservationResultDto> reserveProducts(Map<String, CreateOrderRequest> requestsByReference) {
+        BulkReservationRequestDto bulkRequest = BulkReservationRequestDto.builder()
+                .reservations(requestsByReference.entrySet().stream()
+                        .map(entry -> toPurchaseRequest(entry.getValue(), entry.getKey()))
+                        .toList())
+                .build();
+
+        Map<String, ReservationResultDto> resultsByReference = new HashMap<>();
+        for (ReservationResultDto result : bulkResults(productClient.reserveInventoryBulk(bulkRequest))) {
+            resultsByReference.put(result.getOrderReference(), result);
+        }
+        return resultsByReference;
+    }
+
+    @Override
+    public Set<String> confirmReservations(Collection<String> orderReferences) {
+        return bulkResults(productClient.confirmReservations(toReferencesRequest(orderReferences))).stream()
+                .filter(ReservationResultDto::isSuccess)
+                .map(ReservationResultDto::getOrderReference)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void releaseReservations(Collection<String> orderReferences) {
+        bulkResults(productClient.releaseReservations(toReferencesRequest(orderReferences))).stream()
+                .filter(result -> !result.isSuccess())
+                .forEach(result -> log.warn("Could not release reservation {}: {}",
+                        result.getOrderReference(), result.getMessage()));
+    }
+
+    private static PurchaseProductRequestDto toPurchaseRequest(CreateOrderRequest request, String orderReference) {
+        return PurchaseProductRequestDto.builder()
+                .orderReference(orderReference)
+                .items(request.getOrderItems().stream()
+                        .map(item -> PurchaseProductItemDto.builder()
+                                .productId(item.getProductId())
+                                .quantity(item.getQuantity())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private static ReservationReferencesRequestDto toReferencesRequest(Collection<String> orderReferences) {
+        return ReservationReferencesRequestDto.builder()
+                .orderReferences(List.copyOf(orderReferences))
+                .build();
+    }
+
+    private static List<ReservationResultDto> bulkResults(
+            ResponseEntity<ApiResponse<List<ReservationResultDto>>> responseEntity) {
+        ApiResponse<List<ReservationResultDto>> apiResponse =
+                responseEntity != null ? responseEntity.getBody() : null;
+
+        if (apiResponse == null || !apiResponse.isSuccess() || apiResponse.getData() == null) {
+            String failureMessage = apiResponse != null && apiResponse.getMessage() != null
+                    ? apiResponse.getMessage()
+                    : "Product service returned an unsuccessful response";
+            throw new OrderProcessingException(String.format(
+                    ExceptionMessageConstant.PRODUCT_RESERVATION_FAILED,
+                    failureMessage));
+        }
+        return apiResponse.getData();
+    }
+
 }
 
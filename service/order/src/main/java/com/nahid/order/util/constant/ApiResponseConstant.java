@@ -7,6 +7,8 @@ import lombok.NoArgsConstructor;
 public class ApiResponseConstant {
     public static final String FETCH_SUCCESSFUL = "%s fetched successfully";
     public static final String CREATE_SUCCESSFUL = "%s created successfully";
+    public static final String ACCEPTED = "%s accepted for processing";
+    public static final String BULK_PROCESSED = "%s processed: %d completed, %d in progress, %d failed";
     public static final String UPDATE_SUCCESSFUL = "%s updated successfully";
     public static final String DELETE_SUCCESSFUL = "%s deleted successfully";
     public static final String FETCH_ALL_SUCCESSFUL = "All %s retrieved successfully";
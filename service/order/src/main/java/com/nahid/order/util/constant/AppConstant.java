@@ -10,9 +10,20 @@ public class AppConstant {
     public static final String ORDER = "Order";
     public static final String ORDERS = "Orders";
     public static final String ORDER_COUNT = "Order count";
+    public static final String ORDER_SAGA = "Order saga";
+    public static final String BULK_ORDERS = "Bulk orders";
     public static final String ORDER_ITEM = "OrderItem";
     public static final String USER = "User";
     public static final String PRODUCT = "Product";
 
+    // JDBC rows fetched per round trip when streaming large result sets
+    public static final String STREAM_FETCH_SIZE = "500";
+
+    // Upper bound on orders accepted by one bulk request
+    public static final int MAX_BULK_ORDERS = 5000;
+
+    // Upper bound on reservations the product service accepts in one bulk call
+    public static final int MAX_BULK_RESERVATIONS = 100;
+
 
 }
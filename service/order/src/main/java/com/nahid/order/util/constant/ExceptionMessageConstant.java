@@ -16,11 +16,17 @@ public class ExceptionMessageConstant {
     // Order-specific Exception Messages
     public static final String ORDER_NOT_FOUND = "Order not found with ID: %s";
     public static final String ORDER_NOT_FOUND_BY_NUMBER = "Order not found with order number: %s";
+    public static final String ORDER_SAGA_NOT_FOUND = "Order saga not found with ID: %s";
     public static final String ORDER_PROCESSING_FAILED = "Order processing failed: %s";
     public static final String ORDER_CREATION_FAILED = "Failed to create order: %s";
     public static final String ORDER_UPDATE_FAILED = "Failed to update order: %s";
     public static final String ORDER_CANCELLATION_FAILED = "Failed to cancel order: %s";
 
+    // Idempotency Exception Messages
+    public static final String IDEMPOTENCY_KEY_INVALID = "Idempotency-Key must be between 1 and %d characters";
+    public static final String IDEMPOTENCY_KEY_IN_PROGRESS = "A request with Idempotency-Key %s is still being processed";
+    public static final String IDEMPOTENCY_KEY_REUSED = "Idempotency-Key %s was already used with a different request";
+
     // Order Status Exception Messages
     public static final String INVALID_STATUS_TRANSITION = "Cannot change order status from %s to %s";
     public static final String ORDER_CANNOT_BE_CANCELLED = "Order cannot be cancelled in current status: %s";
@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.net.URI;
 import java.time.Instant;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -33,6 +34,17 @@ public class ApiResponseUtil {
         return ResponseEntity.status(httpStatus).body(response);
     }
 
+    public static <T> ResponseEntity<ApiResponse<T>> accepted(T data, String message, URI location) {
+        ApiResponse<T> response = ApiResponse.<T>builder()
+                .success(true)
+                .message(message)
+                .data(data)
+                .timestamp(Instant.now())
+                .statusCode(HttpStatus.ACCEPTED.value())
+                .build();
+        return ResponseEntity.accepted().location(location).body(response);
+    }
+
     public static <T> ResponseEntity<ApiResponse<T>> failure(String message) {
         ApiResponse<T> response = ApiResponse.<T>builder()
                 .success(false)
@@ -0,0 +1,84 @@
+package com.nahid.order.util.helper;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Coordination-free 63-bit ids: 41 bits of milliseconds since 2025-01-01 UTC (good until 2094),
+ * 10 bits of node id and a 12-bit per-millisecond sequence, so ids from different nodes never
+ * collide and ids from one node strictly increase.
+ * <p>
+ * The last issued timestamp and sequence share one {@link AtomicLong} and are advanced with a CAS,
+ * so callers never take a lock. When the wall clock steps back (an NTP correction, say), the generator
+ * keeps counting on the last timestamp it issued rather than reuse an earlier one, and waits for the
+ * clock once that millisecond's sequence is used up; the same wait caps a node at 4096 ids per
+ * millisecond. A step back of more than {@code maxClockDriftMs} fails fast instead of stalling.
+ */
+public final class SnowflakeIdGenerator {
+
+    public static final int NODE_ID_BITS = 10;
+    public static final long MAX_NODE_ID = (1L << NODE_ID_BITS) - 1;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    private final long nodeBits;
+    private final long maxClockDriftMs;
+    private final Clock clock;
+    // (milliseconds since EPOCH_MILLIS << SEQUENCE_BITS) | sequence of the last issued id
+    private final AtomicLong lastIssued;
+
+    public SnowflakeIdGenerator(long nodeId, long maxClockDriftMs, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ", was " + nodeId);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.maxClockDriftMs = maxClockDriftMs;
+        this.clock = clock;
+        this.lastIssued = new AtomicLong(elapsedMillis() << SEQUENCE_BITS);
+    }
+
+    public long nextId() {
+        while (true) {
+            long last = lastIssued.get();
+            long lastMillis = last >>> SEQUENCE_BITS;
+            long now = elapsedMillis();
+            long next;
+            if (now > lastMillis) {
+                next = now << SEQUENCE_BITS;
+            } else if (lastMillis - now > maxClockDriftMs) {
+                throw new IllegalStateException("Clock moved back " + (lastMillis - now) + " ms; refusing to "
+                        + "generate ids until it catches up");
+            } else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                next = last + 1;
+            } else {
+                waitForClock(lastMillis - now);
+                continue;
+            }
+            if (lastIssued.compareAndSet(last, next)) {
+                return ((next >>> SEQUENCE_BITS) << (NODE_ID_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public static long nodeIdOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    // Sequence used up: spin into the next millisecond, or sleep out a clock that stepped back
+    private static void waitForClock(long behindMillis) {
+        if (behindMillis > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(behindMillis));
+        } else {
+            Thread.onSpinWait();
+        }
+    }
+
+    private long elapsedMillis() {
+        return clock.millis() - EPOCH_MILLIS;
+    }
+}
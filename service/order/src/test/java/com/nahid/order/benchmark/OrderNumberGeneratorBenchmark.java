@@ -0,0 +1,71 @@
+package com.nahid.order.benchmark;
+
+import com.nahid.order.util.helper.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order number throughput on one node, uncontended and with 8 threads racing on the same generator.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.nahid.order.benchmark.OrderNumberGeneratorBenchmark}. The run fails if either
+ * mode reports less than the 100k ops/s target; the per-millisecond sequence caps a node at 4.096M ids/s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderNumberGeneratorBenchmark {
+
+    private static final double TARGET_OPS_PER_SECOND = 100_000;
+
+    private SnowflakeIdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new SnowflakeIdGenerator(1, 5_000, Clock.systemUTC());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String singleThread() {
+        return "ORD-" + generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String contended() {
+        return "ORD-" + generator.nextId();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(OrderNumberGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+        for (RunResult result : results) {
+            double score = result.getPrimaryResult().getScore();
+            if (score < TARGET_OPS_PER_SECOND) {
+                throw new IllegalStateException(String.format("%s reached %.0f ops/s, below the %.0f ops/s target",
+                        result.getParams().getBenchmark(), score, TARGET_OPS_PER_SECOND));
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.nahid.order.benchmark;
+
+import com.nahid.order.util.helper.UuidV7;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Rows per second inserted into a UUID-keyed table shaped like {@code orders}, with random (v4)
+ * versus time-ordered (v7) keys. The table is pre-filled so the primary-key index is larger than a
+ * handful of pages; the teardown prints the final index size, which shows the bloat from page
+ * splits under v4. Needs a local Postgres; run with {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=com.nahid.order.benchmark.UuidPrimaryKeyInsertBenchmark}
+ * and override the connection with {@code -Dbenchmark.jdbc.url}, {@code -Dbenchmark.jdbc.user} and
+ * {@code -Dbenchmark.jdbc.password}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class UuidPrimaryKeyInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int PREFILL_ROWS = 500_000;
+    private static final String TABLE = "uuid_insert_benchmark";
+
+    @Param({"v4", "v7"})
+    public String keyType;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> keys;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        keys = "v7".equals(keyType) ? UuidV7::randomUuid : UUID::randomUUID;
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/order_db"),
+                System.getProperty("benchmark.jdbc.user", "alibou"),
+                System.getProperty("benchmark.jdbc.password", "alibou"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " (id uuid PRIMARY KEY, order_number varchar(32) NOT NULL, "
+                    + "user_id bigint NOT NULL, total_amount numeric(10, 2) NOT NULL, created_at timestamp NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO " + TABLE
+                + " (id, order_number, user_id, total_amount, created_at) VALUES (?, ?, ?, ?, now())");
+        for (int i = 0; i < PREFILL_ROWS / BATCH_SIZE; i++) {
+            insertBatch();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            UUID id = keys.get();
+            insert.setObject(1, id);
+            insert.setString(2, "ORD-" + i);
+            insert.setLong(3, i);
+            insert.setBigDecimal(4, BigDecimal.TEN);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery("SELECT pg_size_pretty(pg_relation_size('" + TABLE + "_pkey')), "
+                     + "(SELECT count(*) FROM " + TABLE + ")")) {
+            size.next();
+            System.out.printf("%n%s: primary-key index %s for %d rows%n", keyType, size.getString(1), size.getLong(2));
+            statement.execute("DROP TABLE " + TABLE);
+            connection.commit();
+        } finally {
+            insert.close();
+            connection.close();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UuidPrimaryKeyInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
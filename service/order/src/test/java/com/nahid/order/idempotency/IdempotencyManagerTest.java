@@ -0,0 +1,212 @@
+package com.nahid.order.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nahid.order.config.IdempotencyProperties;
+import com.nahid.order.enums.IdempotencyStatus;
+import com.nahid.order.exception.IdempotencyConflictException;
+import com.nahid.order.exception.IdempotencyKeyReuseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IdempotencyManagerTest {
+
+    private static final String OPERATION = "create-order";
+    private static final String CALLER = "alice";
+    private static final String KEY = "retry-key";
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private IdempotencyManager idempotencyManager;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties properties = new IdempotencyProperties(60_000, 60_000, 5_000, 10, 100);
+        idempotencyManager = new IdempotencyManager(idempotencyRecordRepository, new ObjectMapper(), properties);
+        when(idempotencyRecordRepository.insertIfAbsent(anyString(), anyString(), any(), any(), any())).thenReturn(1);
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirstExecutionAndReplayItsResponse() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch handlerStarted = new CountDownLatch(1);
+        CountDownLatch releaseHandler = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ResponseEntity<?>> first = executor.submit(() -> idempotencyManager.execute(
+                    OPERATION, CALLER, KEY, Map.of("userId", 1), () -> {
+                        executions.incrementAndGet();
+                        handlerStarted.countDown();
+                        await(releaseHandler);
+                        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("orderId", "o-1"));
+                    }));
+            assertThat(handlerStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<ResponseEntity<?>> duplicate = executor.submit(() -> idempotencyManager.execute(
+                    OPERATION, CALLER, KEY, Map.of("userId", 1), () -> {
+                        executions.incrementAndGet();
+                        return ResponseEntity.ok().build();
+                    }));
+            releaseHandler.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            ResponseEntity<?> replayed = duplicate.get(5, TimeUnit.SECONDS);
+            assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+            assertThat(replayed.getHeaders().getFirst(IdempotencyManager.REPLAYED_HEADER)).isEqualTo("true");
+            assertThat(replayed.getBody()).isEqualTo("{\"orderId\":\"o-1\"}");
+        }
+        assertThat(executions).hasValue(1);
+        verify(idempotencyRecordRepository).complete(eq(OPERATION + ":" + CALLER + ":" + KEY),
+                eq(IdempotencyStatus.COMPLETED), eq(201), any(), eq("{\"orderId\":\"o-1\"}"), any());
+    }
+
+    @Test
+    void completedKeyReusedWithDifferentRequestIsRejected() {
+        idempotencyManager.execute(OPERATION, CALLER, KEY, Map.of("userId", 1),
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(Map.of("orderId", "o-1")));
+
+        assertThatThrownBy(() -> idempotencyManager.execute(OPERATION, CALLER, KEY, Map.of("userId", 2),
+                () -> ResponseEntity.ok().build()))
+                .isInstanceOf(IdempotencyKeyReuseException.class);
+    }
+
+    @Test
+    void failedExecutionReleasesTheKey() {
+        assertThatThrownBy(() -> idempotencyManager.execute(OPERATION, CALLER, KEY, Map.of("userId", 1), () -> {
+            throw new IllegalStateException("reservation failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        verify(idempotencyRecordRepository).release(OPERATION + ":" + CALLER + ":" + KEY, IdempotencyStatus.IN_PROGRESS);
+        verify(idempotencyRecordRepository, never()).complete(anyString(), any(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void unserializableResponseStillCompletesTheKeyWithStatusAndLocation() {
+        AtomicInteger executions = new AtomicInteger();
+        URI location = URI.create("/api/v1/orders/o-1");
+
+        // Jackson cannot write a bean without properties
+        ResponseEntity<?> response = idempotencyManager.execute(OPERATION, CALLER, KEY, Map.of("userId", 1), () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.created(location).body(new Object());
+        });
+        ResponseEntity<?> replayed = idempotencyManager.execute(OPERATION, CALLER, KEY, Map.of("userId", 1), () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok().build();
+        });
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(executions).hasValue(1);
+        assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replayed.getHeaders().getLocation()).isEqualTo(location);
+        assertThat(replayed.getBody()).isNull();
+        verify(idempotencyRecordRepository).complete(eq(OPERATION + ":" + CALLER + ":" + KEY),
+                eq(IdempotencyStatus.COMPLETED), eq(201), eq(location.toString()), isNull(), any());
+        verify(idempotencyRecordRepository, never()).release(anyString(), any());
+    }
+
+    @Test
+    void handlerOutlivingTheLeaseKeepsTheKeyFromBeingTakenOver() throws Exception {
+        String recordKey = OPERATION + ":" + CALLER + ":" + KEY;
+        AtomicReference<LocalDateTime> lockedUntil = new AtomicReference<>();
+        AtomicReference<String> requestHash = new AtomicReference<>();
+        // A single shared row, as both instances would see it in idempotency_keys
+        when(idempotencyRecordRepository.insertIfAbsent(eq(recordKey), anyString(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    if (!requestHash.compareAndSet(null, invocation.getArgument(1))) {
+                        return 0;
+                    }
+                    lockedUntil.set(invocation.getArgument(3));
+                    return 1;
+                });
+        when(idempotencyRecordRepository.findById(recordKey)).thenAnswer(invocation -> Optional.of(IdempotencyRecord.builder()
+                .recordKey(recordKey)
+                .requestHash(requestHash.get())
+                .status(IdempotencyStatus.IN_PROGRESS)
+                .lockedUntil(lockedUntil.get())
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build()));
+        when(idempotencyRecordRepository.takeOver(eq(recordKey), eq(IdempotencyStatus.IN_PROGRESS), any(), any()))
+                .thenAnswer(invocation -> {
+                    LocalDateTime now = invocation.getArgument(2);
+                    LocalDateTime current = lockedUntil.get();
+                    return current.isBefore(now) && lockedUntil.compareAndSet(current, invocation.getArgument(3)) ? 1 : 0;
+                });
+        when(idempotencyRecordRepository.renew(eq(recordKey), eq(IdempotencyStatus.IN_PROGRESS), any()))
+                .thenAnswer(invocation -> {
+                    lockedUntil.set(invocation.getArgument(2));
+                    return 1;
+                });
+
+        IdempotencyProperties shortLease = new IdempotencyProperties(60_000, 150, 100, 10, 100);
+        IdempotencyManager owner = new IdempotencyManager(idempotencyRecordRepository, new ObjectMapper(), shortLease);
+        IdempotencyManager otherInstance = new IdempotencyManager(idempotencyRecordRepository, new ObjectMapper(), shortLease);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch releaseHandler = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ResponseEntity<?>> first = executor.submit(() -> owner.execute(
+                    OPERATION, CALLER, KEY, Map.of("userId", 1), () -> {
+                        executions.incrementAndGet();
+                        await(releaseHandler);
+                        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("orderId", "o-1"));
+                    }));
+            // Well past the original lease
+            Thread.sleep(600);
+
+            assertThatThrownBy(() -> otherInstance.execute(OPERATION, CALLER, KEY, Map.of("userId", 1), () -> {
+                executions.incrementAndGet();
+                return ResponseEntity.ok().build();
+            })).isInstanceOf(IdempotencyConflictException.class);
+
+            releaseHandler.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        } finally {
+            owner.shutdown();
+            otherInstance.shutdown();
+        }
+        assertThat(executions).hasValue(1);
+        verify(idempotencyRecordRepository, atLeastOnce()).renew(eq(recordKey), eq(IdempotencyStatus.IN_PROGRESS), any());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.nahid.order.numbering;
+
+import com.nahid.order.config.OrderNumberProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.cloud.netflix.eureka.EurekaInstanceConfigBean;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class OrderNumberNodeLeaseTest {
+
+    private static final long LEASE_MS = 300_000;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private OrderNumberNodeRepository orderNumberNodeRepository;
+
+    @Test
+    void runningInstancesLeaseDifferentNodeIds() {
+        OrderNumberNodeLease first = lease("", LEASE_MS);
+        OrderNumberNodeLease second = lease("", LEASE_MS);
+
+        assertThat(first.getNodeId()).isZero();
+        assertThat(second.getNodeId()).isEqualTo(1);
+    }
+
+    @Test
+    void releasedNodeIdGoesToTheNextInstance() {
+        OrderNumberNodeLease stopped = lease("", LEASE_MS);
+        stopped.release();
+
+        assertThat(lease("", LEASE_MS).getNodeId()).isEqualTo(stopped.getNodeId());
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverAndRenewalKeepsTheOthersOut() {
+        // A lease that is already over, as for an instance that died without releasing its id
+        OrderNumberNodeLease dead = lease("", -1);
+        OrderNumberNodeLease replacement = lease("", LEASE_MS);
+        replacement.renew();
+
+        assertThat(replacement.getNodeId()).isEqualTo(dead.getNodeId());
+        assertThat(lease("", LEASE_MS).getNodeId()).isNotEqualTo(replacement.getNodeId());
+    }
+
+    @Test
+    void configuredNodeIdIsUsedWithoutLeasing() {
+        OrderNumberNodeLease configured = lease("7", LEASE_MS);
+        configured.renew();
+
+        assertThat(configured.getNodeId()).isEqualTo(7);
+        assertThat(orderNumberNodeRepository.count()).isZero();
+    }
+
+    private OrderNumberNodeLease lease(String nodeId, long leaseMs) {
+        OrderNumberProperties properties = new OrderNumberProperties(nodeId, 5_000, leaseMs,
+                new StaticListableBeanFactory().getBeanProvider(EurekaInstanceConfigBean.class));
+        return new OrderNumberNodeLease(properties, orderNumberNodeRepository);
+    }
+
+    // OrderApplication enables Feign clients, which this JPA slice does not provide
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = OrderNumberNode.class)
+    @EnableJpaRepositories(basePackageClasses = OrderNumberNodeRepository.class)
+    static class JpaSliceConfiguration {
+    }
+}
@@ -0,0 +1,120 @@
+package com.nahid.order.repository;
+
+import com.nahid.order.entity.Order;
+import com.nahid.order.entity.OrderItem;
+import com.nahid.order.entity.ShippingAddress;
+import com.nahid.order.enums.OrderStatus;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class OrderBatchInsertTest {
+
+    private static final int ITEMS = 100;
+    private static final int BATCH_SIZE = 50;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void clearStatistics() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void hundredItemOrderIsInsertedInBatches() {
+        orderRepository.save(order("ORD-100", ITEMS));
+        entityManager.flush();
+
+        // UUIDv7 ids need no sequence calls, so this is one insert for the order and one per batch of items;
+        // without batching every item would be its own statement
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + ITEMS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + ITEMS / BATCH_SIZE);
+    }
+
+    @Test
+    void bulkOrdersSavedTogetherShareTheirBatches() {
+        // Mirrors BulkOrderServiceImpl.persist: order_inserts groups the orders and the items across orders
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            orders.add(order("ORD-BULK-" + i, ITEMS / 10));
+        }
+        orderRepository.saveAll(orders);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(orders.size() + ITEMS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + ITEMS / BATCH_SIZE);
+    }
+
+    private Order order(String orderNumber, int items) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumber);
+        order.setUserId(1L);
+        order.setStatus(OrderStatus.PENDING);
+        order.setCurrency("USD");
+        order.setTotalAmount(new BigDecimal("9.99").multiply(BigDecimal.valueOf(items)));
+        order.setShippingAddress(ShippingAddress.builder()
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .streetAddress("12 Analytical Way")
+                .city("London")
+                .postalCode("NW1")
+                .country("UK")
+                .build());
+        for (int i = 0; i < items; i++) {
+            order.addOrderItem(OrderItem.builder()
+                    .productId((long) i + 1)
+                    .productName("Product " + (i + 1))
+                    .productSku("SKU-" + (i + 1))
+                    .quantity(1)
+                    .unitPrice(new BigDecimal("9.99"))
+                    .totalPrice(new BigDecimal("9.99"))
+                    .build());
+        }
+        return order;
+    }
+
+    // OrderApplication enables Feign clients, which this JPA slice does not provide
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Order.class)
+    @EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+    static class JpaSliceConfiguration {
+    }
+}
@@ -0,0 +1,120 @@
+package com.nahid.order.repository;
+
+import com.nahid.order.dto.request.OrderDto;
+import com.nahid.order.entity.Order;
+import com.nahid.order.entity.OrderItem;
+import com.nahid.order.entity.ShippingAddress;
+import com.nahid.order.enums.OrderStatus;
+import com.nahid.order.mapper.OrderMapper;
+import com.nahid.order.mapper.OrderMapperImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(OrderMapperImpl.class)
+class OrderStreamQueryCountTest {
+
+    private static final int ORDERS = 5;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seedOrders() {
+        for (int o = 0; o < ORDERS; o++) {
+            Order order = new Order();
+            order.setOrderNumber("ORD-" + o);
+            order.setUserId(1L);
+            order.setStatus(OrderStatus.CONFIRMED);
+            order.setCurrency("USD");
+            order.setTotalAmount(new BigDecimal("29.97"));
+            order.setShippingAddress(ShippingAddress.builder()
+                    .firstName("Ada")
+                    .lastName("Lovelace")
+                    .streetAddress("12 Analytical Way")
+                    .city("London")
+                    .postalCode("NW1")
+                    .country("UK")
+                    .build());
+            for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                order.addOrderItem(OrderItem.builder()
+                        .productId((long) i + 1)
+                        .productName("Product " + (i + 1))
+                        .productSku("SKU-" + (i + 1))
+                        .quantity(1)
+                        .unitPrice(new BigDecimal("9.99"))
+                        .totalPrice(new BigDecimal("9.99"))
+                        .build());
+            }
+            orderRepository.save(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void streamingOrdersWithTheirItemsUsesOneSelect() {
+        List<OrderDto> exported = new ArrayList<>();
+        try (Stream<Order> orders = orderRepository.streamByStatusOrderByCreatedAtDescIdDesc(OrderStatus.CONFIRMED)) {
+            orders.forEach(order -> {
+                exported.add(orderMapper.toDto(order));
+                entityManager.detach(order);
+            });
+        }
+
+        assertThat(exported).hasSize(ORDERS);
+        assertThat(exported).extracting(OrderDto::getOrderNumber).doesNotHaveDuplicates();
+        assertThat(exported).allSatisfy(order -> assertThat(order.getOrderItems()).hasSize(ITEMS_PER_ORDER));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // OrderApplication enables Feign clients, which this JPA slice does not provide
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Order.class)
+    @EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+    static class JpaSliceConfiguration {
+    }
+}
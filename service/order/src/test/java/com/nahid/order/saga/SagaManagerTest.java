@@ -0,0 +1,210 @@
+package com.nahid.order.saga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nahid.order.config.OrderSagaProperties;
+import com.nahid.order.dto.request.CreateOrderRequest;
+import com.nahid.order.dto.response.PurchaseProductItemResultDto;
+import com.nahid.order.dto.response.PurchaseProductResponseDto;
+import com.nahid.order.entity.OrderSaga;
+import com.nahid.order.enums.SagaStatus;
+import com.nahid.order.exception.OrderProcessingException;
+import com.nahid.order.mapper.OrderMapper;
+import com.nahid.order.producer.OrderEventPublisher;
+import com.nahid.order.repository.OrderRepository;
+import com.nahid.order.repository.OrderSagaRepository;
+import com.nahid.order.repository.OrderSagaStepLogRepository;
+import com.nahid.order.service.OrderItemFactory;
+import com.nahid.order.service.OrderNumberService;
+import com.nahid.order.service.ProductPurchaseService;
+import com.nahid.order.service.UserValidationService;
+import com.nahid.order.util.constant.ExceptionMessageConstant;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SagaManagerTest {
+
+    private static final String ORDER_NUMBER = "ORD-1";
+    private static final long USER_ID = 42L;
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    @Mock
+    private OrderSagaRepository sagaRepository;
+    @Mock
+    private OrderSagaStepLogRepository stepLogRepository;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderMapper orderMapper;
+    @Mock
+    private OrderItemFactory orderItemFactory;
+    @Mock
+    private OrderNumberService orderNumberService;
+    @Mock
+    private ProductPurchaseService productPurchaseService;
+    @Mock
+    private UserValidationService userValidationService;
+    @Mock
+    private OrderEventPublisher orderEventPublisher;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<UUID, OrderSaga> sagas = new HashMap<>();
+    private ExecutorService executor;
+    private SagaManager sagaManager;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        OrderSagaProperties properties = new OrderSagaProperties(3, 100, 1_000, 60_000, 50, 5_000);
+        sagaManager = new SagaManager(sagaRepository, stepLogRepository, orderRepository, orderMapper, orderItemFactory,
+                orderNumberService, productPurchaseService, userValidationService, orderEventPublisher,
+                new ObjectMapper().findAndRegisterModules(), executor, properties,
+                new TransactionTemplate(transactionManager));
+
+        when(orderNumberService.generateOrderNumber()).thenReturn(ORDER_NUMBER);
+        when(sagaRepository.save(any())).thenAnswer(invocation -> {
+            OrderSaga saga = invocation.getArgument(0);
+            if (saga.getId() == null) {
+                saga.setId(UUID.randomUUID());
+            }
+            sagas.put(saga.getId(), saga);
+            return saga;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void userValidationRunsWhileProductsAreReserved() {
+        CountDownLatch reservationStarted = new CountDownLatch(1);
+        CountDownLatch validationStarted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            validationStarted.countDown();
+            // Would time out if validation only started after the reservation returned
+            assertThat(reservationStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            throw new OrderProcessingException(ExceptionMessageConstant.USER_SUSPENDED);
+        }).when(userValidationService).validateUserForOrder(USER_ID);
+        when(productPurchaseService.reserveProducts(any(), anyString())).thenAnswer(invocation -> {
+            reservationStarted.countDown();
+            assertThat(validationStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            return reservation();
+        });
+
+        OrderSaga saga = run();
+
+        assertThat(saga.getStatus()).isEqualTo(SagaStatus.COMPENSATED);
+        assertThat(saga.getFailureReason()).isEqualTo(ExceptionMessageConstant.USER_SUSPENDED);
+    }
+
+    @Test
+    void failedUserValidationReleasesTheReservation() {
+        doThrow(new OrderProcessingException(ExceptionMessageConstant.USER_BLOCKED))
+                .when(userValidationService).validateUserForOrder(USER_ID);
+        when(productPurchaseService.reserveProducts(any(), anyString())).thenReturn(reservation());
+
+        OrderSaga saga = run();
+
+        assertThat(saga.getStatus()).isEqualTo(SagaStatus.COMPENSATED);
+        assertThat(saga.getStepIndex()).isZero();
+        verify(productPurchaseService).releaseReservation(ORDER_NUMBER);
+        verify(productPurchaseService, never()).confirmReservation(anyString());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void transientFailureParksTheSagaForRetry() {
+        when(productPurchaseService.reserveProducts(any(), anyString())).thenThrow(serviceUnavailable());
+
+        OrderSaga saga = run();
+
+        assertThat(saga.getStatus()).isEqualTo(SagaStatus.IN_PROGRESS);
+        assertThat(saga.getStepIndex()).isZero();
+        assertThat(saga.getAttempts()).isEqualTo(1);
+        assertThat(saga.getLockedUntil()).isNull();
+        assertThat(saga.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        verify(productPurchaseService, never()).releaseReservation(anyString());
+    }
+
+    @Test
+    void failingCompensationIsRetriedInsteadOfSwallowed() {
+        doThrow(new OrderProcessingException(ExceptionMessageConstant.USER_BLOCKED))
+                .when(userValidationService).validateUserForOrder(USER_ID);
+        when(productPurchaseService.reserveProducts(any(), anyString())).thenReturn(reservation());
+        doThrow(serviceUnavailable()).when(productPurchaseService).releaseReservation(ORDER_NUMBER);
+
+        OrderSaga saga = run();
+
+        assertThat(saga.getStatus()).isEqualTo(SagaStatus.COMPENSATING);
+        assertThat(saga.getStepIndex()).isEqualTo(1);
+        assertThat(saga.getAttempts()).isEqualTo(1);
+    }
+
+    private OrderSaga run() {
+        UUID sagaId = sagaManager.start(request()).getId();
+        sagaManager.awaitRun(sagaId, WAIT);
+        return sagas.get(sagaId);
+    }
+
+    private static FeignException serviceUnavailable() {
+        Request request = Request.create(Request.HttpMethod.POST, "/api/v1/products/inventory/reservations",
+                Map.of(), new byte[0], StandardCharsets.UTF_8, null);
+        return FeignException.errorStatus("reserveInventory", Response.builder()
+                .status(503)
+                .reason("Service Unavailable")
+                .request(request)
+                .headers(Map.of())
+                .build());
+    }
+
+    private static CreateOrderRequest request() {
+        return CreateOrderRequest.builder()
+                .userId(USER_ID)
+                .currency("USD")
+                .orderItems(List.of())
+                .build();
+    }
+
+    private static PurchaseProductResponseDto reservation() {
+        return PurchaseProductResponseDto.builder()
+                .orderReference(ORDER_NUMBER)
+                .items(List.of(new PurchaseProductItemResultDto()))
+                .build();
+    }
+}
@@ -0,0 +1,332 @@
+package com.nahid.order.service.impl;
+
+import com.nahid.order.config.BulkOrderProperties;
+import com.nahid.order.dto.request.CreateOrderItemRequest;
+import com.nahid.order.dto.request.CreateOrderRequest;
+import com.nahid.order.dto.response.BulkOrderResponseDto;
+import com.nahid.order.dto.response.BulkOrderResultDto;
+import com.nahid.order.dto.response.PurchaseProductResponseDto;
+import com.nahid.order.dto.response.ReservationResultDto;
+import com.nahid.order.entity.Order;
+import com.nahid.order.entity.OrderItem;
+import com.nahid.order.entity.OrderSaga;
+import com.nahid.order.enums.SagaStatus;
+import com.nahid.order.exception.OrderProcessingException;
+import com.nahid.order.mapper.OrderMapper;
+import com.nahid.order.repository.OrderRepository;
+import com.nahid.order.repository.OrderSagaRepository;
+import com.nahid.order.saga.SagaManager;
+import com.nahid.order.service.OrderItemFactory;
+import com.nahid.order.service.OrderNumberService;
+import com.nahid.order.service.ProductPurchaseService;
+import com.nahid.order.service.UserValidationService;
+import com.nahid.order.util.constant.ExceptionMessageConstant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkOrderServiceImplTest {
+
+    private static final int CHUNK_SIZE = 50;
+
+    @Mock
+    private UserValidationService userValidationService;
+    @Mock
+    private ProductPurchaseService productPurchaseService;
+    @Mock
+    private OrderNumberService orderNumberService;
+    @Mock
+    private OrderItemFactory orderItemFactory;
+    @Mock
+    private OrderMapper orderMapper;
+    @Mock
+    private OrderRepository orderRepository;
+    @Mock
+    private OrderSagaRepository orderSagaRepository;
+    @Mock
+    private SagaManager sagaManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Captor
+    private ArgumentCaptor<Collection<String>> releasedCaptor;
+
+    private final Queue<Integer> reservationCallSizes = new ConcurrentLinkedQueue<>();
+    private ExecutorService executor;
+    private BulkOrderServiceImpl bulkOrderService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4, Thread.ofVirtual().factory());
+        bulkOrderService = new BulkOrderServiceImpl(userValidationService, productPurchaseService, orderNumberService,
+                orderItemFactory, orderMapper, orderRepository, orderSagaRepository, sagaManager,
+                new TransactionTemplate(transactionManager), executor, new BulkOrderProperties(CHUNK_SIZE, 4));
+
+        // Orders are numbered in request order as long as they fit in one chunk
+        AtomicInteger orderNumbers = new AtomicInteger();
+        when(orderNumberService.generateOrderNumber()).thenAnswer(invocation -> "ORD-" + orderNumbers.incrementAndGet());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void validatesEachUserOnceAndReservesInGroupedCalls() {
+        reserveAll(request -> false);
+        storeAll();
+        confirmAll();
+
+        BulkOrderResponseDto response = bulkOrderService.createOrders(requests(120, 3));
+
+        verify(userValidationService, times(3)).validateUserForOrder(anyLong());
+        verify(productPurchaseService, times(3)).reserveProducts(anyMap());
+        verify(productPurchaseService, times(3)).confirmReservations(anyCollection());
+        assertThat(reservationCallSizes).containsExactlyInAnyOrder(50, 50, 20);
+        assertThat(response.getCompleted()).isEqualTo(120);
+        assertThat(response.getResults()).extracting(BulkOrderResultDto::getIndex)
+                .containsExactlyElementsOf(indices(120));
+        verify(productPurchaseService, never()).releaseReservations(anyCollection());
+    }
+
+    @Test
+    void ordersOfAnInvalidUserFailWithoutBeingReserved() {
+        doAnswer(invocation -> {
+            if (invocation.<Long>getArgument(0) == 2L) {
+                throw new OrderProcessingException(ExceptionMessageConstant.USER_BLOCKED);
+            }
+            return null;
+        }).when(userValidationService).validateUserForOrder(anyLong());
+        reserveAll(request -> false);
+        storeAll();
+        confirmAll();
+
+        BulkOrderResponseDto response = bulkOrderService.createOrders(requests(9, 3));
+
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getCompleted()).isEqualTo(6);
+        assertThat(response.getResults()).filteredOn(result -> result.getStatus() == SagaStatus.FAILED)
+                .extracting(BulkOrderResultDto::getIndex, BulkOrderResultDto::getFailureReason)
+                .containsExactly(
+                        tuple(1, ExceptionMessageConstant.USER_BLOCKED),
+                        tuple(4, ExceptionMessageConstant.USER_BLOCKED),
+                        tuple(7, ExceptionMessageConstant.USER_BLOCKED));
+        assertThat(reservationCallSizes).containsExactly(6);
+    }
+
+    @Test
+    void ordersWithUnavailableProductsFailAndTheRestAreCreated() {
+        reserveAll(request -> request.getUserId() == 1L);
+        storeAll();
+        confirmAll();
+
+        BulkOrderResponseDto response = bulkOrderService.createOrders(requests(4, 2));
+
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getCompleted()).isEqualTo(2);
+        assertThat(response.getResults()).filteredOn(result -> result.getStatus() == SagaStatus.FAILED)
+                .extracting(BulkOrderResultDto::getFailureReason)
+                .containsOnly("Out of stock");
+        // Nothing was reserved for them, so there is nothing to release
+        verify(productPurchaseService, never()).releaseReservations(anyCollection());
+    }
+
+    @Test
+    void failedReservationCallFailsTheChunkAndReleasesWhatItMayHaveReserved() {
+        when(productPurchaseService.reserveProducts(anyMap()))
+                .thenThrow(new OrderProcessingException("Product service unavailable"));
+
+        BulkOrderResponseDto response = bulkOrderService.createOrders(requests(3, 1));
+
+        assertThat(response.getFailed()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(BulkOrderResultDto::getFailureReason)
+                .containsOnly("Product service unavailable");
+        verify(productPurchaseService).releaseReservations(releasedCaptor.capture());
+        assertThat(releasedCaptor.getValue()).containsExactlyInAnyOrder("ORD-1", "ORD-2", "ORD-3");
+        verifyNoInteractions(orderRepository, orderSagaRepository);
+    }
+
+    @Test
+    void orderThatCannotBeBuiltIsReleasedAndTheRestAreCreated() {
+        reserveAll(request -> false);
+        when(orderMapper.toEntity(any(CreateOrderRequest.class))).thenAnswer(invocation -> new Order());
+        persistAll(order -> false);
+        confirmAll();
+        when(orderItemFactory.createOrderItems(any(), any())).thenAnswer(invocation -> {
+            List<CreateOrderItemRequest> items = invocation.getArgument(0);
+            if (items.get(0).getProductId() == 1L) {
+                throw new OrderProcessingException(String.format(ExceptionMessageConstant.PRODUCT_RESERVATION_FAILED, 1));
+            }
+            return List.of(OrderItem.builder().totalPrice(BigDecimal.TEN).build());
+        });
+
+        BulkOrderResponseDto response = bulkOrderService.createOrders(requests(3, 1));
+
+        assertThat(response.getCompleted()).isEqualTo(2);
+        assertThat(response.getResults().get(1).getStatus()).isEqualTo(SagaStatus.FAILED);
+        verify(productPurchaseService).releaseReservations(releasedCaptor.capture());
+        assertThat(releasedCaptor.getValue()).containsExactly("ORD-2");
+    }
+
+    @Test
+    void failedBatchedInsertIsRetriedOneByOneAndOnlyTheBadOrderFails() {
+        reserveAll(request -> false);
+        buildAll();
+        // Any batch containing ORD-3 fails, as a constraint violation would
+        persistAll(order -> "ORD-3".equals(order.getOrderNumber()));
+        confirmAll();
+
+        BulkOrderResponseDto response = bulkOrderService.createOrders(requests(4, 1));
+
+        verify(orderRepository, times(5)).saveAll(any());
+        assertThat(response.getCompleted()).isEqualTo(3);
+        BulkOrderResultDto failed = response.getResults().get(2);
+        assertThat(failed.getStatus()).isEqualTo(SagaStatus.FAILED);
+        assertThat(failed.getOrderNumber()).isEqualTo("ORD-3");
+        assertThat(failed.getFailureReason()).startsWith(String.format(ExceptionMessageConstant.ORDER_CREATION_FAILED, ""));
+        verify(productPurchaseService).releaseReservations(releasedCaptor.capture());
+        assertThat(releasedCaptor.getValue()).containsExactly("ORD-3");
+    }
+
+    @Test
+    void unconfirmedOrdersAreLeftToSagaRecovery() {
+        reserveAll(request -> false);
+        storeAll();
+        when(productPurchaseService.confirmReservations(anyCollection())).thenReturn(Set.of());
+        when(sagaManager.completeConfirmed(anyMap())).thenReturn(true);
+
+        BulkOrderResponseDto response = bulkOrderService.createOrders(requests(5, 1));
+
+        assertThat(response.getInProgress()).isEqualTo(5);
+        assertThat(response.getResults()).allSatisfy(result -> {
+            assertThat(result.getStatus()).isEqualTo(SagaStatus.IN_PROGRESS);
+            assertThat(result.getSagaId()).isNotNull();
+            assertThat(result.getOrderId()).isNotNull();
+        });
+    }
+
+    @Test
+    void confirmedOrdersWhoseSagasCouldNotBeCompletedStayInProgress() {
+        reserveAll(request -> false);
+        storeAll();
+        when(productPurchaseService.confirmReservations(anyCollection()))
+                .thenAnswer(invocation -> new HashSet<>(invocation.<Collection<String>>getArgument(0)));
+        // Another instance's recovery took the leases over in the meantime
+        when(sagaManager.completeConfirmed(anyMap())).thenReturn(false);
+
+        BulkOrderResponseDto response = bulkOrderService.createOrders(requests(5, 1));
+
+        assertThat(response.getInProgress()).isEqualTo(5);
+        assertThat(response.getCompleted()).isZero();
+        verify(productPurchaseService, never()).releaseReservations(anyCollection());
+    }
+
+    private void reserveAll(Predicate<CreateOrderRequest> outOfStock) {
+        when(productPurchaseService.reserveProducts(anyMap())).thenAnswer(invocation -> {
+            Map<String, CreateOrderRequest> requests = invocation.getArgument(0);
+            reservationCallSizes.add(requests.size());
+            Map<String, ReservationResultDto> results = new HashMap<>();
+            requests.forEach((orderNumber, request) -> results.put(orderNumber, outOfStock.test(request)
+                    ? ReservationResultDto.builder().orderReference(orderNumber).success(false).message("Out of stock").build()
+                    : ReservationResultDto.builder()
+                            .orderReference(orderNumber)
+                            .success(true)
+                            .reservation(PurchaseProductResponseDto.builder().orderReference(orderNumber).items(List.of()).build())
+                            .build()));
+            return results;
+        });
+    }
+
+    private void storeAll() {
+        buildAll();
+        persistAll(order -> false);
+    }
+
+    private void buildAll() {
+        when(orderMapper.toEntity(any(CreateOrderRequest.class))).thenAnswer(invocation -> new Order());
+        when(orderItemFactory.createOrderItems(any(), any()))
+                .thenAnswer(invocation -> List.of(OrderItem.builder().totalPrice(BigDecimal.TEN).build()));
+    }
+
+    private void persistAll(Predicate<Order> rejected) {
+        when(orderRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            if (orders.stream().anyMatch(rejected)) {
+                throw new DataIntegrityViolationException("duplicate key value violates unique constraint");
+            }
+            orders.forEach(order -> order.setId(UUID.randomUUID()));
+            return orders;
+        });
+        when(sagaManager.awaitingConfirmation(any(), any(), any())).thenAnswer(invocation -> new OrderSaga());
+        when(orderSagaRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<OrderSaga> sagas = invocation.getArgument(0);
+            sagas.forEach(saga -> saga.setId(UUID.randomUUID()));
+            return sagas;
+        });
+    }
+
+    private void confirmAll() {
+        when(productPurchaseService.confirmReservations(anyCollection()))
+                .thenAnswer(invocation -> new HashSet<>(invocation.<Collection<String>>getArgument(0)));
+        when(sagaManager.completeConfirmed(anyMap())).thenReturn(true);
+    }
+
+    // Request i belongs to user (i % users) + 1 and orders product i
+    private static List<CreateOrderRequest> requests(int count, int users) {
+        List<CreateOrderRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(CreateOrderRequest.builder()
+                    .userId((long) (i % users) + 1)
+                    .currency("USD")
+                    .orderItems(List.of(CreateOrderItemRequest.builder().productId((long) i).quantity(1).build()))
+                    .build());
+        }
+        return requests;
+    }
+
+    private static List<Integer> indices(int count) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            indices.add(i);
+        }
+        return indices;
+    }
+}
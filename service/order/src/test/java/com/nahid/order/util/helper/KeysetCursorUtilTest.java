@@ -0,0 +1,82 @@
+package com.nahid.order.util.helper;
+
+import com.nahid.order.dto.response.CursorPageDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorUtilTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_000_000);
+
+    @Test
+    void cursorOfTheLastItemDecodesToItsKeys() {
+        List<UUID> ids = List.of(UUID.fromString("0195f3a2-7b1c-7d2e-8f30-4a5b6c7d8e9f"), UUID.fromString("0195f3a2-7b1c-7d2e-8f30-4a5b6c7d8ea0"));
+        Window<UUID> window = Window.from(ids, index -> position(CREATED_AT.minusMinutes(index), ids.get(index)), true);
+
+        CursorPageDto<UUID> page = KeysetCursorUtil.toPage(window);
+        ScrollPosition decoded = KeysetCursorUtil.decode(page.getNextCursor(), UUID::fromString);
+
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getItems()).containsExactlyElementsOf(ids);
+        assertThat(decoded).isInstanceOf(KeysetScrollPosition.class);
+        assertThat(((KeysetScrollPosition) decoded).getKeys())
+                .containsExactly(Map.entry("createdAt", CREATED_AT.minusMinutes(1)), Map.entry("id", UUID.fromString("0195f3a2-7b1c-7d2e-8f30-4a5b6c7d8ea0")));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        Window<UUID> window = Window.from(List.of(UUID.fromString("0195f3a2-7b1c-7d2e-8f30-4a5b6c7d8e9f")), index -> position(CREATED_AT, UUID.fromString("0195f3a2-7b1c-7d2e-8f30-4a5b6c7d8e9f")), false);
+
+        CursorPageDto<UUID> page = KeysetCursorUtil.toPage(window);
+
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.isHasNext()).isFalse();
+    }
+
+    @Test
+    void missingCursorStartsFromTheNewest() {
+        assertThat(KeysetCursorUtil.decode(null, UUID::fromString).isInitial()).isTrue();
+        assertThat(KeysetCursorUtil.decode("  ", UUID::fromString).isInitial()).isTrue();
+    }
+
+    @Test
+    void malformedCursorIsRejectedAsInvalid() {
+        for (String cursor : List.of("not base64!", encode("no-separator"), encode("yesterday|" + UUID.fromString("0195f3a2-7b1c-7d2e-8f30-4a5b6c7d8e9f")),
+                encode(CREATED_AT + "|not-an-id"))) {
+            assertThatThrownBy(() -> KeysetCursorUtil.decode(cursor, UUID::fromString))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Invalid pagination cursor");
+        }
+    }
+
+    @Test
+    void pageSizeIsClampedToOneThroughTheMaximum() {
+        assertThat(KeysetCursorUtil.pageSize(0)).isEqualTo(1);
+        assertThat(KeysetCursorUtil.pageSize(20)).isEqualTo(20);
+        assertThat(KeysetCursorUtil.pageSize(10_000)).isEqualTo(KeysetCursorUtil.MAX_PAGE_SIZE);
+    }
+
+    private static ScrollPosition position(LocalDateTime createdAt, UUID id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdAt", createdAt);
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
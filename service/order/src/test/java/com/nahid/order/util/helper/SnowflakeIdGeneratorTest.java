@@ -0,0 +1,139 @@
+package com.nahid.order.util.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    @Test
+    void concurrentCallersNeverReceiveTheSameIdAndEachSeesIncreasingIds() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, 5_000, Clock.systemUTC());
+        Set<Long> ids = ConcurrentHashMap.newKeySet(THREADS * IDS_PER_THREAD);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<Boolean>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    long previous = -1;
+                    boolean increasing = true;
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        long id = generator.nextId();
+                        increasing &= id > previous;
+                        previous = id;
+                        ids.add(id);
+                    }
+                    return increasing;
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> worker : workers) {
+                assertThat(worker.get(60, TimeUnit.SECONDS)).isTrue();
+            }
+        }
+
+        assertThat(ids).hasSize(THREADS * IDS_PER_THREAD);
+    }
+
+    @Test
+    void idsFromDifferentNodesInTheSameMillisecondDiffer() {
+        Clock frozen = Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC);
+        SnowflakeIdGenerator first = new SnowflakeIdGenerator(1, 5_000, frozen);
+        SnowflakeIdGenerator second = new SnowflakeIdGenerator(2, 5_000, frozen);
+
+        long a = first.nextId();
+        long b = second.nextId();
+
+        assertThat(a).isNotEqualTo(b);
+        assertThat(SnowflakeIdGenerator.nodeIdOf(a)).isEqualTo(1);
+        assertThat(SnowflakeIdGenerator.nodeIdOf(b)).isEqualTo(2);
+    }
+
+    @Test
+    void exhaustedSequenceWaitsForTheNextMillisecond() {
+        // Advances 100 ns per read, so 4096 ids take well under a millisecond of clock time
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, 5_000,
+                new MutableClock(Instant.parse("2026-01-01T00:00:00Z"), 100));
+        long previous = -1;
+        for (int i = 0; i < 3 * 4096; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+    }
+
+    @Test
+    void clockSteppingBackNeverRepeatsAnIdAndStopsBeyondTheAllowedDrift() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:10Z"), 0);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(4, 1_000, clock);
+        long beforeRollback = generator.nextId();
+
+        clock.set(Instant.parse("2026-01-01T00:00:09.500Z"));
+        long afterRollback = generator.nextId();
+        assertThat(afterRollback).isGreaterThan(beforeRollback);
+
+        clock.set(Instant.parse("2026-01-01T00:00:08Z"));
+        assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class);
+
+        clock.set(Instant.parse("2026-01-01T00:00:11Z"));
+        assertThat(generator.nextId()).isGreaterThan(afterRollback);
+    }
+
+    @Test
+    void rejectsNodeIdsOutsideTenBits() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(1024, 5_000, Clock.systemUTC()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private final long tickNanos;
+        private volatile Instant now;
+
+        private MutableClock(Instant now, long tickNanos) {
+            this.now = now;
+            this.tickNanos = tickNanos;
+        }
+
+        private void set(Instant instant) {
+            this.now = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            Instant current = now;
+            now = current.plusNanos(tickNanos);
+            return current;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.nahid.order.util.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+
+    @Test
+    void carriesVersionSevenVariantAndCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.randomUuid();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void consecutiveIdsSortInCreationOrder() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(UuidV7.randomUuid());
+        }
+
+        // Postgres compares uuid values as unsigned bytes, i.e. by their string form
+        List<String> asText = ids.stream().map(UUID::toString).toList();
+        assertThat(asText).isSorted().doesNotHaveDuplicates();
+    }
+}
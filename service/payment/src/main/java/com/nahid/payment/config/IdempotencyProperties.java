@@ -0,0 +1,37 @@
+package com.nahid.payment.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-key settings. Completed keys are replayed for {@code ttl-ms}, the most recent
+ * {@code cache-max-entries} of them from memory. A duplicate waits up to {@code wait-timeout-ms} for
+ * the first execution, checking other instances' progress every {@code poll-interval-ms}.
+ * The owner of a key renews its {@code lease-ms} lease every third of it while the request runs, so
+ * the lease only bounds how long a key stays claimed after its owner stops.
+ */
+@Getter
+@Component
+public class IdempotencyProperties {
+
+    private final Duration ttl;
+    private final Duration lease;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+    private final long cacheMaxEntries;
+
+    public IdempotencyProperties(@Value("${idempotency.ttl-ms:86400000}") long ttlMs,
+                                 @Value("${idempotency.lease-ms:60000}") long leaseMs,
+                                 @Value("${idempotency.wait-timeout-ms:30000}") long waitTimeoutMs,
+                                 @Value("${idempotency.poll-interval-ms:100}") long pollIntervalMs,
+                                 @Value("${idempotency.cache-max-entries:10000}") long cacheMaxEntries) {
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.lease = Duration.ofMillis(leaseMs);
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMs);
+        this.pollInterval = Duration.ofMillis(Math.max(1, pollIntervalMs));
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+}
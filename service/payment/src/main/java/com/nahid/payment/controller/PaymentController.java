@@ -1,19 +1,27 @@
 package com.nahid.payment.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nahid.payment.dto.request.PaymentRequestDto;
 import com.nahid.payment.dto.response.ApiResponse;
+import com.nahid.payment.dto.response.CursorPageDto;
 import com.nahid.payment.dto.response.PaymentResponseDto;
 import com.nahid.payment.enums.PaymentStatus;
+import com.nahid.payment.idempotency.IdempotencyManager;
 import com.nahid.payment.service.PaymentService;
 import com.nahid.payment.util.constant.ApiResponseConstant;
 import com.nahid.payment.util.constant.AppConstant;
 import com.nahid.payment.util.helper.ApiResponseUtil;
+import com.nahid.payment.util.helper.AuthContextUtil;
+import com.nahid.payment.util.helper.JsonStreamUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -25,16 +33,25 @@ import java.util.UUID;
 @Slf4j
 public class PaymentController {
 
+    private static final String PROCESS_PAYMENT_OPERATION = "process-payment";
+
     private final PaymentService paymentService;
+    private final IdempotencyManager idempotencyManager;
+    private final ObjectMapper objectMapper;
 
+    // Retries carrying the same Idempotency-Key get the first response back instead of charging again
     @PostMapping
-    public ResponseEntity<ApiResponse<PaymentResponseDto>> processPayment(@Valid @RequestBody PaymentRequestDto requestDto) {
-        PaymentResponseDto response = paymentService.processPayment(requestDto);
-        return ApiResponseUtil.success(
-                response,
-                String.format(ApiResponseConstant.CREATE_SUCCESSFUL, AppConstant.PAYMENT),
-                HttpStatus.CREATED
-        );
+    public ResponseEntity<?> processPayment(
+            @Valid @RequestBody PaymentRequestDto requestDto,
+            @RequestHeader(value = IdempotencyManager.HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = AuthContextUtil.HEADER, required = false) String authContext) {
+        AuthContextUtil.AuthContext caller = AuthContextUtil.decode(authContext);
+        return idempotencyManager.execute(PROCESS_PAYMENT_OPERATION, caller != null ? caller.username() : null,
+                idempotencyKey, requestDto, () -> ApiResponseUtil.success(
+                        paymentService.processPayment(requestDto),
+                        String.format(ApiResponseConstant.CREATE_SUCCESSFUL, AppConstant.PAYMENT),
+                        HttpStatus.CREATED
+                ));
     }
 
     @GetMapping("/{paymentId}")
@@ -73,22 +90,32 @@ public class PaymentController {
         );
     }
 
-    @GetMapping("/status/{status}")
-    public ResponseEntity<ApiResponse<List<PaymentResponseDto>>> getPaymentsByStatus(@PathVariable PaymentStatus status) {
-        List<PaymentResponseDto> payments = paymentService.getPaymentsByStatus(status);
+    @GetMapping("/user/{userId}/scroll")
+    public ResponseEntity<ApiResponse<CursorPageDto<PaymentResponseDto>>> scrollPaymentsByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        CursorPageDto<PaymentResponseDto> payments = paymentService.scrollPaymentsByUserId(userId, cursor, size);
         return ApiResponseUtil.success(
                 payments,
-                String.format(ApiResponseConstant.FETCH_SUCCESSFUL, status.name() + " payments")
+                String.format(ApiResponseConstant.FETCH_ALL_SUCCESSFUL, AppConstant.USER_PAYMENTS)
         );
     }
 
-    @GetMapping("/recent")
-    public ResponseEntity<ApiResponse<List<PaymentResponseDto>>> getRecentPayments() {
-        List<PaymentResponseDto> payments = paymentService.getRecentPayments();
-        return ApiResponseUtil.success(
-                payments,
-                String.format(ApiResponseConstant.FETCH_SUCCESSFUL, AppConstant.RECENT_PAYMENTS)
-        );
+    @GetMapping(value = "/status/{status}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> getPaymentsByStatus(
+            @PathVariable PaymentStatus status,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return JsonStreamUtil.<PaymentResponseDto>stream(accept, objectMapper,
+                sink -> paymentService.streamPaymentsByStatus(status, sink));
+    }
+
+    @GetMapping(value = "/recent",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> getRecentPayments(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return JsonStreamUtil.<PaymentResponseDto>stream(accept, objectMapper, paymentService::streamRecentPayments);
     }
 
     @GetMapping("/User/{userId}/total")
@@ -22,7 +22,8 @@ import java.util.UUID;
         @Index(name = "idx_payment_order_id", columnList = "order_id"),
         @Index(name = "idx_payment_user_id", columnList = "user_id"),
         @Index(name = "idx_payment_status", columnList = "status"),
-        @Index(name = "idx_payment_transaction_id", columnList = "transaction_id")
+        @Index(name = "idx_payment_transaction_id", columnList = "transaction_id"),
+        @Index(name = "idx_payment_user_id_created_at_id", columnList = "user_id, created_at, id")
 })
 @Data
 @SuperBuilder
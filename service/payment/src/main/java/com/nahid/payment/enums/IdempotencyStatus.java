@@ -0,0 +1,6 @@
+package com.nahid.payment.enums;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,294 @@
+package com.nahid.payment.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nahid.payment.config.IdempotencyProperties;
+import com.nahid.payment.enums.IdempotencyStatus;
+import com.nahid.payment.exception.IdempotencyConflictException;
+import com.nahid.payment.exception.IdempotencyKeyReuseException;
+import com.nahid.payment.util.constant.ExceptionMessageConstant;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Makes a POST handler safe to retry with an {@code Idempotency-Key}. The first request for a key runs
+ * the handler and stores its response; later requests with the same key and body get that response
+ * back, marked with {@code Idempotent-Replayed}, and the handler does not run again. Duplicates that
+ * arrive while the first request is still running wait for it: on this instance by joining its call,
+ * on other instances by polling the key's row.
+ * <p>
+ * Keys are claimed in {@code idempotency_keys}, whose primary key makes the claim atomic across
+ * instances; recently completed keys are also answered from a bounded in-memory cache. Responses
+ * below 500 are stored. A 5xx or an exception releases the key so the retry runs again. The owner
+ * renews its lease while the handler runs, however long that takes, so only a claim whose owner
+ * stopped before finishing is taken over once its lease expires.
+ */
+@Slf4j
+@Component
+public class IdempotencyManager {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final Cache<String, StoredResponse> completedResponses;
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("idempotency-lease-renewer").daemon().factory());
+
+    public IdempotencyManager(IdempotencyRecordRepository idempotencyRecordRepository,
+                              ObjectMapper objectMapper,
+                              IdempotencyProperties properties) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.completedResponses = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxEntries())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    /**
+     * @param operation names the endpoint, so one key can be used against different endpoints
+     * @param caller    the authenticated caller, so clients cannot replay each other's responses
+     * @param key       the client's {@code Idempotency-Key}; {@code null} runs the handler unguarded
+     * @param request   the request body, fingerprinted to reject a key reused for a different request
+     */
+    public ResponseEntity<?> execute(String operation, String caller, String key, Object request,
+                                     Supplier<ResponseEntity<?>> handler) {
+        if (key == null) {
+            return handler.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(String.format(ExceptionMessageConstant.IDEMPOTENCY_KEY_INVALID, MAX_KEY_LENGTH));
+        }
+        String recordKey = operation + ':' + (caller == null ? "" : caller) + ':' + key;
+        String requestHash = fingerprint(request);
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+
+        StoredResponse cached = completedResponses.getIfPresent(recordKey);
+        if (cached != null) {
+            return replay(cached, key, requestHash);
+        }
+
+        CompletableFuture<StoredResponse> call = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> leader = inFlight.putIfAbsent(recordKey, call);
+        if (leader != null) {
+            return replay(await(leader, key, deadline), key, requestHash);
+        }
+        try {
+            StoredResponse completed = claim(recordKey, key, requestHash, deadline);
+            if (completed != null) {
+                call.complete(completed);
+                return replay(completed, key, requestHash);
+            }
+            ResponseEntity<?> response = runClaimed(recordKey, handler);
+            call.complete(store(recordKey, requestHash, response));
+            return response;
+        } catch (RuntimeException | Error ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(recordKey, call);
+        }
+    }
+
+    /**
+     * @return {@code null} once this request owns the key, or the response of the execution that
+     * completed it
+     */
+    private StoredResponse claim(String recordKey, String key, String requestHash, long deadline) {
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            if (idempotencyRecordRepository.insertIfAbsent(recordKey, requestHash, now,
+                    now.plus(properties.getLease()), now.plus(properties.getTtl())) == 1) {
+                return null;
+            }
+            IdempotencyRecord existing = idempotencyRecordRepository.findById(recordKey).orElse(null);
+            if (existing == null) {
+                continue;
+            }
+            if (existing.getExpiresAt().isBefore(now)) {
+                idempotencyRecordRepository.deleteIfExpired(recordKey, now);
+                continue;
+            }
+            if (!existing.getRequestHash().equals(requestHash)) {
+                throw new IdempotencyKeyReuseException(String.format(ExceptionMessageConstant.IDEMPOTENCY_KEY_REUSED, key));
+            }
+            if (existing.getStatus() == IdempotencyStatus.COMPLETED) {
+                StoredResponse stored = new StoredResponse(existing.getRequestHash(), existing.getResponseStatus(),
+                        existing.getResponseLocation(), existing.getResponseBody());
+                completedResponses.put(recordKey, stored);
+                return stored;
+            }
+            if (existing.getLockedUntil().isBefore(now) && idempotencyRecordRepository.takeOver(recordKey,
+                    IdempotencyStatus.IN_PROGRESS, now, now.plus(properties.getLease())) == 1) {
+                log.warn("Took over idempotency key {} after its lease expired", recordKey);
+                return null;
+            }
+            if (System.nanoTime() >= deadline) {
+                throw inProgress(key);
+            }
+            sleep(key);
+        }
+    }
+
+    private ResponseEntity<?> runClaimed(String recordKey, Supplier<ResponseEntity<?>> handler) {
+        long renewEveryMs = Math.max(1, properties.getLease().toMillis() / 3);
+        ScheduledFuture<?> renewal = leaseRenewer.scheduleAtFixedRate(
+                () -> renewLease(recordKey), renewEveryMs, renewEveryMs, TimeUnit.MILLISECONDS);
+        try {
+            return handler.get();
+        } catch (RuntimeException | Error ex) {
+            renewal.cancel(false);
+            release(recordKey);
+            throw ex;
+        } finally {
+            renewal.cancel(false);
+        }
+    }
+
+    // Runs on the renewer thread; an exception escaping here would cancel all later renewals
+    private void renewLease(String recordKey) {
+        try {
+            if (idempotencyRecordRepository.renew(recordKey, IdempotencyStatus.IN_PROGRESS,
+                    LocalDateTime.now().plus(properties.getLease())) == 0) {
+                log.warn("Idempotency key {} is no longer held while its request is still running", recordKey);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Could not renew the lease of idempotency key {}: {}", recordKey, ex.getMessage());
+        }
+    }
+
+    private StoredResponse store(String recordKey, String requestHash, ResponseEntity<?> response) {
+        URI location = response.getHeaders().getLocation();
+        StoredResponse stored = new StoredResponse(requestHash, response.getStatusCode().value(),
+                location != null ? location.toString() : null, toJson(recordKey, response.getBody()));
+        if (response.getStatusCode().is5xxServerError()) {
+            release(recordKey);
+            return stored;
+        }
+        try {
+            idempotencyRecordRepository.complete(recordKey, IdempotencyStatus.COMPLETED, stored.status(),
+                    stored.location(), stored.body(), LocalDateTime.now().plus(properties.getTtl()));
+            completedResponses.put(recordKey, stored);
+        } catch (DataAccessException ex) {
+            // The response still goes out; a retry runs again once the lease expires
+            log.error("Could not store the response for idempotency key {}: {}", recordKey, ex.getMessage());
+        }
+        return stored;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        leaseRenewer.shutdownNow();
+    }
+
+    private void release(String recordKey) {
+        try {
+            idempotencyRecordRepository.release(recordKey, IdempotencyStatus.IN_PROGRESS);
+        } catch (DataAccessException ex) {
+            log.error("Could not release idempotency key {}; it frees up when its lease expires: {}",
+                    recordKey, ex.getMessage());
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> leader, String key, long deadline) {
+        try {
+            return leader.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw inProgress(key);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw inProgress(key);
+        } catch (ExecutionException ex) {
+            // Duplicates share the first execution's failure, as they would have shared its response
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored, String key, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReuseException(String.format(ExceptionMessageConstant.IDEMPOTENCY_KEY_REUSED, key));
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.status()).header(REPLAYED_HEADER, "true");
+        if (stored.location() != null) {
+            builder.location(URI.create(stored.location()));
+        }
+        if (stored.body() == null) {
+            return builder.build();
+        }
+        // The stored body is already JSON and is written out as is
+        return builder.contentType(MediaType.APPLICATION_JSON).body(stored.body());
+    }
+
+    private void sleep(String key) {
+        try {
+            Thread.sleep(properties.getPollInterval());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw inProgress(key);
+        }
+    }
+
+    private static IdempotencyConflictException inProgress(String key) {
+        return new IdempotencyConflictException(String.format(ExceptionMessageConstant.IDEMPOTENCY_KEY_IN_PROGRESS, key));
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not fingerprint the request", ex);
+        }
+    }
+
+    private String toJson(String recordKey, Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            // The handler has already run, so the key still completes and retries replay the status and location
+            log.error("Could not serialize the response for idempotency key {}; storing it without a body: {}",
+                    recordKey, ex.getMessage());
+            return null;
+        }
+    }
+
+    private record StoredResponse(String requestHash, int status, String location, String body) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.nahid.payment.idempotency;
+
+import com.nahid.payment.enums.IdempotencyStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * One {@code Idempotency-Key} as seen by an operation. While IN_PROGRESS the key belongs to the
+ * execution holding the lease in {@code lockedUntil}; once COMPLETED it holds the response to replay.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class IdempotencyRecord {
+
+    // operation, caller and client key, see IdempotencyManager
+    @Id
+    @Column(name = "record_key", length = 1024)
+    String recordKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    IdempotencyStatus status;
+
+    @Column(name = "response_status")
+    Integer responseStatus;
+
+    @Column(name = "response_location")
+    String responseLocation;
+
+    @Column(name = "response_body", columnDefinition = "text")
+    String responseBody;
+
+    @Column(name = "locked_until", nullable = false)
+    LocalDateTime lockedUntil;
+
+    @Column(name = "expires_at", nullable = false)
+    LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+}
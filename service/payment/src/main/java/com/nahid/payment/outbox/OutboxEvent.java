@@ -0,0 +1,65 @@
+package com.nahid.payment.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * A Kafka record waiting to be relayed. Rows are written in the transaction of the change they
+ * describe and deleted once the broker has acknowledged them; {@code typeId} is sent as the
+ * {@code __TypeId__} header consumers used to get from the JSON serializer.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_message_key", columnList = "message_key, id"),
+        @Index(name = "idx_outbox_events_available_at", columnList = "available_at")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "topic", nullable = false)
+    String topic;
+
+    @Column(name = "message_key", nullable = false)
+    String messageKey;
+
+    @Column(name = "type_id")
+    String typeId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    String payload;
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+
+    @Column(name = "available_at", nullable = false)
+    LocalDateTime availableAt;
+
+    @Column(name = "attempts", nullable = false)
+    int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    String lastError;
+}
@@ -0,0 +1,32 @@
+package com.nahid.payment.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the next due events for relaying, skipping rows another relay already holds. Only the
+     * oldest pending event of each message key qualifies, so events sharing a key are sent strictly
+     * in the order they were written, even across relay instances and after a failed send.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events e
+            WHERE e.available_at <= :now
+              AND NOT EXISTS (SELECT 1 FROM outbox_events earlier
+                              WHERE earlier.message_key = e.message_key AND earlier.id < e.id)
+            ORDER BY e.id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> claimBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e")
+    LocalDateTime findOldestCreatedAt();
+}
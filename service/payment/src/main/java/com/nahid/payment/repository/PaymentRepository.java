@@ -2,8 +2,15 @@ package com.nahid.payment.repository;
 
 import com.nahid.payment.entity.Payment;
 import com.nahid.payment.enums.PaymentStatus;
+import com.nahid.payment.util.constant.AppConstant;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
@@ -11,6 +18,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, UUID> {
@@ -19,7 +27,14 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     Optional<Payment> findByOrderId(UUID orderId);
     List<Payment> findByUserIdOrderByCreatedAtDesc(Long userId);
 
-    List<Payment> findByStatusOrderByCreatedAtDesc(PaymentStatus status);
+    Window<Payment> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, ScrollPosition position, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstant.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Payment> streamByStatusOrderByCreatedAtDesc(PaymentStatus status);
+
     Optional<Payment> findByTransactionId(String transactionId);
 
     List<Payment> findByUserIdAndStatusOrderByCreatedAtDesc(
@@ -41,8 +56,12 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     );
 
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstant.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("SELECT p FROM Payment p WHERE p.createdAt >= :since ORDER BY p.createdAt DESC")
-    List<Payment> findRecentPayments(@Param("since") LocalDateTime since);
+    Stream<Payment> streamRecentPayments(@Param("since") LocalDateTime since);
 
     @Query("""
         SELECT p FROM Payment p
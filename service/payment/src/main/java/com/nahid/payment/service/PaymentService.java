@@ -1,12 +1,14 @@
 package com.nahid.payment.service;
 
 import com.nahid.payment.dto.request.PaymentRequestDto;
+import com.nahid.payment.dto.response.CursorPageDto;
 import com.nahid.payment.dto.response.PaymentResponseDto;
 import com.nahid.payment.enums.PaymentStatus;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface PaymentService {
 
@@ -19,7 +21,9 @@ public interface PaymentService {
 
     List<PaymentResponseDto> getPaymentsByUserId(Long userId);
 
-    List<PaymentResponseDto> getPaymentsByStatus(PaymentStatus status);
+    CursorPageDto<PaymentResponseDto> scrollPaymentsByUserId(Long userId, String cursor, int size);
+
+    void streamPaymentsByStatus(PaymentStatus status, Consumer<PaymentResponseDto> sink);
 
     PaymentResponseDto getPaymentByTransactionId(String transactionId);
 
@@ -31,7 +35,7 @@ public interface PaymentService {
 
     BigDecimal getUserTotalPaidAmount(Long userId);
 
-    List<PaymentResponseDto> getRecentPayments();
+    void streamRecentPayments(Consumer<PaymentResponseDto> sink);
 
 
     PaymentResponseDto retryFailedPayment(UUID paymentId);
@@ -1,6 +1,7 @@
 package com.nahid.payment.service.impl;
 
 import com.nahid.payment.dto.request.PaymentRequestDto;
+import com.nahid.payment.dto.response.CursorPageDto;
 import com.nahid.payment.dto.response.PaymentResponseDto;
 import com.nahid.payment.entity.Payment;
 import com.nahid.payment.enums.PaymentStatus;
@@ -11,8 +12,11 @@ import com.nahid.payment.producer.PaymentNotificationProducer;
 import com.nahid.payment.repository.PaymentRepository;
 import com.nahid.payment.service.PaymentService;
 import com.nahid.payment.util.annotation.Auditable;
+import com.nahid.payment.util.helper.KeysetCursorUtil;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +24,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static com.nahid.payment.util.constant.AppConstant.PAYMENT;
 
@@ -32,6 +38,7 @@ public class PaymentServiceImpl implements PaymentService {
     private final PaymentRepository paymentRepository;
     private final PaymentMapper paymentMapper;
     private final PaymentNotificationProducer notificationProducer;
+    private final EntityManager entityManager;
 
     @Override
     @Auditable(eventType = "CREATE", entityName = PAYMENT, action = "PROCESS_PAYMENT")
@@ -125,13 +132,11 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<PaymentResponseDto> getRecentPayments() {
+    public void streamRecentPayments(Consumer<PaymentResponseDto> sink) {
         LocalDateTime since = LocalDateTime.now().minusHours(24);
-        List<Payment> payments = paymentRepository.findRecentPayments(since);
-
-        return payments.stream()
-                .map(paymentMapper::toResponseDto)
-                .toList();
+        try (Stream<Payment> payments = paymentRepository.streamRecentPayments(since)) {
+            payments.forEach(payment -> emit(payment, sink));
+        }
     }
 
 
@@ -190,6 +195,11 @@ public class PaymentServiceImpl implements PaymentService {
         return "TXN_" + System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
 
+    private void emit(Payment payment, Consumer<PaymentResponseDto> sink) {
+        sink.accept(paymentMapper.toResponseDto(payment));
+        entityManager.detach(payment);
+    }
+
 
     @Override
     @Transactional(readOnly = true)
@@ -220,11 +230,20 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<PaymentResponseDto> getPaymentsByStatus(PaymentStatus status) {
-        List<Payment> payments = paymentRepository.findByStatusOrderByCreatedAtDesc(status);
-        return payments.stream()
-                .map(paymentMapper::toResponseDto)
-                .toList();
+    public CursorPageDto<PaymentResponseDto> scrollPaymentsByUserId(Long userId, String cursor, int size) {
+        return KeysetCursorUtil.toPage(paymentRepository.findByUserIdOrderByCreatedAtDescIdDesc(
+                        userId,
+                        KeysetCursorUtil.decode(cursor, UUID::fromString),
+                        Limit.of(KeysetCursorUtil.pageSize(size)))
+                .map(paymentMapper::toResponseDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamPaymentsByStatus(PaymentStatus status, Consumer<PaymentResponseDto> sink) {
+        try (Stream<Payment> payments = paymentRepository.streamByStatusOrderByCreatedAtDesc(status)) {
+            payments.forEach(payment -> emit(payment, sink));
+        }
     }
 
     @Override
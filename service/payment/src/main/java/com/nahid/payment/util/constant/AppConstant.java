@@ -13,4 +13,7 @@ public class AppConstant {
     public static final String CANCELLED = "cancelled";
     public static final String REFUNDED = "refunded";
     public static final String RETRIED = "retried";
+
+    // JDBC rows fetched per round trip when streaming large result sets
+    public static final String STREAM_FETCH_SIZE = "500";
 }
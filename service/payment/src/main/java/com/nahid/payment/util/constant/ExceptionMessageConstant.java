@@ -0,0 +1,13 @@
+package com.nahid.payment.util.constant;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ExceptionMessageConstant {
+
+    // Idempotency Exception Messages
+    public static final String IDEMPOTENCY_KEY_INVALID = "Idempotency-Key must be between 1 and %d characters";
+    public static final String IDEMPOTENCY_KEY_IN_PROGRESS = "A request with Idempotency-Key %s is still being processed";
+    public static final String IDEMPOTENCY_KEY_REUSED = "Idempotency-Key %s was already used with a different request";
+}
@@ -0,0 +1,50 @@
+package com.nahid.payment.util.helper;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Decodes the {@code X-Auth-Context} header the gateway attaches to authenticated requests:
+ * {@code 1.<base64url(username)>.<base64url(comma-separated roles)>}. Kept in step with the
+ * gateway's {@code AuthContextCodec}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AuthContextUtil {
+
+    public static final String HEADER = "X-Auth-Context";
+
+    private static final String VERSION_PREFIX = "1.";
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * @return the caller's context, or {@code null} when the header is absent, malformed or of an
+     * unknown version
+     */
+    public static AuthContext decode(String header) {
+        if (header == null || !header.startsWith(VERSION_PREFIX)) {
+            return null;
+        }
+        int separator = header.indexOf('.', VERSION_PREFIX.length());
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            String username = decodeSegment(header, VERSION_PREFIX.length(), separator);
+            String roles = decodeSegment(header, separator + 1, header.length());
+            return new AuthContext(username, roles.isEmpty() ? List.of() : List.of(roles.split(",")));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static String decodeSegment(String header, int start, int end) {
+        return new String(DECODER.decode(header.substring(start, end)), StandardCharsets.UTF_8);
+    }
+
+    public record AuthContext(String username, List<String> roles) {
+    }
+}
@@ -5,6 +5,7 @@ import com.nahid.product.dto.event.AuditEventMessageDto;
 import com.nahid.product.enums.EventStatus;
 import com.nahid.product.producer.AuditEventPublisher;
 import com.nahid.product.util.annotation.Auditable;
+import com.nahid.product.util.helper.AuthContextUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -88,9 +89,7 @@ public class AuditAspect {
     }
 
     private String getUserId() {
-        if(request.getHeader("X-Auth-User") != null) {
-            return request.getHeader("X-Auth-User");
-        }
-        return "";
+        AuthContextUtil.AuthContext authContext = AuthContextUtil.decode(request.getHeader(AuthContextUtil.HEADER));
+        return authContext != null ? authContext.username() : "";
     }
 }
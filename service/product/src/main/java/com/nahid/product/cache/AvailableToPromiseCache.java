@@ -0,0 +1,52 @@
+package com.nahid.product.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Per-node available-to-promise counters. Entries are dropped after every committed stock change
+ * on any node and expire once older than the staleness bound, so the caller falls back to the
+ * database. Size eviction keeps the cache at {@code max-entries} while still taking new products.
+ */
+@Component
+public class AvailableToPromiseCache {
+
+    private final Cache<Long, StockLevel> levels;
+
+    public AvailableToPromiseCache(@Value("${inventory.atp-cache.max-staleness-ms:5000}") long maxStalenessMs,
+                                   @Value("${inventory.atp-cache.max-entries:100000}") int maxEntries) {
+        this.levels = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, maxEntries))
+                .expireAfterWrite(Duration.ofMillis(maxStalenessMs))
+                .build();
+    }
+
+    /**
+     * @return the cached level, or {@code null} when absent or older than the staleness bound
+     */
+    public StockLevel get(Long productId) {
+        return levels.getIfPresent(productId);
+    }
+
+    public StockLevel put(Long productId, int stockQuantity, boolean active) {
+        StockLevel level = new StockLevel(stockQuantity, active);
+        levels.put(productId, level);
+        return level;
+    }
+
+    public void evict(Collection<Long> productIds) {
+        levels.invalidateAll(productIds);
+    }
+
+    public record StockLevel(int stockQuantity, boolean active) {
+
+        public boolean canSatisfy(int quantity) {
+            return active && stockQuantity >= quantity;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.nahid.product.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pre-serialized homepage listings. Each snapshot is an immutable, fully rendered response body that
+ * is written to the client as-is. Change listeners only record which products or categories changed;
+ * the snapshot service rebuilds the affected snapshots off the request path. Every change also bumps
+ * a change sequence, so a snapshot built on the request path can be checked against changes that
+ * arrived while it was being built.
+ */
+@Component
+public class CatalogSnapshotCache {
+
+    private volatile JsonSnapshot featuredProducts;
+    private volatile JsonSnapshot activeCategories;
+    private final ConcurrentHashMap<Long, JsonSnapshot> productsByCategory = new ConcurrentHashMap<>();
+    private final Set<Long> changedProducts = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean categoriesChanged = new AtomicBoolean();
+    // Written only under the monitor, together with the change it counts
+    private volatile long changeSequence;
+
+    public JsonSnapshot getFeaturedProducts() {
+        return featuredProducts;
+    }
+
+    public void setFeaturedProducts(JsonSnapshot snapshot) {
+        this.featuredProducts = snapshot;
+    }
+
+    public JsonSnapshot getActiveCategories() {
+        return activeCategories;
+    }
+
+    public void setActiveCategories(JsonSnapshot snapshot) {
+        this.activeCategories = snapshot;
+    }
+
+    public Map<Long, JsonSnapshot> getProductsByCategory() {
+        return productsByCategory;
+    }
+
+    public synchronized void markProductsChanged(Collection<Long> productIds) {
+        changedProducts.addAll(productIds);
+        changeSequence++;
+    }
+
+    public synchronized void markCategoriesChanged() {
+        categoriesChanged.set(true);
+        changeSequence++;
+    }
+
+    /**
+     * Read before building a snapshot and passed to {@link #storeIfUnchanged}.
+     */
+    public long getChangeSequence() {
+        return changeSequence;
+    }
+
+    /**
+     * Runs {@code store} only if no change was marked since {@code changeSequence} was read. A change
+     * marked after the check is drained after the snapshot is stored, so the rebuild sees it; one
+     * marked before makes this return {@code false} and the caller builds again.
+     */
+    public synchronized boolean storeIfUnchanged(long changeSequence, Runnable store) {
+        if (this.changeSequence != changeSequence) {
+            return false;
+        }
+        store.run();
+        return true;
+    }
+
+    public Set<Long> drainChangedProducts() {
+        Set<Long> drained = new HashSet<>();
+        for (Iterator<Long> iterator = changedProducts.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    public boolean drainCategoriesChanged() {
+        return categoriesChanged.getAndSet(false);
+    }
+
+    /**
+     * @param body       the complete response body, including the envelope; never modified after build
+     * @param productIds products rendered into the body, used to decide which snapshots a change affects
+     */
+    public record JsonSnapshot(byte[] body, Set<Long> productIds, long builtAtMillis) {
+
+        public boolean containsAny(Collection<Long> ids) {
+            for (Long id : ids) {
+                if (productIds.contains(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
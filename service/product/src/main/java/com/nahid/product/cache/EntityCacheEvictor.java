@@ -0,0 +1,40 @@
+package com.nahid.product.cache;
+
+import com.nahid.product.entity.Category;
+import com.nahid.product.entity.Product;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Drops second-level cache entries that Hibernate cannot invalidate by itself: rows changed by the
+ * native stock updates, and product or category rows changed on another product-service node.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictProducts(Collection<Long> productIds) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        productIds.forEach(productId -> cache.evictEntityData(Product.class, productId));
+    }
+
+    /**
+     * Also clears cached query results, which may still point at a created, re-keyed or deleted product.
+     */
+    public void evictProductChanges(Collection<Long> productIds) {
+        evictProducts(productIds);
+        entityManagerFactory.getCache().unwrap(Cache.class).evictDefaultQueryRegion();
+    }
+
+    public void evictCategoryChanges(Collection<Long> categoryIds) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        categoryIds.forEach(categoryId -> cache.evictEntityData(Category.class, categoryId));
+        cache.evictDefaultQueryRegion();
+    }
+}
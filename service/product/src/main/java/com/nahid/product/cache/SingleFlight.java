@@ -0,0 +1,79 @@
+package com.nahid.product.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Merges concurrent identical reads into one call. The first caller for a key runs the loader on its
+ * own thread; callers arriving while it is in flight wait for and share its result or exception.
+ * Nothing is kept once the call completes, so this never serves data older than the query it joined.
+ * Shared results must be treated as read-only by callers.
+ * <p>
+ * {@code product.single-flight.requests} is tagged with the operation and {@code outcome=leader|coalesced};
+ * coalesced / total is the share of reads that did not reach the database.
+ */
+@Component
+public class SingleFlight {
+
+    private static final String REQUESTS_METRIC = "product.single-flight.requests";
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> loader) {
+        String flightKey = operation + ':' + key;
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(flightKey, call);
+        if (leader != null) {
+            counter(operation, "coalesced").increment();
+            return (T) await(leader);
+        }
+
+        counter(operation, "leader").increment();
+        try {
+            T result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(flightKey, call);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException ex) {
+            // Rethrow the leader's own exception so followers map to the same HTTP response
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private Counter counter(String operation, String outcome) {
+        return counters.computeIfAbsent(operation + '|' + outcome, ignored -> Counter.builder(REQUESTS_METRIC)
+                .description("Reads that went to the database (leader) or shared an in-flight call (coalesced)")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,26 @@
+package com.nahid.product.cache;
+
+import com.nahid.product.event.StockChangedEvent;
+import com.nahid.product.producer.StockChangePublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class StockChangeListener {
+
+    private final AvailableToPromiseCache availableToPromiseCache;
+    private final StockChangePublisher stockChangePublisher;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        availableToPromiseCache.evict(event.productIds());
+        entityCacheEvictor.evictProducts(event.productIds());
+        catalogSnapshotCache.markProductsChanged(event.productIds());
+        stockChangePublisher.publishStockChange(event.productIds());
+    }
+}
@@ -0,0 +1,50 @@
+package com.nahid.product.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves each entity id sequence past the largest id already in its table. Tables created while ids
+ * came from IDENTITY columns hold rows the new sequences know nothing about; without this the first
+ * inserts after the switch would reuse their ids. Runs once at startup, before any listener or
+ * request can insert, and is a no-op once a sequence is ahead of its table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceAligner implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .forEachEntityDescriptor(persister -> {
+                    if (persister.getGenerator() instanceof SequenceStyleGenerator generator
+                            && persister instanceof AbstractEntityPersister entityPersister) {
+                        align(generator.getDatabaseStructure().getPhysicalName().render(),
+                                entityPersister.getIdentifierTableName(),
+                                entityPersister.getIdentifierColumnNames()[0]);
+                    }
+                });
+    }
+
+    private void align(String sequence, String table, String idColumn) {
+        // setval(max) with the pooled optimizer makes the next block start at max + 1
+        Long alignedTo = jdbcTemplate.query(
+                "SELECT setval('" + sequence + "', m.max_id) FROM (SELECT MAX(" + idColumn + ") AS max_id FROM "
+                        + table + ") m, " + sequence + " s WHERE m.max_id >= s.last_value",
+                rs -> rs.next() ? rs.getLong(1) : null);
+        if (alignedTo != null) {
+            log.info("Advanced id sequence {} to {} to follow existing rows in {}", sequence, alignedTo, table);
+        }
+    }
+}
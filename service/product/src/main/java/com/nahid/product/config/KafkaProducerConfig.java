@@ -1,6 +1,7 @@
 package com.nahid.product.config;
 
-import com.nahid.product.dto.event.AuditEventMessageDto;
+import com.nahid.product.dto.event.ProductChangeEventDto;
+import com.nahid.product.dto.event.StockChangeEventDto;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
@@ -26,6 +27,12 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.topic.audit-topic}")
     private String auditTopic;
 
+    @Value("${spring.kafka.topic.stock-change-topic}")
+    private String stockChangeTopic;
+
+    @Value("${spring.kafka.topic.product-change-topic}")
+    private String productChangeTopic;
+
     @Bean
     public NewTopic paymentTopic() {
         return TopicBuilder.name(auditTopic)
@@ -34,19 +41,70 @@ public class KafkaProducerConfig {
                 .build();
     }
 
+    // Outbox payloads are already JSON, so the relay sends them as plain strings
+    @Bean
+    public ProducerFactory<String, String> outboxProducerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 5000);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> outboxKafkaTemplate() {
+        return new KafkaTemplate<>(outboxProducerFactory());
+    }
+
+    @Bean
+    public NewTopic stockChangeTopic() {
+        return TopicBuilder.name(stockChangeTopic)
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public ProducerFactory<String, StockChangeEventDto> stockChangeProducerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, StockChangeEventDto> stockChangeKafkaTemplate() {
+        return new KafkaTemplate<>(stockChangeProducerFactory());
+    }
+
+    @Bean
+    public NewTopic productChangeTopic() {
+        return TopicBuilder.name(productChangeTopic)
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+
     @Bean
-    public ProducerFactory<String, AuditEventMessageDto> producerFactory() {
+    public ProducerFactory<String, ProductChangeEventDto> productChangeProducerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);  // Disable type headers
+        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
     @Bean
-    public KafkaTemplate<String, AuditEventMessageDto> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, ProductChangeEventDto> productChangeKafkaTemplate() {
+        return new KafkaTemplate<>(productChangeProducerFactory());
     }
 
 }
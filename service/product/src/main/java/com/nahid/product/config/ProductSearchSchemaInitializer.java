@@ -0,0 +1,52 @@
+package com.nahid.product.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Creates the generated {@code search_vector} column and the search indexes that ranked product
+ * search relies on. The schema is otherwise maintained by Hibernate's {@code ddl-auto}, which cannot
+ * express either, so without this a fresh database has no column to search. Runs once at startup,
+ * after Hibernate has created the tables, and only touches the schema when something is missing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchSchemaInitializer implements SmartInitializingSingleton {
+
+    private static final String SEARCH_SCHEMA_SCRIPT = "db/migration/V4__Add_product_search_indexes.sql";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (isSearchSchemaPresent()) {
+            return;
+        }
+        // Every statement in the script is IF NOT EXISTS, so a partially applied schema is completed
+        DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource(SEARCH_SCHEMA_SCRIPT)), dataSource);
+        log.info("Created the product search column and indexes from {}", SEARCH_SCHEMA_SCRIPT);
+    }
+
+    // Checked first because ALTER TABLE takes an exclusive lock on products even when it has nothing to do
+    private boolean isSearchSchemaPresent() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT EXISTS (SELECT 1 FROM information_schema.columns
+                               WHERE table_schema = current_schema()
+                                 AND table_name = 'products' AND column_name = 'search_vector')
+                   AND (SELECT count(*) FROM pg_indexes
+                        WHERE schemaname = current_schema()
+                          AND indexname IN ('idx_products_search_vector', 'idx_products_name_trgm',
+                                            'idx_products_brand_trgm')) = 3
+                """, Boolean.class));
+    }
+}
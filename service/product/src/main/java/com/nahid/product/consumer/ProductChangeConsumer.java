@@ -0,0 +1,38 @@
+package com.nahid.product.consumer;
+
+import com.nahid.product.cache.CatalogSnapshotCache;
+import com.nahid.product.cache.EntityCacheEvictor;
+import com.nahid.product.dto.event.ProductChangeEventDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductChangeConsumer {
+
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+
+    // Every node caches entities locally, so each instance joins with its own consumer group
+    @KafkaListener(
+            topics = "${spring.kafka.topic.product-change-topic}",
+            groupId = "product-entity-cache-${random.uuid}",
+            containerFactory = "productChangeKafkaListenerContainerFactory"
+    )
+    public void handleProductChange(@Payload ProductChangeEventDto event) {
+        if (event.getProductIds() != null && !event.getProductIds().isEmpty()) {
+            log.debug("Evicting cached entries for changed products {}", event.getProductIds());
+            entityCacheEvictor.evictProductChanges(event.getProductIds());
+            catalogSnapshotCache.markProductsChanged(event.getProductIds());
+        }
+        if (event.getCategoryIds() != null && !event.getCategoryIds().isEmpty()) {
+            log.debug("Evicting cached entries for changed categories {}", event.getCategoryIds());
+            entityCacheEvictor.evictCategoryChanges(event.getCategoryIds());
+            catalogSnapshotCache.markCategoriesChanged();
+        }
+    }
+}
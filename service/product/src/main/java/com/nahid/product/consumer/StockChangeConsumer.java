@@ -0,0 +1,40 @@
+package com.nahid.product.consumer;
+
+import com.nahid.product.cache.AvailableToPromiseCache;
+import com.nahid.product.cache.CatalogSnapshotCache;
+import com.nahid.product.cache.EntityCacheEvictor;
+import com.nahid.product.dto.event.StockChangeEventDto;
+import com.nahid.product.producer.StockChangePublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockChangeConsumer {
+
+    private final AvailableToPromiseCache availableToPromiseCache;
+    private final StockChangePublisher stockChangePublisher;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+
+    // Every node needs every change, so each instance joins with its own consumer group
+    @KafkaListener(
+            topics = "${spring.kafka.topic.stock-change-topic}",
+            groupId = "product-stock-cache-${random.uuid}",
+            containerFactory = "stockChangeKafkaListenerContainerFactory"
+    )
+    public void handleStockChange(@Payload StockChangeEventDto event) {
+        if (event.getProductIds() == null
+                || stockChangePublisher.getInstanceId().equals(event.getSourceInstanceId())) {
+            return;
+        }
+        log.debug("Evicting cached stock for products {} changed on {}", event.getProductIds(), event.getSourceInstanceId());
+        availableToPromiseCache.evict(event.getProductIds());
+        entityCacheEvictor.evictProducts(event.getProductIds());
+        catalogSnapshotCache.markProductsChanged(event.getProductIds());
+    }
+}
@@ -3,6 +3,7 @@ package com.nahid.product.controller;
 import com.nahid.product.dto.response.CategoryResponseDto;
 import com.nahid.product.dto.request.CreateCategoryRequestDto;
 import com.nahid.product.dto.response.ApiResponse;
+import com.nahid.product.service.CatalogSnapshotService;
 import com.nahid.product.service.CategoryService;
 import com.nahid.product.util.constant.ApiResponseConstant;
 import com.nahid.product.util.constant.AppConstant;
@@ -21,6 +22,7 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CatalogSnapshotService catalogSnapshotService;
 
     @PostMapping
     public ResponseEntity<ApiResponse<CategoryResponseDto>> createCategory(@Valid @RequestBody CreateCategoryRequestDto request) {
@@ -45,11 +47,8 @@ public class CategoryController {
     }
 
     @GetMapping("/active")
-    public ResponseEntity<ApiResponse<List<CategoryResponseDto>>> getActiveCategories() {
-        List<CategoryResponseDto> response = categoryService.getActiveCategories();
-        return ApiResponseUtil.success(response,
-                String.format(ApiResponseConstant.FETCH_SUCCESSFUL, AppConstant.ACTIVE_CATEGORIES)
-        );
+    public ResponseEntity<byte[]> getActiveCategories() {
+        return ApiResponseUtil.preSerialized(catalogSnapshotService.getActiveCategories().body());
     }
 
     @DeleteMapping("/{id}")
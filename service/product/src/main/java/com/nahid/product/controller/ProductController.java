@@ -1,24 +1,36 @@
 package com.nahid.product.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nahid.product.dto.request.BulkReservationRequestDto;
 import com.nahid.product.dto.request.CreateProductRequestDto;
+import com.nahid.product.dto.request.ProductBatchRequestDto;
 import com.nahid.product.dto.request.PurchaseProductRequestDto;
+import com.nahid.product.dto.request.ReservationReferencesRequestDto;
 import com.nahid.product.dto.request.UpdateProductRequestDto;
 import com.nahid.product.dto.response.ApiResponse;
+import com.nahid.product.dto.response.CursorPageDto;
+import com.nahid.product.dto.response.ProductBatchResponseDto;
 import com.nahid.product.dto.response.ProductResponseDto;
 import com.nahid.product.dto.response.PurchaseProductResponseDto;
+import com.nahid.product.dto.response.ReservationResultDto;
+import com.nahid.product.service.CatalogSnapshotService;
 import com.nahid.product.service.ProductService;
 import com.nahid.product.util.constant.ApiResponseConstant;
 import com.nahid.product.util.constant.AppConstant;
 import com.nahid.product.util.helper.ApiResponseUtil;
+import com.nahid.product.util.helper.JsonStreamUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -29,6 +41,8 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<ApiResponse<ProductResponseDto>> createProduct(@Valid @RequestBody CreateProductRequestDto request) {
@@ -46,6 +60,36 @@ public class ProductController {
                 HttpStatus.OK);
     }
 
+    @PostMapping("/inventory/reservations/bulk")
+    public ResponseEntity<ApiResponse<List<ReservationResultDto>>> reserveInventoryBulk(
+            @Valid @RequestBody BulkReservationRequestDto request) {
+        List<ReservationResultDto> response = productService.reserveInventoryBulk(request.getReservations());
+        return ApiResponseUtil.success(
+                response,
+                String.format(ApiResponseConstant.ACTION_SUCCESSFUL, AppConstant.INVENTORY_RESERVATIONS, AppConstant.PROCESSED),
+                HttpStatus.OK);
+    }
+
+    @PostMapping("/inventory/reservations/bulk/confirm")
+    public ResponseEntity<ApiResponse<List<ReservationResultDto>>> confirmReservations(
+            @Valid @RequestBody ReservationReferencesRequestDto request) {
+        List<ReservationResultDto> response = productService.confirmReservations(request.getOrderReferences());
+        return ApiResponseUtil.success(
+                response,
+                String.format(ApiResponseConstant.ACTION_SUCCESSFUL, AppConstant.INVENTORY_RESERVATIONS, AppConstant.PROCESSED),
+                HttpStatus.OK);
+    }
+
+    @PostMapping("/inventory/reservations/bulk/release")
+    public ResponseEntity<ApiResponse<List<ReservationResultDto>>> releaseReservations(
+            @Valid @RequestBody ReservationReferencesRequestDto request) {
+        List<ReservationResultDto> response = productService.releaseReservations(request.getOrderReferences());
+        return ApiResponseUtil.success(
+                response,
+                String.format(ApiResponseConstant.ACTION_SUCCESSFUL, AppConstant.INVENTORY_RESERVATIONS, AppConstant.PROCESSED),
+                HttpStatus.OK);
+    }
+
     @PostMapping("/inventory/reservations/{orderReference}/confirm")
     public ResponseEntity<ApiResponse<Void>> confirmReservation(@PathVariable String orderReference) {
         productService.confirmReservation(orderReference);
@@ -71,6 +115,16 @@ public class ProductController {
         );
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<ProductBatchResponseDto>> getProductsBatch(
+            @Valid @RequestBody ProductBatchRequestDto request) {
+        ProductBatchResponseDto response = productService.getProductsBatch(request);
+        return ApiResponseUtil.success(
+                response,
+                String.format(ApiResponseConstant.FETCH_SUCCESSFUL, AppConstant.PRODUCT_BATCH)
+        );
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<ProductResponseDto>> getProductById(@PathVariable Long id) {
         ProductResponseDto response = productService.getProductById(id);
@@ -99,6 +153,17 @@ public class ProductController {
         );
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPageDto<ProductResponseDto>>> scrollAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<ProductResponseDto> response = productService.scrollAllProducts(cursor, size);
+        return ApiResponseUtil.success(
+                response,
+                String.format(ApiResponseConstant.FETCH_ALL_SUCCESSFUL, AppConstant.PRODUCTS)
+        );
+    }
+
     @GetMapping("/active")
     public ResponseEntity<ApiResponse<Page<ProductResponseDto>>> getActiveProducts(
             @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
@@ -110,9 +175,12 @@ public class ProductController {
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<ApiResponse<Page<ProductResponseDto>>> getProductsByCategory(
+    public ResponseEntity<?> getProductsByCategory(
             @PathVariable Long categoryId,
             @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        if (CatalogSnapshotService.DEFAULT_CATEGORY_PAGE.equals(pageable)) {
+            return ApiResponseUtil.preSerialized(catalogSnapshotService.getProductsByCategory(categoryId).body());
+        }
         Page<ProductResponseDto> response = productService.getProductsByCategory(categoryId, pageable);
         return ApiResponseUtil.success(
                 response,
@@ -135,20 +203,33 @@ public class ProductController {
         );
     }
 
-    @GetMapping("/featured")
-    public ResponseEntity<ApiResponse<List<ProductResponseDto>>> getFeaturedProducts() {
-        List<ProductResponseDto> response = productService.getFeaturedProducts();
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<ApiResponse<CursorPageDto<ProductResponseDto>>> searchProductsRanked(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageDto<ProductResponseDto> response = productService.searchProductsRanked(
+                query, brand, minPrice, maxPrice, categoryId, cursor, size);
         return ApiResponseUtil.success(
                 response,
-                String.format(ApiResponseConstant.FETCH_SUCCESSFUL, AppConstant.FEATURED_PRODUCTS));
+                String.format(ApiResponseConstant.FETCH_SUCCESSFUL, AppConstant.PRODUCT_SEARCH_RESULTS)
+        );
     }
 
-    @GetMapping("/low-stock")
-    public ResponseEntity<ApiResponse<List<ProductResponseDto>>> getLowStockProducts() {
-        List<ProductResponseDto> response = productService.getLowStockProducts();
-        return ApiResponseUtil.success(
-                response,
-                String.format(ApiResponseConstant.FETCH_SUCCESSFUL, AppConstant.LOW_STOCK_PRODUCTS));
+    @GetMapping("/featured")
+    public ResponseEntity<byte[]> getFeaturedProducts() {
+        return ApiResponseUtil.preSerialized(catalogSnapshotService.getFeaturedProducts().body());
+    }
+
+    @GetMapping(value = "/low-stock",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> getLowStockProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return JsonStreamUtil.<ProductResponseDto>stream(accept, objectMapper, productService::streamLowStockProducts);
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,22 @@
+package com.nahid.product.dto.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StockChangeEventDto {
+    private String sourceInstanceId;
+    private List<Long> productIds;
+    @Builder.Default
+    private LocalDateTime timestamp = LocalDateTime.now();
+}
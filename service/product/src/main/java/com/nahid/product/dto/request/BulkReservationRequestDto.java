@@ -0,0 +1,25 @@
+package com.nahid.product.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static com.nahid.product.util.constant.AppConstant.MAX_BULK_RESERVATIONS;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReservationRequestDto {
+
+    @NotEmpty(message = "Reservations cannot be empty")
+    @Size(max = MAX_BULK_RESERVATIONS, message = "At most " + MAX_BULK_RESERVATIONS + " reservations per batch")
+    private List<@Valid @NotNull(message = "Reservation cannot be null") PurchaseProductRequestDto> reservations;
+}
@@ -0,0 +1,35 @@
+package com.nahid.product.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static com.nahid.product.util.constant.AppConstant.MAX_BATCH_LOOKUP_SIZE;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchRequestDto {
+
+    @Size(max = MAX_BATCH_LOOKUP_SIZE, message = "At most " + MAX_BATCH_LOOKUP_SIZE + " product IDs per batch")
+    private List<@NotNull(message = "Product ID cannot be null") Long> ids;
+
+    @Size(max = MAX_BATCH_LOOKUP_SIZE, message = "At most " + MAX_BATCH_LOOKUP_SIZE + " SKUs per batch")
+    private List<@NotBlank(message = "SKU cannot be blank") String> skus;
+
+    @JsonIgnore
+    @AssertTrue(message = "Between 1 and " + MAX_BATCH_LOOKUP_SIZE + " product IDs and SKUs are required")
+    public boolean isLookupSizeValid() {
+        int total = (ids == null ? 0 : ids.size()) + (skus == null ? 0 : skus.size());
+        return total > 0 && total <= MAX_BATCH_LOOKUP_SIZE;
+    }
+}
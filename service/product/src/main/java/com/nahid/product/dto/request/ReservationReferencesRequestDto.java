@@ -0,0 +1,24 @@
+package com.nahid.product.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static com.nahid.product.util.constant.AppConstant.MAX_BULK_RESERVATIONS;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationReferencesRequestDto {
+
+    @NotEmpty(message = "Order references cannot be empty")
+    @Size(max = MAX_BULK_RESERVATIONS, message = "At most " + MAX_BULK_RESERVATIONS + " order references per batch")
+    private List<@NotBlank(message = "Order reference cannot be blank") String> orderReferences;
+}
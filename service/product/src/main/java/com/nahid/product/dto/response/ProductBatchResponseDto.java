@@ -0,0 +1,22 @@
+package com.nahid.product.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Products found for a batch lookup. IDs and SKUs that matched nothing are listed in
+ * {@code missingIds} / {@code missingSkus} instead of failing the whole request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductBatchResponseDto {
+    private List<ProductSummaryDto> products;
+    private List<Long> missingIds;
+    private List<String> missingSkus;
+}
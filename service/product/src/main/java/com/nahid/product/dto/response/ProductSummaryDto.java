@@ -0,0 +1,22 @@
+package com.nahid.product.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSummaryDto {
+    private Long id;
+    private String sku;
+    private String name;
+    private BigDecimal price;
+    private Integer stockQuantity;
+    private Boolean isActive;
+    private String imageUrl;
+}
@@ -0,0 +1,21 @@
+package com.nahid.product.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one reservation within a bulk call. Each reservation is applied in its own transaction,
+ * so a failure is reported here instead of failing the rest of the batch.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResultDto {
+    private String orderReference;
+    private boolean success;
+    private String message;
+    private PurchaseProductResponseDto reservation;
+}
@@ -21,8 +21,9 @@ import java.time.LocalDateTime;
 @Setter
 public abstract class BaseEntity<T> {
 
+    // Pooled sequence per entity (allocation size 50) rather than IDENTITY, so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private T id;
 
     @Version
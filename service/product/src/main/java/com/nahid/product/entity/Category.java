@@ -4,10 +4,16 @@ import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
+import static com.nahid.product.util.constant.AppConstant.CATEGORY_CACHE_REGION;
+
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CATEGORY_CACHE_REGION)
 @Table(name = "categories")
 @Getter
 @Setter
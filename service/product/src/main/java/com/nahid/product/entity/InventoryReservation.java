@@ -11,7 +11,9 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "inventory_reservations")
+@Table(name = "inventory_reservations", indexes = {
+        @Index(name = "idx_inventory_reservations_status_expires_at", columnList = "status, expires_at")
+})
 @Getter
 @Setter
 @SuperBuilder
@@ -0,0 +1,9 @@
+package com.nahid.product.event;
+
+import java.util.Collection;
+
+/**
+ * Published inside the transaction that created or deleted categories; listeners act on it after commit.
+ */
+public record CategoryChangedEvent(Collection<Long> categoryIds) {
+}
@@ -0,0 +1,28 @@
+package com.nahid.product.event;
+
+import com.nahid.product.cache.CatalogSnapshotCache;
+import com.nahid.product.producer.ProductChangePublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class ProductChangeListener {
+
+    private final ProductChangePublisher productChangePublisher;
+    private final CatalogSnapshotCache catalogSnapshotCache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        catalogSnapshotCache.markProductsChanged(event.productIds());
+        productChangePublisher.publishProductChange(event.productIds());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        catalogSnapshotCache.markCategoriesChanged();
+        productChangePublisher.publishCategoryChange(event.categoryIds());
+    }
+}
@@ -0,0 +1,9 @@
+package com.nahid.product.event;
+
+import java.util.Collection;
+
+/**
+ * Published inside the transaction that created, updated or deleted products; listeners act on it after commit.
+ */
+public record ProductChangedEvent(Collection<Long> productIds) {
+}
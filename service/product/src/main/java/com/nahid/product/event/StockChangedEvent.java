@@ -0,0 +1,9 @@
+package com.nahid.product.event;
+
+import java.util.Collection;
+
+/**
+ * Published inside the transaction that changed stock; listeners act on it after commit.
+ */
+public record StockChangedEvent(Collection<Long> productIds) {
+}
@@ -2,8 +2,11 @@ package com.nahid.product.mapper;
 
 import com.nahid.product.dto.request.CreateProductRequestDto;
 import com.nahid.product.dto.response.ProductResponseDto;
+import com.nahid.product.dto.response.ProductSummaryDto;
 import com.nahid.product.dto.request.UpdateProductRequestDto;
 import com.nahid.product.entity.Product;
+import com.nahid.product.repository.projection.ProductListingRow;
+import com.nahid.product.repository.projection.ProductSummary;
 import org.mapstruct.*;
 
 import java.util.List;
@@ -25,6 +28,19 @@ public interface ProductMapper {
 
     List<ProductResponseDto> toResponseList(List<Product> products);
 
+    @Mapping(target = "dimensions", ignore = true)
+    @Mapping(target = "category.id", source = "categoryId")
+    @Mapping(target = "category.name", source = "categoryName")
+    @Mapping(target = "category.description", source = "categoryDescription")
+    @Mapping(target = "category.isActive", source = "categoryIsActive")
+    @Mapping(target = "category.createdAt", source = "categoryCreatedAt")
+    @Mapping(target = "category.updatedAt", source = "categoryUpdatedAt")
+    ProductResponseDto toResponse(ProductListingRow row);
+
+    List<ProductResponseDto> toListingResponseList(List<ProductListingRow> rows);
+
+    ProductSummaryDto toSummary(ProductSummary summary);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "sku", ignore = true)
     @Mapping(target = "category", ignore = true)
@@ -2,29 +2,34 @@ package com.nahid.product.producer;
 
 
 import com.nahid.product.dto.event.AuditEventMessageDto;
+import com.nahid.product.enums.EventStatus;
+import com.nahid.product.outbox.OutboxWriter;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
 
+/**
+ * Writes audit events to the outbox. A successful operation's event joins its transaction when the
+ * audited method runs in one; a failed operation's event is committed on its own, since the
+ * operation's transaction is about to roll back.
+ */
 @Component
 @RequiredArgsConstructor
 @Data
 public class AuditEventPublisher {
 
-    private final KafkaTemplate<String, AuditEventMessageDto> auditKafkaTemplate;
+    private final OutboxWriter outboxWriter;
     @Value("${spring.kafka.topic.audit-topic}")
     private String auditTopic;
 
+    // Sent without a type header, as the audit consumer reads every record as its own event type
     public void publishAuditEvent(AuditEventMessageDto auditEventMessageDto) {
-        auditKafkaTemplate.send(
-                MessageBuilder.withPayload(auditEventMessageDto).setHeader(KafkaHeaders.TOPIC, auditTopic)
-                        .setHeader(KafkaHeaders.KEY, auditEventMessageDto.getEventId())
-                        .build()
-        );
+        if (auditEventMessageDto.getStatus() == EventStatus.FAILED) {
+            outboxWriter.appendIndependently(auditTopic, auditEventMessageDto.getEventId(), null, auditEventMessageDto);
+        } else {
+            outboxWriter.append(auditTopic, auditEventMessageDto.getEventId(), null, auditEventMessageDto);
+        }
     }
 
 }
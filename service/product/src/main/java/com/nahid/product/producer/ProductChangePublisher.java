@@ -0,0 +1,50 @@
+package com.nahid.product.producer;
+
+import com.nahid.product.dto.event.ProductChangeEventDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductChangePublisher {
+
+    private final KafkaTemplate<String, ProductChangeEventDto> productChangeKafkaTemplate;
+
+    @Value("${spring.kafka.topic.product-change-topic}")
+    private String productChangeTopic;
+
+    public void publishProductChange(Collection<Long> productIds) {
+        send(ProductChangeEventDto.builder()
+                .productIds(List.copyOf(productIds))
+                .categoryIds(List.of())
+                .build());
+    }
+
+    public void publishCategoryChange(Collection<Long> categoryIds) {
+        send(ProductChangeEventDto.builder()
+                .productIds(List.of())
+                .categoryIds(List.copyOf(categoryIds))
+                .build());
+    }
+
+    private void send(ProductChangeEventDto event) {
+        productChangeKafkaTemplate.send(
+                MessageBuilder.withPayload(event)
+                        .setHeader(KafkaHeaders.TOPIC, productChangeTopic)
+                        .build()
+        ).exceptionally(ex -> {
+            log.warn("Failed to publish catalog change for products {} and categories {}: {}",
+                    event.getProductIds(), event.getCategoryIds(), ex.getMessage());
+            return null;
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.nahid.product.producer;
+
+import com.nahid.product.dto.event.StockChangeEventDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockChangePublisher {
+
+    private final KafkaTemplate<String, StockChangeEventDto> stockChangeKafkaTemplate;
+
+    @Getter
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${spring.kafka.topic.stock-change-topic}")
+    private String stockChangeTopic;
+
+    public void publishStockChange(Collection<Long> productIds) {
+        StockChangeEventDto event = StockChangeEventDto.builder()
+                .sourceInstanceId(instanceId)
+                .productIds(List.copyOf(productIds))
+                .build();
+        stockChangeKafkaTemplate.send(
+                MessageBuilder.withPayload(event)
+                        .setHeader(KafkaHeaders.TOPIC, stockChangeTopic)
+                        .setHeader(KafkaHeaders.KEY, instanceId)
+                        .build()
+        ).exceptionally(ex -> {
+            log.warn("Failed to publish stock change for products {}: {}", productIds, ex.getMessage());
+            return null;
+        });
+    }
+}
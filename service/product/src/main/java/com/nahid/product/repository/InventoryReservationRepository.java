@@ -1,10 +1,17 @@
 package com.nahid.product.repository;
 
 import com.nahid.product.entity.InventoryReservation;
+import com.nahid.product.enums.ReservationStatus;
+import com.nahid.product.repository.projection.ReservedQuantity;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +19,28 @@ public interface InventoryReservationRepository extends JpaRepository<InventoryR
 
     @EntityGraph(attributePaths = "items")
     Optional<InventoryReservation> findByOrderReference(String orderReference);
+
+    /**
+     * Claims a batch of due reservations. Rows already locked by another node (or by a concurrent
+     * confirm/release) are skipped, so several sweepers can run in parallel without blocking.
+     */
+    @Query(value = "SELECT r.id FROM inventory_reservations r " +
+            "WHERE r.status = 'RESERVED' AND r.expires_at <= :now " +
+            "ORDER BY r.expires_at " +
+            "LIMIT :batchSize " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> claimExpiredReservationIds(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    @Query("SELECT i.productId AS productId, SUM(i.reservedQuantity) AS quantity " +
+            "FROM InventoryReservationItem i WHERE i.reservation.id IN :reservationIds " +
+            "GROUP BY i.productId")
+    List<ReservedQuantity> sumReservedQuantitiesByProduct(@Param("reservationIds") List<Long> reservationIds);
+
+    @Modifying
+    @Query("UPDATE InventoryReservation r SET r.status = :status, r.expiresAt = null, " +
+            "r.version = r.version + 1, r.updatedAt = LOCAL DATETIME " +
+            "WHERE r.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") List<Long> ids, @Param("status") ReservationStatus status);
+
+    long countByStatusAndExpiresAtLessThanEqual(ReservationStatus status, LocalDateTime expiresAt);
 }
@@ -1,53 +1,123 @@
 package com.nahid.product.repository;
 
 import com.nahid.product.entity.Product;
+import com.nahid.product.repository.projection.ProductListingRow;
+import com.nahid.product.repository.projection.ProductPlacement;
+import com.nahid.product.repository.projection.ProductSearchHit;
+import com.nahid.product.repository.projection.ProductSummary;
+import com.nahid.product.util.constant.AppConstant;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import jakarta.persistence.LockModeType;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductStockRepository {
 
+    String LISTING_SELECT = "SELECT new com.nahid.product.repository.projection.ProductListingRow(" +
+            "p.id, p.name, p.description, p.sku, p.price, p.costPrice, p.stockQuantity, p.minStockLevel, " +
+            "p.brand, p.weight, p.isActive, p.isFeatured, p.imageUrl, p.createdAt, p.updatedAt, " +
+            "c.id, c.name, c.description, c.isActive, c.createdAt, c.updatedAt) " +
+            "FROM Product p JOIN p.category c ";
+
+    String FILTER_CONDITIONS = "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
+            "(:brand IS NULL OR LOWER(p.brand) LIKE LOWER(CONCAT('%', :brand, '%'))) AND " +
+            "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+            "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+            "(:categoryId IS NULL OR p.category.id = :categoryId)";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Product> findBySku(String sku);
 
     List<Product> findByIsActiveTrue();
 
-    List<Product> findByIsFeaturedTrue();
+    @Query(LISTING_SELECT + "WHERE p.isFeatured = true")
+    List<ProductListingRow> findFeaturedListings();
 
-    Page<Product> findByIsActiveTrue(Pageable pageable);
+    @Query("SELECT p.id AS id, p.category.id AS categoryId, p.isFeatured AS featured FROM Product p WHERE p.id IN :ids")
+    List<ProductPlacement> findPlacementsByIdIn(@Param("ids") Collection<Long> ids);
 
-    Page<Product> findByCategoryIdAndIsActiveTrue(Long categoryId, Pageable pageable);
+    @Query("SELECT p.id AS id, p.sku AS sku, p.name AS name, p.price AS price, p.stockQuantity AS stockQuantity, " +
+            "p.isActive AS isActive, p.imageUrl AS imageUrl FROM Product p WHERE p.id IN :ids OR p.sku IN :skus")
+    List<ProductSummary> findSummariesByIdInOrSkuIn(@Param("ids") Collection<Long> ids,
+                                                    @Param("skus") Collection<String> skus);
 
-    @Query("SELECT p FROM Product p WHERE p.isActive = true AND " +
-            "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
-            "(:brand IS NULL OR LOWER(p.brand) LIKE LOWER(CONCAT('%', :brand, '%'))) AND " +
-            "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
-            "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
-            "(:categoryId IS NULL OR p.category.id = :categoryId)")
-    Page<Product> findProductsWithFilters(@Param("name") String name,
-                                          @Param("brand") String brand,
-                                          @Param("minPrice") BigDecimal minPrice,
-                                          @Param("maxPrice") BigDecimal maxPrice,
-                                          @Param("categoryId") Long categoryId,
-                                          Pageable pageable);
+    @Query(value = LISTING_SELECT, countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductListingRow> findAllListings(Pageable pageable);
 
-    @Query("SELECT p FROM Product p WHERE p.stockQuantity <= p.minStockLevel")
-    List<Product> findLowStockProducts();
+    @Query(value = LISTING_SELECT + "WHERE p.isActive = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isActive = true")
+    Page<ProductListingRow> findActiveListings(Pageable pageable);
 
+    // Keyset scrolling only works on derived queries, so fetch the category in the same statement instead
+    @EntityGraph(attributePaths = "category")
+    Window<Product> findAllByOrderByCreatedAtDescIdDesc(ScrollPosition position, Limit limit);
+
+    @Query(value = LISTING_SELECT + "WHERE c.id = :categoryId AND p.isActive = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId AND p.isActive = true")
+    Page<ProductListingRow> findActiveListingsByCategory(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(value = LISTING_SELECT + "WHERE p.isActive = true AND " + FILTER_CONDITIONS,
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isActive = true AND " + FILTER_CONDITIONS)
+    Page<ProductListingRow> findListingsWithFilters(@Param("name") String name,
+                                                    @Param("brand") String brand,
+                                                    @Param("minPrice") BigDecimal minPrice,
+                                                    @Param("maxPrice") BigDecimal maxPrice,
+                                                    @Param("categoryId") Long categoryId,
+                                                    Pageable pageable);
+
+    @Query(LISTING_SELECT + "WHERE p.id IN :ids")
+    List<ProductListingRow> findListingsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppConstant.STREAM_FETCH_SIZE))
+    @Query(LISTING_SELECT + "WHERE p.stockQuantity <= p.minStockLevel ORDER BY p.id")
+    Stream<ProductListingRow> streamLowStockListings();
+
+    /**
+     * Ranked full-text search with trigram fallback for misspellings. Requires the search column and
+     * indexes created by {@code ProductSearchSchemaInitializer}. Pages with a keyset on (rank, id): pass
+     * the last hit of the previous page, or nulls for the first page.
+     */
+    @Query(value = "SELECT ranked.id AS id, ranked.rank AS rank FROM (" +
+            "  SELECT p.id, CAST(ts_rank_cd(p.search_vector, q.query) + similarity(lower(p.name), lower(:text)) AS FLOAT8) AS rank " +
+            "  FROM products p, websearch_to_tsquery('english', :text) AS q(query) " +
+            "  WHERE p.is_active = TRUE " +
+            "    AND (p.search_vector @@ q.query OR lower(p.name) % lower(:text)) " +
+            "    AND (CAST(:brand AS TEXT) IS NULL OR lower(p.brand) LIKE lower(CONCAT('%', CAST(:brand AS TEXT), '%'))) " +
+            "    AND (CAST(:minPrice AS NUMERIC) IS NULL OR p.price >= CAST(:minPrice AS NUMERIC)) " +
+            "    AND (CAST(:maxPrice AS NUMERIC) IS NULL OR p.price <= CAST(:maxPrice AS NUMERIC)) " +
+            "    AND (CAST(:categoryId AS BIGINT) IS NULL OR p.category_id = CAST(:categoryId AS BIGINT))" +
+            ") ranked " +
+            "WHERE CAST(:afterRank AS FLOAT8) IS NULL " +
+            "   OR (ranked.rank, ranked.id) < (CAST(:afterRank AS FLOAT8), CAST(:afterId AS BIGINT)) " +
+            "ORDER BY ranked.rank DESC, ranked.id DESC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<ProductSearchHit> searchRanked(@Param("text") String text,
+                                        @Param("brand") String brand,
+                                        @Param("minPrice") BigDecimal minPrice,
+                                        @Param("maxPrice") BigDecimal maxPrice,
+                                        @Param("categoryId") Long categoryId,
+                                        @Param("afterRank") Double afterRank,
+                                        @Param("afterId") Long afterId,
+                                        @Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsBySku(String sku);
 
     boolean existsBySkuAndIdNot(String sku, Long id);
-
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT p FROM Product p WHERE p.id IN :ids")
-    List<Product> findAllByIdInForUpdate(@Param("ids") List<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.nahid.product.repository;
+
+import java.util.Map;
+import java.util.Set;
+
+public interface ProductStockRepository {
+
+    /**
+     * Decrements stock for every product in one guarded statement. A row is only updated when the
+     * product is active and has enough stock, so callers must roll back when the result is not empty.
+     *
+     * @param quantitiesByProduct quantity to take, keyed by product id
+     * @return ids of the products that could not be satisfied
+     */
+    Set<Long> decrementStockIfAvailable(Map<Long, Integer> quantitiesByProduct);
+
+    /**
+     * Adds the given quantities back to stock in one statement.
+     *
+     * @param quantitiesByProduct quantity to restore, keyed by product id
+     * @return ids of the products that no longer exist
+     */
+    Set<Long> restoreStock(Map<Long, Integer> quantitiesByProduct);
+}
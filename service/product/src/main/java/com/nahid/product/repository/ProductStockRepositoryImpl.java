@@ -0,0 +1,98 @@
+package com.nahid.product.repository;
+
+import com.nahid.product.entity.Product;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    // Quantities arrive as two arrays, so every cart size shares one statement and one cached plan.
+    // The locked CTE takes the row locks in id order, so concurrent carts cannot deadlock whatever
+    // join the planner picks for the update itself.
+    private static final String DECREMENT_SQL = """
+            WITH v AS (
+                SELECT * FROM unnest(CAST(:ids AS bigint[]), CAST(:quantities AS int[])) AS v(product_id, quantity)
+            ), locked AS (
+                SELECT p.id FROM products p JOIN v ON v.product_id = p.id
+                ORDER BY p.id
+                FOR UPDATE OF p
+            )
+            UPDATE products p
+            SET stock_quantity = p.stock_quantity - v.quantity,
+                version = p.version + 1,
+                updated_at = CURRENT_TIMESTAMP
+            FROM v, locked l
+            WHERE p.id = v.product_id
+              AND l.id = p.id
+              AND p.is_active = TRUE
+              AND p.stock_quantity >= v.quantity
+            RETURNING p.id
+            """;
+
+    private static final String RESTORE_SQL = """
+            WITH v AS (
+                SELECT * FROM unnest(CAST(:ids AS bigint[]), CAST(:quantities AS int[])) AS v(product_id, quantity)
+            ), locked AS (
+                SELECT p.id FROM products p JOIN v ON v.product_id = p.id
+                ORDER BY p.id
+                FOR UPDATE OF p
+            )
+            UPDATE products p
+            SET stock_quantity = p.stock_quantity + v.quantity,
+                version = p.version + 1,
+                updated_at = CURRENT_TIMESTAMP
+            FROM v, locked l
+            WHERE p.id = v.product_id
+              AND l.id = p.id
+            RETURNING p.id
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Set<Long> decrementStockIfAvailable(Map<Long, Integer> quantitiesByProduct) {
+        return executeBulkUpdate(DECREMENT_SQL, quantitiesByProduct);
+    }
+
+    @Override
+    public Set<Long> restoreStock(Map<Long, Integer> quantitiesByProduct) {
+        return executeBulkUpdate(RESTORE_SQL, quantitiesByProduct);
+    }
+
+    private Set<Long> executeBulkUpdate(String sql, Map<Long, Integer> quantitiesByProduct) {
+        if (quantitiesByProduct.isEmpty()) {
+            return Set.of();
+        }
+
+        Long[] ids = new Long[quantitiesByProduct.size()];
+        Integer[] quantities = new Integer[quantitiesByProduct.size()];
+        int i = 0;
+        for (Map.Entry<Long, Integer> entry : quantitiesByProduct.entrySet()) {
+            ids[i] = entry.getKey();
+            quantities[i] = entry.getValue();
+            i++;
+        }
+
+        Query query = entityManager.createNativeQuery(sql, Long.class)
+                .setParameter("ids", ids)
+                .setParameter("quantities", quantities);
+
+        // Native updates bypass the second-level cache, so drop the rows we changed; the
+        // after-commit stock listener evicts them again once the new values are visible
+        Cache secondLevelCache = entityManager.getEntityManagerFactory().getCache();
+        Set<Long> unmatched = new HashSet<>(quantitiesByProduct.keySet());
+        for (Object updatedId : query.getResultList()) {
+            long productId = ((Number) updatedId).longValue();
+            unmatched.remove(productId);
+            secondLevelCache.evict(Product.class, productId);
+        }
+        return unmatched;
+    }
+}
@@ -0,0 +1,31 @@
+package com.nahid.product.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat row for product listings: every column {@code ProductResponseDto} renders, with the category
+ * columns joined in, so a page is read in one statement instead of one per product for its category.
+ */
+public record ProductListingRow(Long id,
+                                String name,
+                                String description,
+                                String sku,
+                                BigDecimal price,
+                                BigDecimal costPrice,
+                                Integer stockQuantity,
+                                Integer minStockLevel,
+                                String brand,
+                                BigDecimal weight,
+                                Boolean isActive,
+                                Boolean isFeatured,
+                                String imageUrl,
+                                LocalDateTime createdAt,
+                                LocalDateTime updatedAt,
+                                Long categoryId,
+                                String categoryName,
+                                String categoryDescription,
+                                Boolean categoryIsActive,
+                                LocalDateTime categoryCreatedAt,
+                                LocalDateTime categoryUpdatedAt) {
+}
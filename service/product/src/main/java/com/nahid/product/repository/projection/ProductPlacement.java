@@ -0,0 +1,10 @@
+package com.nahid.product.repository.projection;
+
+public interface ProductPlacement {
+
+    Long getId();
+
+    Long getCategoryId();
+
+    Boolean getFeatured();
+}
@@ -0,0 +1,8 @@
+package com.nahid.product.repository.projection;
+
+public interface ProductSearchHit {
+
+    Long getId();
+
+    Double getRank();
+}
@@ -0,0 +1,20 @@
+package com.nahid.product.repository.projection;
+
+import java.math.BigDecimal;
+
+public interface ProductSummary {
+
+    Long getId();
+
+    String getSku();
+
+    String getName();
+
+    BigDecimal getPrice();
+
+    Integer getStockQuantity();
+
+    Boolean getIsActive();
+
+    String getImageUrl();
+}
@@ -0,0 +1,8 @@
+package com.nahid.product.repository.projection;
+
+public interface ReservedQuantity {
+
+    Long getProductId();
+
+    Long getQuantity();
+}
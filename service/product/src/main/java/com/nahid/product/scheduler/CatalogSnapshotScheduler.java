@@ -0,0 +1,25 @@
+package com.nahid.product.scheduler;
+
+import com.nahid.product.service.CatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSnapshotScheduler {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    // Bursts of stock changes collapse into one rebuild per affected snapshot per interval
+    @Scheduled(fixedDelayString = "${catalog.snapshot.rebuild-interval-ms:1000}")
+    public void rebuildChangedSnapshots() {
+        try {
+            catalogSnapshotService.rebuildChangedSnapshots();
+        } catch (Exception e) {
+            log.error("Error rebuilding catalog snapshots: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.nahid.product.scheduler;
+
+import com.nahid.product.service.ReservationExpiryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class ReservationExpiryScheduler {
+
+    private final ReservationExpiryService reservationExpiryService;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Timer sweepTimer;
+    private final Counter releasedCounter;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public ReservationExpiryScheduler(ReservationExpiryService reservationExpiryService,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${inventory.reservation.expiry.batch-size:200}") int batchSize,
+                                      @Value("${inventory.reservation.expiry.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.reservationExpiryService = reservationExpiryService;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.sweepTimer = Timer.builder("inventory.reservation.expiry.sweep")
+                .description("Time taken by one expired-reservation sweep")
+                .register(meterRegistry);
+        this.releasedCounter = Counter.builder("inventory.reservation.expiry.released")
+                .description("Expired reservations released by the sweeper")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reservation.expiry.backlog", backlog, AtomicLong::get)
+                .description("Expired reservations still waiting to be released after the last sweep")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.expiry.interval-ms:30000}")
+    public void releaseExpiredReservations() {
+        try {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            int released = sweep();
+            sample.stop(sweepTimer);
+            backlog.set(reservationExpiryService.countExpiredReservations());
+            if (released > 0) {
+                log.info("Released {} expired inventory reservations, {} still due", released, backlog.get());
+            }
+        } catch (Exception e) {
+            log.error("Error during expired reservation sweep: {}", e.getMessage(), e);
+        }
+    }
+
+    private int sweep() {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int released = reservationExpiryService.releaseExpiredReservations(batchSize);
+            total += released;
+            releasedCounter.increment(released);
+            if (released < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,23 @@
+package com.nahid.product.service;
+
+import com.nahid.product.cache.CatalogSnapshotCache.JsonSnapshot;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public interface CatalogSnapshotService {
+
+    /**
+     * The page {@code /api/v1/products/category/{id}} serves when no paging parameters are given;
+     * only this page is kept as a snapshot.
+     */
+    Pageable DEFAULT_CATEGORY_PAGE = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    JsonSnapshot getFeaturedProducts();
+
+    JsonSnapshot getActiveCategories();
+
+    JsonSnapshot getProductsByCategory(Long categoryId);
+
+    void rebuildChangedSnapshots();
+}
@@ -0,0 +1,12 @@
+package com.nahid.product.service;
+
+import com.nahid.product.dto.response.CursorPageDto;
+import com.nahid.product.dto.response.ProductResponseDto;
+
+import java.math.BigDecimal;
+
+public interface ProductSearchService {
+
+    CursorPageDto<ProductResponseDto> search(String text, String brand, BigDecimal minPrice, BigDecimal maxPrice,
+                                Long categoryId, String cursor, int size);
+}
@@ -1,22 +1,29 @@
 package com.nahid.product.service;
 
 import com.nahid.product.dto.request.CreateProductRequestDto;
+import com.nahid.product.dto.request.ProductBatchRequestDto;
 import com.nahid.product.dto.request.PurchaseProductRequestDto;
 import com.nahid.product.dto.request.UpdateProductRequestDto;
+import com.nahid.product.dto.response.CursorPageDto;
+import com.nahid.product.dto.response.ProductBatchResponseDto;
 import com.nahid.product.dto.response.ProductResponseDto;
 import com.nahid.product.dto.response.PurchaseProductResponseDto;
+import com.nahid.product.dto.response.ReservationResultDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProductService {
     // CRUD operations
     ProductResponseDto createProduct(CreateProductRequestDto request);
     ProductResponseDto getProductById(Long id);
     ProductResponseDto getProductBySku(String sku);
+    ProductBatchResponseDto getProductsBatch(ProductBatchRequestDto request);
     Page<ProductResponseDto> getAllProducts(Pageable pageable);
+    CursorPageDto<ProductResponseDto> scrollAllProducts(String cursor, int size);
     ProductResponseDto updateProduct(Long id, UpdateProductRequestDto request);
     void deleteProduct(Long id);
 
@@ -25,8 +32,10 @@ public interface ProductService {
     Page<ProductResponseDto> getProductsByCategory(Long categoryId, Pageable pageable);
     Page<ProductResponseDto> searchProducts(String name, String brand, BigDecimal minPrice,
                                          BigDecimal maxPrice, Long categoryId, Pageable pageable);
+    CursorPageDto<ProductResponseDto> searchProductsRanked(String text, String brand, BigDecimal minPrice,
+                                              BigDecimal maxPrice, Long categoryId, String cursor, int size);
     List<ProductResponseDto> getFeaturedProducts();
-    List<ProductResponseDto> getLowStockProducts();
+    void streamLowStockProducts(Consumer<ProductResponseDto> sink);
 
     // Inventory operations
     ProductResponseDto updateStock(Long id, Integer newStock);
@@ -38,4 +47,10 @@ public interface ProductService {
     void confirmReservation(String orderReference);
 
     void releaseReservation(String orderReference);
+
+    List<ReservationResultDto> reserveInventoryBulk(List<PurchaseProductRequestDto> requests);
+
+    List<ReservationResultDto> confirmReservations(List<String> orderReferences);
+
+    List<ReservationResultDto> releaseReservations(List<String> orderReferences);
 }
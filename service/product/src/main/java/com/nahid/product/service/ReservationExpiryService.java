@@ -0,0 +1,13 @@
+package com.nahid.product.service;
+
+public interface ReservationExpiryService {
+
+    /**
+     * Releases one batch of expired reservations and returns their stock.
+     *
+     * @return number of reservations released; less than {@code batchSize} means the backlog is drained
+     */
+    int releaseExpiredReservations(int batchSize);
+
+    long countExpiredReservations();
+}
@@ -0,0 +1,196 @@
+package com.nahid.product.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nahid.product.cache.CatalogSnapshotCache;
+import com.nahid.product.cache.CatalogSnapshotCache.JsonSnapshot;
+import com.nahid.product.dto.response.CategoryResponseDto;
+import com.nahid.product.dto.response.ProductResponseDto;
+import com.nahid.product.repository.ProductRepository;
+import com.nahid.product.repository.projection.ProductPlacement;
+import com.nahid.product.service.CatalogSnapshotService;
+import com.nahid.product.service.CategoryService;
+import com.nahid.product.service.ProductService;
+import com.nahid.product.util.constant.ApiResponseConstant;
+import com.nahid.product.util.constant.AppConstant;
+import com.nahid.product.util.helper.ApiResponseUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the homepage listing snapshots from the regular service methods, so a snapshot is byte for
+ * byte what the uncached endpoint would have rendered at build time. Snapshots are built on first
+ * request and afterwards only rebuilt when a change touches them, or when they reach their maximum age.
+ * A snapshot built on first request is stored only if no change arrived while it was being built;
+ * otherwise it may predate a change the scheduler has already drained, and is built again.
+ */
+@Service
+@Slf4j
+public class CatalogSnapshotServiceImpl implements CatalogSnapshotService {
+
+    private static final int MAX_FIRST_BUILD_ATTEMPTS = 3;
+
+    private final CatalogSnapshotCache snapshotCache;
+    private final ProductService productService;
+    private final CategoryService categoryService;
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final long maxAgeMillis;
+
+    public CatalogSnapshotServiceImpl(CatalogSnapshotCache snapshotCache,
+                                      ProductService productService,
+                                      CategoryService categoryService,
+                                      ProductRepository productRepository,
+                                      ObjectMapper objectMapper,
+                                      @Value("${catalog.snapshot.max-age-ms:300000}") long maxAgeMillis) {
+        this.snapshotCache = snapshotCache;
+        this.productService = productService;
+        this.categoryService = categoryService;
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    @Override
+    public JsonSnapshot getFeaturedProducts() {
+        JsonSnapshot snapshot = snapshotCache.getFeaturedProducts();
+        return snapshot != null ? snapshot : buildFirst(this::buildFeaturedProducts, snapshotCache::setFeaturedProducts);
+    }
+
+    @Override
+    public JsonSnapshot getActiveCategories() {
+        JsonSnapshot snapshot = snapshotCache.getActiveCategories();
+        return snapshot != null ? snapshot : buildFirst(this::buildActiveCategories, snapshotCache::setActiveCategories);
+    }
+
+    @Override
+    public JsonSnapshot getProductsByCategory(Long categoryId) {
+        JsonSnapshot snapshot = snapshotCache.getProductsByCategory().get(categoryId);
+        // Unknown categories throw while building and are never stored
+        return snapshot != null ? snapshot : buildFirst(() -> buildProductsByCategory(categoryId),
+                built -> snapshotCache.getProductsByCategory().put(categoryId, built));
+    }
+
+    @Override
+    public void rebuildChangedSnapshots() {
+        long now = System.currentTimeMillis();
+        Set<Long> changedProducts = snapshotCache.drainChangedProducts();
+        boolean categoriesChanged = snapshotCache.drainCategoriesChanged();
+        try {
+            rebuild(changedProducts, categoriesChanged, now);
+        } catch (RuntimeException ex) {
+            // Put the changes back so the next run retries them
+            snapshotCache.markProductsChanged(changedProducts);
+            if (categoriesChanged) {
+                snapshotCache.markCategoriesChanged();
+            }
+            throw ex;
+        }
+    }
+
+    private void rebuild(Set<Long> changedProducts, boolean categoriesChanged, long now) {
+        Set<Long> affectedCategories = new HashSet<>();
+        boolean featuredAffected = false;
+        if (!changedProducts.isEmpty()) {
+            // Current placement covers products that moved into a listing; snapshot membership covers
+            // products that moved out of one or were deleted
+            for (ProductPlacement placement : productRepository.findPlacementsByIdIn(changedProducts)) {
+                affectedCategories.add(placement.getCategoryId());
+                featuredAffected |= Boolean.TRUE.equals(placement.getFeatured());
+            }
+            snapshotCache.getProductsByCategory().forEach((categoryId, snapshot) -> {
+                if (snapshot.containsAny(changedProducts)) {
+                    affectedCategories.add(categoryId);
+                }
+            });
+        }
+
+        JsonSnapshot featured = snapshotCache.getFeaturedProducts();
+        if (featured != null && (featuredAffected || featured.containsAny(changedProducts) || isExpired(featured, now))) {
+            snapshotCache.setFeaturedProducts(buildFeaturedProducts());
+        }
+        JsonSnapshot categories = snapshotCache.getActiveCategories();
+        if (categories != null && (categoriesChanged || isExpired(categories, now))) {
+            snapshotCache.setActiveCategories(buildActiveCategories());
+        }
+        if (categoriesChanged) {
+            // A deleted category must stop being served; the rest are rebuilt on next request
+            snapshotCache.getProductsByCategory().clear();
+            return;
+        }
+        for (Map.Entry<Long, JsonSnapshot> entry : snapshotCache.getProductsByCategory().entrySet()) {
+            if (affectedCategories.contains(entry.getKey()) || isExpired(entry.getValue(), now)) {
+                rebuildProductsByCategory(entry.getKey());
+            }
+        }
+    }
+
+    private JsonSnapshot buildFirst(Supplier<JsonSnapshot> build, Consumer<JsonSnapshot> store) {
+        JsonSnapshot snapshot = null;
+        for (int attempt = 0; attempt < MAX_FIRST_BUILD_ATTEMPTS; attempt++) {
+            long changeSequence = snapshotCache.getChangeSequence();
+            snapshot = build.get();
+            JsonSnapshot built = snapshot;
+            if (snapshotCache.storeIfUnchanged(changeSequence, () -> store.accept(built))) {
+                return snapshot;
+            }
+        }
+        // Changes keep arriving: serve the latest build without storing it; a later request stores one
+        return snapshot;
+    }
+
+    private void rebuildProductsByCategory(Long categoryId) {
+        try {
+            snapshotCache.getProductsByCategory().put(categoryId, buildProductsByCategory(categoryId));
+        } catch (RuntimeException ex) {
+            log.warn("Dropping product snapshot for category {}: {}", categoryId, ex.getMessage());
+            snapshotCache.getProductsByCategory().remove(categoryId);
+        }
+    }
+
+    private boolean isExpired(JsonSnapshot snapshot, long now) {
+        return now - snapshot.builtAtMillis() >= maxAgeMillis;
+    }
+
+    private JsonSnapshot buildFeaturedProducts() {
+        List<ProductResponseDto> products = productService.getFeaturedProducts();
+        return render(products, productIds(products),
+                String.format(ApiResponseConstant.FETCH_SUCCESSFUL, AppConstant.FEATURED_PRODUCTS));
+    }
+
+    private JsonSnapshot buildActiveCategories() {
+        List<CategoryResponseDto> categories = categoryService.getActiveCategories();
+        return render(categories, Set.of(),
+                String.format(ApiResponseConstant.FETCH_SUCCESSFUL, AppConstant.ACTIVE_CATEGORIES));
+    }
+
+    private JsonSnapshot buildProductsByCategory(Long categoryId) {
+        Page<ProductResponseDto> page = productService.getProductsByCategory(categoryId, DEFAULT_CATEGORY_PAGE);
+        return render(page, productIds(page.getContent()),
+                String.format(ApiResponseConstant.FETCH_SUCCESSFUL, AppConstant.CATEGORY_PRODUCTS));
+    }
+
+    private JsonSnapshot render(Object data, Set<Long> productIds, String message) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(ApiResponseUtil.success(data, message).getBody());
+            return new JsonSnapshot(body, productIds, System.currentTimeMillis());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialise catalog snapshot", e);
+        }
+    }
+
+    private static Set<Long> productIds(Collection<ProductResponseDto> products) {
+        return products.stream().map(ProductResponseDto::getId).collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -3,6 +3,7 @@ package com.nahid.product.service.impl;
 import com.nahid.product.dto.response.CategoryResponseDto;
 import com.nahid.product.dto.request.CreateCategoryRequestDto;
 import com.nahid.product.entity.Category;
+import com.nahid.product.event.CategoryChangedEvent;
 import com.nahid.product.exception.DuplicateResourceException;
 import com.nahid.product.exception.ResourceNotFoundException;
 import com.nahid.product.mapper.CategoryMapper;
@@ -10,6 +11,7 @@ import com.nahid.product.repository.CategoryRepository;
 import com.nahid.product.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +25,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public CategoryResponseDto createCategory(CreateCategoryRequestDto request) {
@@ -32,6 +35,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
         Category category = categoryMapper.toEntity(request);
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(List.of(savedCategory.getId())));
         return categoryMapper.toResponse(savedCategory);
     }
 
@@ -66,5 +70,6 @@ public class CategoryServiceImpl implements CategoryService {
             throw new ResourceNotFoundException("Category not found with ID: " + id);
         }
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(List.of(id)));
     }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.nahid.product.service.impl;
 
+import com.nahid.product.cache.AvailableToPromiseCache;
 import com.nahid.product.dto.response.ProductResponseDto;
 import com.nahid.product.entity.Product;
+import com.nahid.product.event.StockChangedEvent;
 import com.nahid.product.exception.ResourceNotFoundException;
 import com.nahid.product.exception.StockUpdateException;
 import com.nahid.product.mapper.ProductMapper;
@@ -9,11 +11,14 @@ import com.nahid.product.repository.ProductRepository;
 import com.nahid.product.service.InventoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -22,6 +27,8 @@ public class InventoryServiceImpl implements InventoryService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final AvailableToPromiseCache availableToPromiseCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(propagation = Propagation.REQUIRED, isolation = Isolation.REPEATABLE_READ, rollbackFor = Exception.class)
@@ -33,15 +40,19 @@ public class InventoryServiceImpl implements InventoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
         product.setStockQuantity(newStock);
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new StockChangedEvent(List.of(id)));
         return productMapper.toResponse(updatedProduct);
     }
 
     @Override
     @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public boolean isProductAvailable(Long id, Integer requiredQuantity) {
+        AvailableToPromiseCache.StockLevel level = availableToPromiseCache.get(id);
+        if (level == null) {
             Product product = productRepository.findById(id)
                     .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
-            return product.getIsActive() && product.getStockQuantity() >= requiredQuantity;
-
+            level = availableToPromiseCache.put(id, product.getStockQuantity(), Boolean.TRUE.equals(product.getIsActive()));
+        }
+        return level.canSatisfy(requiredQuantity);
     }
 }
@@ -0,0 +1,75 @@
+package com.nahid.product.service.impl;
+
+import com.nahid.product.dto.response.ProductResponseDto;
+import com.nahid.product.dto.response.CursorPageDto;
+import com.nahid.product.mapper.ProductMapper;
+import com.nahid.product.repository.ProductRepository;
+import com.nahid.product.repository.projection.ProductListingRow;
+import com.nahid.product.repository.projection.ProductSearchHit;
+import com.nahid.product.service.ProductSearchService;
+import com.nahid.product.util.helper.SearchCursorUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<ProductResponseDto> search(String text, String brand, BigDecimal minPrice, BigDecimal maxPrice,
+                                       Long categoryId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        SearchCursorUtil.SearchCursor after = cursor == null || cursor.isBlank()
+                ? null
+                : SearchCursorUtil.decode(cursor);
+
+        // Fetch one extra hit to learn whether another page exists without a count query
+        List<ProductSearchHit> hits = productRepository.searchRanked(
+                text.trim(), brand, minPrice, maxPrice, categoryId,
+                after != null ? after.rank() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+
+        boolean hasNext = hits.size() > pageSize;
+        List<ProductSearchHit> pageHits = hasNext ? hits.subList(0, pageSize) : hits;
+
+        Map<Long, ProductListingRow> productsById = productRepository.findListingsByIdIn(
+                        pageHits.stream().map(ProductSearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(ProductListingRow::id, Function.identity()));
+
+        List<ProductResponseDto> items = pageHits.stream()
+                .map(hit -> productsById.get(hit.getId()))
+                .filter(Objects::nonNull)
+                .map(productMapper::toResponse)
+                .toList();
+
+        String nextCursor = null;
+        if (hasNext) {
+            ProductSearchHit last = pageHits.get(pageHits.size() - 1);
+            nextCursor = SearchCursorUtil.encode(last.getRank(), last.getId());
+        }
+
+        return CursorPageDto.<ProductResponseDto>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+}
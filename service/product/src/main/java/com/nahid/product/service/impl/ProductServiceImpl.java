@@ -1,24 +1,39 @@
 package com.nahid.product.service.impl;
 
+import com.nahid.product.cache.SingleFlight;
 import com.nahid.product.dto.request.CreateProductRequestDto;
+import com.nahid.product.dto.request.ProductBatchRequestDto;
 import com.nahid.product.dto.request.PurchaseProductRequestDto;
 import com.nahid.product.dto.request.UpdateProductRequestDto;
+import com.nahid.product.dto.response.CursorPageDto;
+import com.nahid.product.dto.response.ProductBatchResponseDto;
+import com.nahid.product.dto.response.ProductSummaryDto;
 import com.nahid.product.dto.response.ProductResponseDto;
 import com.nahid.product.dto.response.PurchaseProductResponseDto;
+import com.nahid.product.dto.response.ReservationResultDto;
 import com.nahid.product.entity.Category;
 import com.nahid.product.entity.Product;
+import com.nahid.product.event.ProductChangedEvent;
+import com.nahid.product.event.StockChangedEvent;
 import com.nahid.product.exception.DuplicateResourceException;
+import com.nahid.product.exception.PurchaseException;
 import com.nahid.product.exception.ResourceNotFoundException;
 import com.nahid.product.mapper.ProductMapper;
 import com.nahid.product.repository.CategoryRepository;
 import com.nahid.product.repository.ProductRepository;
+import com.nahid.product.repository.projection.ProductListingRow;
+import com.nahid.product.repository.projection.ProductSummary;
+import com.nahid.product.service.ProductSearchService;
 import com.nahid.product.service.ProductService;
 import com.nahid.product.service.InventoryService;
 import com.nahid.product.service.PurchaseService;
 
 import com.nahid.product.util.annotation.Auditable;
+import com.nahid.product.util.helper.KeysetCursorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -27,7 +42,14 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static com.nahid.product.util.constant.AppConstant.PRODUCT;
 
@@ -42,6 +64,9 @@ public class ProductServiceImpl implements ProductService {
     private final ProductMapper productMapper;
     private final InventoryService inventoryService;
     private final PurchaseService purchaseService;
+    private final ProductSearchService productSearchService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight singleFlight;
 
     @Override
     @Transactional(propagation = Propagation.REQUIRED, isolation = Isolation.REPEATABLE_READ, rollbackFor = Exception.class)
@@ -61,41 +86,78 @@ public class ProductServiceImpl implements ProductService {
         product.setImageUrl(request.getImageUrl());
 
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(savedProduct.getId())));
 
         return productMapper.toResponse(savedProduct);
 
     }
 
+    // Hot reads are coalesced; SUPPORTS keeps waiting followers from holding a connection
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public ProductResponseDto getProductById(Long id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
+        return singleFlight.execute("getProductById", id, () -> {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
 
-        return productMapper.toResponse(product);
+            return productMapper.toResponse(product);
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
-    public ProductResponseDto getProductBySku(String sku) {
+    public ProductBatchResponseDto getProductsBatch(ProductBatchRequestDto request) {
+        Set<Long> ids = request.getIds() == null ? Set.of() : new LinkedHashSet<>(request.getIds());
+        Set<String> skus = request.getSkus() == null ? Set.of() : new LinkedHashSet<>(request.getSkus());
+
+        // One statement for the whole batch; whatever did not match is reported back rather than failing
+        Set<Long> foundIds = new HashSet<>();
+        Set<String> foundSkus = new HashSet<>();
+        List<ProductSummaryDto> products = new ArrayList<>();
+        for (ProductSummary summary : productRepository.findSummariesByIdInOrSkuIn(ids, skus)) {
+            foundIds.add(summary.getId());
+            foundSkus.add(summary.getSku());
+            products.add(productMapper.toSummary(summary));
+        }
 
-        Product product = productRepository.findBySku(sku)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with SKU: " + sku));
+        return ProductBatchResponseDto.builder()
+                .products(products)
+                .missingIds(ids.stream().filter(id -> !foundIds.contains(id)).toList())
+                .missingSkus(skus.stream().filter(sku -> !foundSkus.contains(sku)).toList())
+                .build();
+    }
 
-        return productMapper.toResponse(product);
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public ProductResponseDto getProductBySku(String sku) {
+        return singleFlight.execute("getProductBySku", sku, () -> {
+            Product product = productRepository.findBySku(sku)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with SKU: " + sku));
+
+            return productMapper.toResponse(product);
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ProductResponseDto> getAllProducts(Pageable pageable) {
-        Page<Product> products = productRepository.findAll(pageable);
+        Page<ProductListingRow> products = productRepository.findAllListings(pageable);
         return products.map(productMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<ProductResponseDto> scrollAllProducts(String cursor, int size) {
+        return KeysetCursorUtil.toPage(productRepository.findAllByOrderByCreatedAtDescIdDesc(
+                        KeysetCursorUtil.decode(cursor, Long::valueOf),
+                        Limit.of(KeysetCursorUtil.pageSize(size)))
+                .map(productMapper::toResponse));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ProductResponseDto> getActiveProducts(Pageable pageable) {
-        Page<Product> products = productRepository.findByIsActiveTrue(pageable);
+        Page<ProductListingRow> products = productRepository.findActiveListings(pageable);
         return products.map(productMapper::toResponse);
     }
 
@@ -107,7 +169,7 @@ public class ProductServiceImpl implements ProductService {
             throw new ResourceNotFoundException("Category not found with ID: " + categoryId);
         }
 
-        Page<Product> products = productRepository.findByCategoryIdAndIsActiveTrue(categoryId, pageable);
+        Page<ProductListingRow> products = productRepository.findActiveListingsByCategory(categoryId, pageable);
         return products.map(productMapper::toResponse);
     }
 
@@ -116,23 +178,32 @@ public class ProductServiceImpl implements ProductService {
     public Page<ProductResponseDto> searchProducts(String name, String brand, BigDecimal minPrice,
                                                    BigDecimal maxPrice, Long categoryId, Pageable pageable) {
 
-        Page<Product> products = productRepository.findProductsWithFilters(
+        Page<ProductListingRow> products = productRepository.findListingsWithFilters(
                 name, brand, minPrice, maxPrice, categoryId, pageable);
         return products.map(productMapper::toResponse);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public CursorPageDto<ProductResponseDto> searchProductsRanked(String text, String brand, BigDecimal minPrice,
+                                                     BigDecimal maxPrice, Long categoryId, String cursor, int size) {
+        return productSearchService.search(text, brand, minPrice, maxPrice, categoryId, cursor, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<ProductResponseDto> getFeaturedProducts() {
-        List<Product> products = productRepository.findByIsFeaturedTrue();
-        return productMapper.toResponseList(products);
+        return singleFlight.execute("getFeaturedProducts", "all", () ->
+                List.copyOf(productMapper.toListingResponseList(productRepository.findFeaturedListings())));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProductResponseDto> getLowStockProducts() {
-        List<Product> products = productRepository.findLowStockProducts();
-        return productMapper.toResponseList(products);
+    public void streamLowStockProducts(Consumer<ProductResponseDto> sink) {
+        // Rows are plain records, so nothing accumulates in the persistence context while streaming
+        try (Stream<ProductListingRow> rows = productRepository.streamLowStockListings()) {
+            rows.forEach(row -> sink.accept(productMapper.toResponse(row)));
+        }
     }
 
     @Override
@@ -153,6 +224,9 @@ public class ProductServiceImpl implements ProductService {
         productMapper.updateProductFromRequest(request, existingProduct);
 
         Product updatedProduct = productRepository.save(existingProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
+        // The request may change stockQuantity or isActive, which the available-to-promise cache holds
+        eventPublisher.publishEvent(new StockChangedEvent(List.of(id)));
 
         return productMapper.toResponse(updatedProduct);
 
@@ -167,6 +241,8 @@ public class ProductServiceImpl implements ProductService {
             throw new ResourceNotFoundException("Product not found with ID: " + id);
         }
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
+        eventPublisher.publishEvent(new StockChangedEvent(List.of(id)));
 
     }
 
@@ -177,7 +253,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public boolean isProductAvailable(Long id, Integer requiredQuantity) {
         return inventoryService.isProductAvailable(id, requiredQuantity);
     }
@@ -200,4 +276,64 @@ public class ProductServiceImpl implements ProductService {
         purchaseService.releaseReservation(orderReference);
     }
 
+    // The bulk operations run outside a transaction so each reservation commits or fails on its own
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ReservationResultDto> reserveInventoryBulk(List<PurchaseProductRequestDto> requests) {
+        List<ReservationResultDto> results = new ArrayList<>(requests.size());
+        for (PurchaseProductRequestDto request : requests) {
+            results.add(applyToReservation(request.getOrderReference(),
+                    () -> purchaseService.reserveInventory(request)));
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ReservationResultDto> confirmReservations(List<String> orderReferences) {
+        List<ReservationResultDto> results = new ArrayList<>(orderReferences.size());
+        for (String orderReference : orderReferences) {
+            results.add(applyToReservation(orderReference, () -> {
+                purchaseService.confirmReservation(orderReference);
+                return null;
+            }));
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ReservationResultDto> releaseReservations(List<String> orderReferences) {
+        List<ReservationResultDto> results = new ArrayList<>(orderReferences.size());
+        for (String orderReference : orderReferences) {
+            results.add(applyToReservation(orderReference, () -> {
+                purchaseService.releaseReservation(orderReference);
+                return null;
+            }));
+        }
+        return results;
+    }
+
+    private ReservationResultDto applyToReservation(String orderReference,
+                                                    Supplier<PurchaseProductResponseDto> operation) {
+        try {
+            return ReservationResultDto.builder()
+                    .orderReference(orderReference)
+                    .success(true)
+                    .reservation(operation.get())
+                    .build();
+        } catch (RuntimeException ex) {
+            // Stock and validation failures are expected outcomes; anything else is worth a stack trace
+            if (!(ex instanceof PurchaseException)) {
+                log.error("Bulk reservation operation failed for order {}", orderReference, ex);
+            }
+            return ReservationResultDto.builder()
+                    .orderReference(orderReference)
+                    .success(false)
+                    .message(ex.getMessage())
+                    .build();
+        }
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.nahid.product.service.impl;
 
+import com.nahid.product.cache.AvailableToPromiseCache;
 import com.nahid.product.dto.request.PurchaseProductItemDto;
 import com.nahid.product.dto.request.PurchaseProductRequestDto;
 import com.nahid.product.dto.response.PurchaseProductItemResultDto;
@@ -8,6 +9,7 @@ import com.nahid.product.entity.InventoryReservation;
 import com.nahid.product.entity.InventoryReservationItem;
 import com.nahid.product.entity.Product;
 import com.nahid.product.enums.ReservationStatus;
+import com.nahid.product.event.StockChangedEvent;
 import com.nahid.product.exception.PurchaseException;
 import com.nahid.product.repository.InventoryReservationRepository;
 import com.nahid.product.repository.ProductRepository;
@@ -15,6 +17,7 @@ import com.nahid.product.service.PurchaseService;
 import com.nahid.product.util.constant.ExceptionMessageConstant;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
@@ -35,6 +38,8 @@ public class PurchaseServiceImpl implements PurchaseService {
 
     private final ProductRepository productRepository;
     private final InventoryReservationRepository reservationRepository;
+    private final AvailableToPromiseCache availableToPromiseCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(propagation = Propagation.REQUIRED)
@@ -56,13 +61,17 @@ public class PurchaseServiceImpl implements PurchaseService {
             return buildReservationResponse(reservation);
         }
 
+        rejectKnownUnavailableItems(request.getItems());
+
         List<Long> productIds = request.getItems().stream()
                 .map(PurchaseProductItemDto::getProductId)
                 .toList();
 
-        List<Product> products = productIds.isEmpty()
-                ? List.of()
-                : productRepository.findAllByIdInForUpdate(productIds);
+        // Unlocked snapshot: only used for the availability precheck and the response payload.
+        // The authoritative stock check happens in the guarded decrement below.
+        List<Product> products = productRepository.findAllById(productIds);
+        products.forEach(product -> availableToPromiseCache.put(
+                product.getId(), product.getStockQuantity(), Boolean.TRUE.equals(product.getIsActive())));
 
         Map<Long, Product> productsById = products.stream()
                 .collect(Collectors.toMap(Product::getId, product -> product));
@@ -101,17 +110,6 @@ public class PurchaseServiceImpl implements PurchaseService {
                     errorDetail));
         }
 
-        // reserve inventory atomically
-        request.getItems().forEach(item -> {
-            Product product = productsById.get(item.getProductId());
-            int newStock = product.getStockQuantity() - item.getQuantity();
-            if (newStock < 0) {
-                throw new IllegalStateException("Cannot reserve more stock than available for product: " + product.getName());
-            }
-            product.setStockQuantity(newStock);
-        });
-        productRepository.saveAll(products);
-
         reservation.getItems().clear();
         request.getItems().forEach(item -> {
             Product product = productsById.get(item.getProductId());
@@ -126,6 +124,9 @@ public class PurchaseServiceImpl implements PurchaseService {
         reservation.setExpiresAt(LocalDateTime.now().plusMinutes(DEFAULT_RESERVATION_MINUTES));
         reservationRepository.save(reservation);
 
+        // Decrement last so the product row locks are held only until commit
+        decrementStock(request.getItems());
+
         return PurchaseProductResponseDto.builder()
                 .orderReference(request.getOrderReference())
                 .items(itemResults)
@@ -153,27 +154,67 @@ public class PurchaseServiceImpl implements PurchaseService {
                     if (reservation.getStatus() != ReservationStatus.RESERVED) {
                         return;
                     }
-                    List<Long> productIds = reservation.getItems().stream()
-                            .map(InventoryReservationItem::getProductId)
-                            .toList();
-                    if (!productIds.isEmpty()) {
-                        List<Product> products = productRepository.findAllByIdInForUpdate(productIds);
-                        Map<Long, Product> productsById = products.stream()
-                                .collect(Collectors.toMap(Product::getId, product -> product));
-                        reservation.getItems().forEach(item -> {
-                            Product product = productsById.get(item.getProductId());
-                            if (product != null) {
-                                product.setStockQuantity(product.getStockQuantity() + item.getReservedQuantity());
-                            }
-                        });
-                        productRepository.saveAll(products);
+                    Map<Long, Integer> quantitiesByProduct = reservation.getItems().stream()
+                            .collect(Collectors.toMap(
+                                    InventoryReservationItem::getProductId,
+                                    InventoryReservationItem::getReservedQuantity,
+                                    Integer::sum,
+                                    TreeMap::new));
+                    Set<Long> missingProducts = productRepository.restoreStock(quantitiesByProduct);
+                    if (!missingProducts.isEmpty()) {
+                        log.warn("Could not restore stock for deleted products {} of reservation {}",
+                                missingProducts, orderReference);
                     }
+                    eventPublisher.publishEvent(new StockChangedEvent(quantitiesByProduct.keySet()));
                     reservation.setStatus(ReservationStatus.RELEASED);
                     reservation.setExpiresAt(null);
                     reservationRepository.save(reservation);
                 });
     }
 
+    private void decrementStock(List<PurchaseProductItemDto> items) {
+        // One entry per product; the statement itself takes the row locks in id order
+        Map<Long, Integer> quantitiesByProduct = items.stream()
+                .collect(Collectors.toMap(
+                        PurchaseProductItemDto::getProductId,
+                        PurchaseProductItemDto::getQuantity,
+                        Integer::sum,
+                        TreeMap::new));
+
+        Set<Long> unsatisfied = productRepository.decrementStockIfAvailable(quantitiesByProduct);
+        if (!unsatisfied.isEmpty()) {
+            throw new PurchaseException(String.format(
+                    ExceptionMessageConstant.PRODUCT_RESERVATION_FAILED,
+                    "Insufficient stock available for product IDs: " + new TreeSet<>(unsatisfied)));
+        }
+        eventPublisher.publishEvent(new StockChangedEvent(quantitiesByProduct.keySet()));
+    }
+
+    /**
+     * Sold-out products are rejected from the ATP cache without touching the database. A fresh
+     * cache entry that looks sufficient is not trusted; the guarded decrement stays authoritative.
+     */
+    private void rejectKnownUnavailableItems(List<PurchaseProductItemDto> items) {
+        List<String> unavailableDetails = new ArrayList<>();
+        for (PurchaseProductItemDto item : items) {
+            AvailableToPromiseCache.StockLevel level = availableToPromiseCache.get(item.getProductId());
+            if (level != null && !level.canSatisfy(item.getQuantity())) {
+                unavailableDetails.add(String.format(
+                        "Product ID: %s - %s (Requested: %d, Available: %d)",
+                        item.getProductId(),
+                        level.active() ? "Insufficient stock available" : "Product is inactive",
+                        item.getQuantity(),
+                        level.stockQuantity()));
+            }
+        }
+
+        if (!unavailableDetails.isEmpty()) {
+            throw new PurchaseException(String.format(
+                    ExceptionMessageConstant.PRODUCT_RESERVATION_FAILED,
+                    String.join("; ", unavailableDetails)));
+        }
+    }
+
     private PurchaseProductItemResultDto buildResultItem(PurchaseProductItemDto item, Product product) {
         if (product == null) {
             return PurchaseProductItemResultDto.builder()
@@ -0,0 +1,67 @@
+package com.nahid.product.service.impl;
+
+import com.nahid.product.enums.ReservationStatus;
+import com.nahid.product.event.StockChangedEvent;
+import com.nahid.product.repository.InventoryReservationRepository;
+import com.nahid.product.repository.ProductRepository;
+import com.nahid.product.repository.projection.ReservedQuantity;
+import com.nahid.product.service.ReservationExpiryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(rollbackFor = Exception.class)
+public class ReservationExpiryServiceImpl implements ReservationExpiryService {
+
+    private final InventoryReservationRepository reservationRepository;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class)
+    public int releaseExpiredReservations(int batchSize) {
+        List<Long> reservationIds = reservationRepository.claimExpiredReservationIds(LocalDateTime.now(), batchSize);
+        if (reservationIds.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Integer> quantitiesByProduct = reservationRepository.sumReservedQuantitiesByProduct(reservationIds)
+                .stream()
+                .collect(Collectors.toMap(
+                        ReservedQuantity::getProductId,
+                        reserved -> Math.toIntExact(reserved.getQuantity()),
+                        Integer::sum,
+                        TreeMap::new));
+
+        Set<Long> missingProducts = productRepository.restoreStock(quantitiesByProduct);
+        if (!missingProducts.isEmpty()) {
+            log.warn("Could not restore stock for deleted products {} while expiring reservations", missingProducts);
+        }
+
+        reservationRepository.updateStatusByIdIn(reservationIds, ReservationStatus.RELEASED);
+        eventPublisher.publishEvent(new StockChangedEvent(quantitiesByProduct.keySet()));
+        log.debug("Released {} expired inventory reservations", reservationIds.size());
+        return reservationIds.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countExpiredReservations() {
+        return reservationRepository.countByStatusAndExpiresAtLessThanEqual(
+                ReservationStatus.RESERVED, LocalDateTime.now());
+    }
+}
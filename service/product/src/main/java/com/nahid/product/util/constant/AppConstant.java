@@ -9,6 +9,7 @@ public final class AppConstant {
     // Entity names
     public static final String PRODUCT = "Product";
     public static final String PRODUCTS = "Products";
+    public static final String PRODUCT_BATCH = "Product batch";
     public static final String ACTIVE_PRODUCTS = "Active products";
     public static final String CATEGORY_PRODUCTS = "Products for the category";
     public static final String PRODUCT_SEARCH_RESULTS = "Product search results";
@@ -21,10 +22,25 @@ public final class AppConstant {
     public static final String ACTIVE_CATEGORIES = "Active categories";
     public static final String INVENTORY = "Inventory";
     public static final String INVENTORY_RESERVATION = "Inventory reservation";
+    public static final String INVENTORY_RESERVATIONS = "Inventory reservations";
 
     // Status or action descriptors
     public static final String RESERVED = "reserved";
     public static final String CONFIRMED = "confirmed";
     public static final String RELEASED = "released";
     public static final String CHECKED = "checked";
+    public static final String PROCESSED = "processed";
+
+    // Hibernate second-level cache regions, sized in hibernate-l2-cache.conf
+    public static final String PRODUCT_CACHE_REGION = "product";
+    public static final String CATEGORY_CACHE_REGION = "category";
+
+    // Upper bound on IDs plus SKUs accepted by one batch lookup
+    public static final int MAX_BATCH_LOOKUP_SIZE = 100;
+
+    // Upper bound on reservations reserved, confirmed or released by one bulk call
+    public static final int MAX_BULK_RESERVATIONS = 100;
+
+    // JDBC rows fetched per round trip when streaming large result sets
+    public static final String STREAM_FETCH_SIZE = "500";
 }
@@ -4,6 +4,7 @@ import com.nahid.product.dto.response.ApiResponse;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 import java.time.Instant;
@@ -26,6 +27,16 @@ public final class ApiResponseUtil {
         return ResponseEntity.status(httpStatus).body(response);
     }
 
+    /**
+     * Writes an already serialised {@link ApiResponse} body as-is, without copying or re-encoding it.
+     */
+    public static ResponseEntity<byte[]> preSerialized(byte[] body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .body(body);
+    }
+
     public static <T> ResponseEntity<ApiResponse<T>> failure(String message) {
         return failureWithHttpStatus(null, message, HttpStatus.INTERNAL_SERVER_ERROR);
     }
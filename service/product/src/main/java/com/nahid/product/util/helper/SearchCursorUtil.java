@@ -0,0 +1,37 @@
+package com.nahid.product.util.helper;
+
+import com.nahid.product.exception.InvalidCursorException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for ranked search: the (rank, id) of the last hit on a page.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SearchCursorUtil {
+
+    private static final char SEPARATOR = ':';
+
+    public static String encode(double rank, long id) {
+        String raw = Double.toString(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new SearchCursor(
+                    Double.parseDouble(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new InvalidCursorException("Invalid search cursor: " + cursor, ex);
+        }
+    }
+
+    public record SearchCursor(double rank, long id) {
+    }
+}
@@ -0,0 +1,3 @@
+-- Lets the expiry sweeper find due RESERVED rows without scanning the whole table
+CREATE INDEX IF NOT EXISTS idx_inventory_reservations_status_expires_at
+    ON inventory_reservations (status, expires_at);
@@ -0,0 +1,21 @@
+-- Full-text and trigram search over the product catalog
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Weighted document: name ranks above brand, brand above description
+ALTER TABLE products
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(brand, '')), 'B') ||
+            setweight(to_tsvector('english', coalesce(description, '')), 'C')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_products_search_vector
+    ON products USING GIN (search_vector);
+
+-- Serve fuzzy matching and the legacy LOWER(...) LIKE '%...%' filters on name and brand
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm
+    ON products USING GIN (lower(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_products_brand_trgm
+    ON products USING GIN (lower(brand) gin_trgm_ops);
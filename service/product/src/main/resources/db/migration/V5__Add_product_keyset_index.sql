@@ -0,0 +1,3 @@
+-- Supports keyset pagination over (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_products_created_at_id
+    ON products (created_at, id);
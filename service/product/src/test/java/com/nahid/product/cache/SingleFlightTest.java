@@ -0,0 +1,84 @@
+package com.nahid.product.cache;
+
+import com.nahid.product.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(meterRegistry);
+
+    @Test
+    void concurrentIdenticalReadsShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<Future<String>> results = new ArrayList<>();
+
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("getProductById", 7L, () -> {
+                loads.incrementAndGet();
+                awaitQuietly(release);
+                return "product-7";
+            })));
+        }
+        while (coalesced() < CALLERS - 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("product-7");
+        }
+        executor.shutdown();
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("product.single-flight.requests")
+                .tags("operation", "getProductById", "outcome", "leader").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sequentialReadsEachLoad() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("getProductBySku", "SKU-1", loads::incrementAndGet);
+        singleFlight.execute("getProductBySku", "SKU-1", loads::incrementAndGet);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void rethrowsTheLoaderException() {
+        assertThatThrownBy(() -> singleFlight.execute("getProductById", 404L, () -> {
+            throw new ResourceNotFoundException("Product not found with ID: 404");
+        })).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private double coalesced() {
+        var counter = meterRegistry.find("product.single-flight.requests")
+                .tags("operation", "getProductById", "outcome", "coalesced").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.nahid.product.outbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxEventRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void claimsOnlyTheOldestDueEventOfEachKey() {
+        OutboxEvent first = save("order-1", LocalDateTime.now().minusSeconds(1));
+        save("order-1", LocalDateTime.now().minusSeconds(1));
+        OutboxEvent other = save("order-2", LocalDateTime.now().minusSeconds(1));
+        save("order-3", LocalDateTime.now().plusMinutes(1));
+
+        List<OutboxEvent> claimed = inTransaction(() -> outboxEventRepository.claimBatch(LocalDateTime.now(), 10));
+
+        assertThat(claimed).extracting(OutboxEvent::getId).containsExactly(first.getId(), other.getId());
+    }
+
+    @Test
+    void rescheduledHeadHoldsBackLaterEventsOfItsKey() {
+        save("order-1", LocalDateTime.now().plusMinutes(1));
+        save("order-1", LocalDateTime.now().minusSeconds(1));
+
+        List<OutboxEvent> claimed = inTransaction(() -> outboxEventRepository.claimBatch(LocalDateTime.now(), 10));
+
+        assertThat(claimed).isEmpty();
+    }
+
+    @Test
+    void concurrentRelaysSkipRowsAlreadyClaimed() throws Exception {
+        OutboxEvent first = save("order-1", LocalDateTime.now().minusSeconds(1));
+        OutboxEvent second = save("order-2", LocalDateTime.now().minusSeconds(1));
+        CountDownLatch claimedByFirstRelay = new CountDownLatch(1);
+        CountDownLatch secondRelayDone = new CountDownLatch(1);
+
+        CompletableFuture<List<OutboxEvent>> firstRelay = CompletableFuture.supplyAsync(() -> inTransaction(() -> {
+            List<OutboxEvent> claimed = outboxEventRepository.claimBatch(LocalDateTime.now(), 1);
+            claimedByFirstRelay.countDown();
+            await(secondRelayDone);
+            return claimed;
+        }));
+        await(claimedByFirstRelay);
+        List<OutboxEvent> secondClaim = inTransaction(() -> outboxEventRepository.claimBatch(LocalDateTime.now(), 10));
+        secondRelayDone.countDown();
+
+        assertThat(firstRelay.get(10, TimeUnit.SECONDS)).extracting(OutboxEvent::getId).containsExactly(first.getId());
+        assertThat(secondClaim).extracting(OutboxEvent::getId).containsExactly(second.getId());
+    }
+
+    private OutboxEvent save(String key, LocalDateTime availableAt) {
+        return outboxEventRepository.save(OutboxEvent.builder()
+                .topic("test-topic")
+                .messageKey(key)
+                .payload("{}")
+                .createdAt(LocalDateTime.now())
+                .availableAt(availableAt)
+                .build());
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
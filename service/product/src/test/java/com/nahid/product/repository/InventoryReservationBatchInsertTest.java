@@ -0,0 +1,81 @@
+package com.nahid.product.repository;
+
+import com.nahid.product.entity.InventoryReservation;
+import com.nahid.product.entity.InventoryReservationItem;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class InventoryReservationBatchInsertTest {
+
+    private static final int ITEMS = 100;
+    private static final int BATCH_SIZE = 50;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private InventoryReservationRepository reservationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void warmUpSequences() {
+        // The first allocation from a fresh pooled sequence takes an extra call; keep it out of the count
+        saveReservation("ORD-WARMUP");
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void hundredItemOrderIsInsertedInBatches() {
+        saveReservation("ORD-100");
+
+        // One insert for the reservation and one per batch of items, plus at most one sequence call for the
+        // reservation and one per block of 50 item ids the range touches; IDENTITY needed one insert per row
+        long batches = ITEMS / BATCH_SIZE;
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + ITEMS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo((1 + batches) + (1 + batches + 1));
+    }
+
+    private void saveReservation(String orderReference) {
+        InventoryReservation reservation = InventoryReservation.createNew(orderReference);
+        for (int i = 0; i < ITEMS; i++) {
+            reservation.addItem(InventoryReservationItem.builder()
+                    .productId((long) i + 1)
+                    .reservedQuantity(1)
+                    .unitPrice(new BigDecimal("9.99"))
+                    .build());
+        }
+        reservationRepository.save(reservation);
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,119 @@
+package com.nahid.product.repository;
+
+import com.nahid.product.dto.response.ProductResponseDto;
+import com.nahid.product.entity.Category;
+import com.nahid.product.entity.Product;
+import com.nahid.product.mapper.ProductMapper;
+import com.nahid.product.mapper.ProductMapperImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(ProductMapperImpl.class)
+class ProductListingQueryCountTest {
+
+    private static final int CATEGORIES = 5;
+    private static final int PRODUCTS_PER_CATEGORY = 8;
+    private static final int PAGE_SIZE = 20;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seedCatalog() {
+        for (int c = 0; c < CATEGORIES; c++) {
+            Category category = categoryRepository.save(Category.builder()
+                    .name("Category " + c)
+                    .isActive(true)
+                    .build());
+            for (int p = 0; p < PRODUCTS_PER_CATEGORY; p++) {
+                productRepository.save(Product.builder()
+                        .name("Product " + c + "-" + p)
+                        .sku("SKU-" + c + "-" + p)
+                        .brand("Acme")
+                        .price(new BigDecimal("19.99"))
+                        .stockQuantity(p)
+                        .minStockLevel(3)
+                        .isActive(true)
+                        .isFeatured(p == 0)
+                        .category(category)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void activeListingPageUsesOneSelectAndOneCount() {
+        Page<ProductResponseDto> page = productRepository.findActiveListings(PageRequest.of(0, PAGE_SIZE))
+                .map(productMapper::toResponse);
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getTotalElements()).isEqualTo(CATEGORIES * PRODUCTS_PER_CATEGORY);
+        assertThat(page.getContent()).allSatisfy(product ->
+                assertThat(product.getCategory().getName()).startsWith("Category "));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void filteredListingPageUsesOneSelectAndOneCount() {
+        Page<ProductResponseDto> page = productRepository.findListingsWithFilters(
+                        "product", "acme", null, null, null, PageRequest.of(0, PAGE_SIZE))
+                .map(productMapper::toResponse);
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void featuredListingUsesOneSelect() {
+        List<ProductResponseDto> featured = productMapper.toListingResponseList(productRepository.findFeaturedListings());
+
+        assertThat(featured).hasSize(CATEGORIES);
+        assertThat(featured).allSatisfy(product -> assertThat(product.getCategory().getId()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
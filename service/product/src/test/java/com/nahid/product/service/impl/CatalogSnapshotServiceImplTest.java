@@ -0,0 +1,227 @@
+package com.nahid.product.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nahid.product.cache.CatalogSnapshotCache;
+import com.nahid.product.cache.CatalogSnapshotCache.JsonSnapshot;
+import com.nahid.product.dto.response.CategoryResponseDto;
+import com.nahid.product.dto.response.ProductResponseDto;
+import com.nahid.product.repository.ProductRepository;
+import com.nahid.product.repository.projection.ProductPlacement;
+import com.nahid.product.service.CategoryService;
+import com.nahid.product.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nahid.product.service.CatalogSnapshotService.DEFAULT_CATEGORY_PAGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotServiceImplTest {
+
+    private static final long MAX_AGE_MS = 300_000;
+    private static final Long SHOES = 7L;
+    private static final Long HATS = 8L;
+
+    @Mock
+    private ProductService productService;
+    @Mock
+    private CategoryService categoryService;
+    @Mock
+    private ProductRepository productRepository;
+
+    private CatalogSnapshotCache snapshotCache;
+    private CatalogSnapshotServiceImpl snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        snapshotCache = new CatalogSnapshotCache();
+        snapshotService = new CatalogSnapshotServiceImpl(snapshotCache, productService, categoryService,
+                productRepository, new ObjectMapper().findAndRegisterModules(), MAX_AGE_MS);
+    }
+
+    @Test
+    void firstRequestBuildsTheSnapshotAndLaterRequestsReuseIt() {
+        when(productService.getFeaturedProducts()).thenReturn(List.of(product(1L)));
+
+        JsonSnapshot first = snapshotService.getFeaturedProducts();
+        JsonSnapshot second = snapshotService.getFeaturedProducts();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.productIds()).containsExactly(1L);
+        verify(productService, times(1)).getFeaturedProducts();
+    }
+
+    @Test
+    void changedProductRebuildsOnlyTheCategoryItIsPlacedIn() {
+        when(productService.getProductsByCategory(SHOES, DEFAULT_CATEGORY_PAGE)).thenReturn(page(1L));
+        when(productService.getProductsByCategory(HATS, DEFAULT_CATEGORY_PAGE)).thenReturn(page(2L));
+        snapshotService.getProductsByCategory(SHOES);
+        JsonSnapshot hats = snapshotService.getProductsByCategory(HATS);
+        when(productRepository.findPlacementsByIdIn(anyCollection())).thenReturn(List.of(placement(3L, SHOES, false)));
+
+        snapshotCache.markProductsChanged(Set.of(3L));
+        snapshotService.rebuildChangedSnapshots();
+
+        verify(productService, times(2)).getProductsByCategory(SHOES, DEFAULT_CATEGORY_PAGE);
+        verify(productService, times(1)).getProductsByCategory(HATS, DEFAULT_CATEGORY_PAGE);
+        assertThat(snapshotCache.getProductsByCategory().get(HATS)).isSameAs(hats);
+    }
+
+    @Test
+    void productMovedOutOfACategoryRebuildsTheSnapshotThatStillShowsIt() {
+        when(productService.getProductsByCategory(HATS, DEFAULT_CATEGORY_PAGE)).thenReturn(page(2L), page());
+        snapshotService.getProductsByCategory(HATS);
+        // Now placed in a category that has no snapshot yet
+        when(productRepository.findPlacementsByIdIn(anyCollection())).thenReturn(List.of(placement(2L, SHOES, false)));
+
+        snapshotCache.markProductsChanged(Set.of(2L));
+        snapshotService.rebuildChangedSnapshots();
+
+        assertThat(snapshotCache.getProductsByCategory().get(HATS).productIds()).isEmpty();
+        assertThat(snapshotCache.getProductsByCategory()).doesNotContainKey(SHOES);
+    }
+
+    @Test
+    void featuredSnapshotIsRebuiltWhenAProductIsFeaturedOrUnfeatured() {
+        when(productService.getFeaturedProducts()).thenReturn(List.of(product(1L)), List.of(product(1L), product(2L)),
+                List.of(product(2L)));
+        snapshotService.getFeaturedProducts();
+
+        when(productRepository.findPlacementsByIdIn(anyCollection())).thenReturn(List.of(placement(2L, SHOES, true)));
+        snapshotCache.markProductsChanged(Set.of(2L));
+        snapshotService.rebuildChangedSnapshots();
+        assertThat(snapshotCache.getFeaturedProducts().productIds()).containsExactlyInAnyOrder(1L, 2L);
+
+        // No longer featured: only the snapshot's own membership says it is affected
+        when(productRepository.findPlacementsByIdIn(anyCollection())).thenReturn(List.of(placement(1L, SHOES, false)));
+        snapshotCache.markProductsChanged(Set.of(1L));
+        snapshotService.rebuildChangedSnapshots();
+        assertThat(snapshotCache.getFeaturedProducts().productIds()).containsExactly(2L);
+    }
+
+    @Test
+    void categoryChangeRebuildsActiveCategoriesAndDropsPerCategorySnapshots() {
+        when(categoryService.getActiveCategories()).thenReturn(List.of(category(SHOES)), List.of(category(SHOES), category(HATS)));
+        when(productService.getProductsByCategory(SHOES, DEFAULT_CATEGORY_PAGE)).thenReturn(page(1L));
+        JsonSnapshot categories = snapshotService.getActiveCategories();
+        snapshotService.getProductsByCategory(SHOES);
+
+        snapshotCache.markCategoriesChanged();
+        snapshotService.rebuildChangedSnapshots();
+
+        assertThat(snapshotCache.getActiveCategories()).isNotSameAs(categories);
+        assertThat(snapshotCache.getProductsByCategory()).isEmpty();
+        verify(productRepository, never()).findPlacementsByIdIn(anyCollection());
+    }
+
+    @Test
+    void failedRebuildPutsTheChangesBackForTheNextRun() {
+        when(productService.getFeaturedProducts()).thenReturn(List.of(product(1L)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        snapshotService.getFeaturedProducts();
+        when(productRepository.findPlacementsByIdIn(anyCollection())).thenReturn(List.of(placement(1L, SHOES, true)));
+
+        snapshotCache.markProductsChanged(Set.of(1L));
+        snapshotCache.markCategoriesChanged();
+        assertThatThrownBy(snapshotService::rebuildChangedSnapshots).isInstanceOf(IllegalStateException.class);
+
+        assertThat(snapshotCache.drainChangedProducts()).containsExactly(1L);
+        assertThat(snapshotCache.drainCategoriesChanged()).isTrue();
+    }
+
+    @Test
+    void expiredSnapshotIsRebuiltWithoutAnyChange() {
+        CatalogSnapshotServiceImpl expiringService = new CatalogSnapshotServiceImpl(snapshotCache, productService,
+                categoryService, productRepository, new ObjectMapper().findAndRegisterModules(), 0);
+        when(categoryService.getActiveCategories()).thenReturn(List.of(category(SHOES)));
+        JsonSnapshot categories = expiringService.getActiveCategories();
+
+        expiringService.rebuildChangedSnapshots();
+
+        assertThat(snapshotCache.getActiveCategories()).isNotSameAs(categories);
+        verify(categoryService, times(2)).getActiveCategories();
+    }
+
+    @Test
+    void firstBuildThatRacedADrainedChangeIsNotStored() {
+        AtomicInteger builds = new AtomicInteger();
+        when(productService.getFeaturedProducts()).thenAnswer(invocation -> {
+            if (builds.incrementAndGet() == 1) {
+                // Product 2 is featured and committed after this build read the database; the scheduler
+                // drains the change while the featured snapshot does not exist yet, so it rebuilds nothing
+                snapshotCache.markProductsChanged(Set.of(2L));
+                snapshotService.rebuildChangedSnapshots();
+                return List.of(product(1L));
+            }
+            return List.of(product(1L), product(2L));
+        });
+        when(productRepository.findPlacementsByIdIn(anyCollection())).thenReturn(List.of(placement(2L, SHOES, true)));
+
+        JsonSnapshot served = snapshotService.getFeaturedProducts();
+
+        assertThat(builds).hasValue(2);
+        assertThat(served.productIds()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(snapshotCache.getFeaturedProducts()).isSameAs(served);
+    }
+
+    @Test
+    void firstBuildUnderConstantChangeIsServedButNotStored() {
+        when(productService.getFeaturedProducts()).thenAnswer(invocation -> {
+            snapshotCache.markProductsChanged(Set.of(1L));
+            return List.of(product(1L));
+        });
+
+        JsonSnapshot served = snapshotService.getFeaturedProducts();
+
+        assertThat(served.productIds()).containsExactly(1L);
+        assertThat(snapshotCache.getFeaturedProducts()).isNull();
+        verify(productService, times(3)).getFeaturedProducts();
+    }
+
+    private static ProductResponseDto product(Long id) {
+        return ProductResponseDto.builder().id(id).name("Product " + id).build();
+    }
+
+    private static PageImpl<ProductResponseDto> page(Long... productIds) {
+        return new PageImpl<>(Arrays.stream(productIds).map(CatalogSnapshotServiceImplTest::product).toList(),
+                DEFAULT_CATEGORY_PAGE, productIds.length);
+    }
+
+    private static CategoryResponseDto category(Long id) {
+        return CategoryResponseDto.builder().id(id).name("Category " + id).isActive(true).build();
+    }
+
+    private static ProductPlacement placement(Long id, Long categoryId, boolean featured) {
+        return new ProductPlacement() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getCategoryId() {
+                return categoryId;
+            }
+
+            @Override
+            public Boolean getFeatured() {
+                return featured;
+            }
+        };
+    }
+}
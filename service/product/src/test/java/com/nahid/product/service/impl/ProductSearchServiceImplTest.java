@@ -0,0 +1,110 @@
+package com.nahid.product.service.impl;
+
+import com.nahid.product.config.ProductSearchSchemaInitializer;
+import com.nahid.product.dto.response.CursorPageDto;
+import com.nahid.product.dto.response.ProductResponseDto;
+import com.nahid.product.entity.Category;
+import com.nahid.product.entity.Product;
+import com.nahid.product.mapper.ProductMapperImpl;
+import com.nahid.product.repository.CategoryRepository;
+import com.nahid.product.repository.ProductRepository;
+import com.nahid.product.service.ProductSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs ranked search against a schema built the way production builds it: tables from
+ * {@code ddl-auto}, then the search column and indexes from the startup initializer.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({ProductSearchServiceImpl.class, ProductMapperImpl.class, ProductSearchSchemaInitializer.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductSearchServiceImplTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductSearchSchemaInitializer productSearchSchemaInitializer;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        Category category = categoryRepository.save(Category.builder()
+                .name("Audio")
+                .isActive(true)
+                .build());
+        productRepository.save(product(category, "Headphones", "HP-001", "Sonic", "Over-ear, noise cancelling"));
+        productRepository.save(product(category, "Bluetooth Speaker", "SP-001", "Sonic", "Pairs with headphones"));
+        productRepository.save(product(category, "Coffee Mug", "MUG-001", "Kitchenware", "Ceramic"));
+    }
+
+    @Test
+    void rankedSearchFindsMatchesWithNameMatchesFirst() {
+        CursorPageDto<ProductResponseDto> page = productSearchService.search("headphones", null, null, null, null, null, 10);
+
+        assertThat(page.getItems()).extracting(ProductResponseDto::getName)
+                .containsExactly("Headphones", "Bluetooth Speaker");
+        assertThat(page.isHasNext()).isFalse();
+    }
+
+    @Test
+    void misspelledQueryFallsBackToTrigramMatching() {
+        CursorPageDto<ProductResponseDto> page = productSearchService.search("headphnes", null, null, null, null, null, 10);
+
+        assertThat(page.getItems()).extracting(ProductResponseDto::getName).contains("Headphones");
+    }
+
+    @Test
+    void initializerIsANoOpOnceTheSchemaExists() {
+        productSearchSchemaInitializer.afterSingletonsInstantiated();
+
+        assertThat(productSearchService.search("mug", null, null, null, null, null, 10).getItems())
+                .extracting(ProductResponseDto::getName)
+                .containsExactly("Coffee Mug");
+    }
+
+    private static Product product(Category category, String name, String sku, String brand, String description) {
+        return Product.builder()
+                .name(name)
+                .sku(sku)
+                .brand(brand)
+                .description(description)
+                .price(new BigDecimal("19.99"))
+                .stockQuantity(10)
+                .minStockLevel(0)
+                .isActive(true)
+                .category(category)
+                .build();
+    }
+}
@@ -0,0 +1,172 @@
+package com.nahid.product.service.impl;
+
+import com.nahid.product.cache.SingleFlight;
+import com.nahid.product.dto.request.ProductBatchRequestDto;
+import com.nahid.product.dto.response.ProductBatchResponseDto;
+import com.nahid.product.dto.response.ProductSummaryDto;
+import com.nahid.product.entity.Category;
+import com.nahid.product.entity.Product;
+import com.nahid.product.mapper.ProductMapperImpl;
+import com.nahid.product.repository.CategoryRepository;
+import com.nahid.product.repository.ProductRepository;
+import com.nahid.product.service.InventoryService;
+import com.nahid.product.service.ProductSearchService;
+import com.nahid.product.service.ProductService;
+import com.nahid.product.service.PurchaseService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static com.nahid.product.util.constant.AppConstant.MAX_BATCH_LOOKUP_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({ProductServiceImpl.class, ProductMapperImpl.class})
+class ProductServiceImplBatchLookupTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockitoBean
+    private InventoryService inventoryService;
+    @MockitoBean
+    private PurchaseService purchaseService;
+    @MockitoBean
+    private ProductSearchService productSearchService;
+    @MockitoBean
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private Product keyboard;
+    private Product mouse;
+    private Product monitor;
+    private Statistics statistics;
+
+    @BeforeEach
+    void seedProducts() {
+        Category category = categoryRepository.save(Category.builder()
+                .name("Peripherals")
+                .isActive(true)
+                .build());
+        keyboard = save(category, "Keyboard", "KB-001");
+        mouse = save(category, "Mouse", "MS-001");
+        monitor = save(category, "Monitor", "MN-001");
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void idsAndSkusAreLookedUpTogetherInOneStatement() {
+        ProductBatchResponseDto response = productService.getProductsBatch(ProductBatchRequestDto.builder()
+                .ids(List.of(keyboard.getId()))
+                .skus(List.of("MS-001", "MN-001"))
+                .build());
+
+        assertThat(response.getProducts()).extracting(ProductSummaryDto::getSku)
+                .containsExactlyInAnyOrder("KB-001", "MS-001", "MN-001");
+        assertThat(response.getMissingIds()).isEmpty();
+        assertThat(response.getMissingSkus()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void duplicateKeysReturnEachProductOnce() {
+        ProductBatchResponseDto response = productService.getProductsBatch(ProductBatchRequestDto.builder()
+                .ids(List.of(keyboard.getId(), keyboard.getId(), mouse.getId()))
+                .skus(List.of("KB-001", "MS-001", "KB-001"))
+                .build());
+
+        assertThat(response.getProducts()).extracting(ProductSummaryDto::getId)
+                .containsExactlyInAnyOrder(keyboard.getId(), mouse.getId());
+        assertThat(response.getMissingIds()).isEmpty();
+        assertThat(response.getMissingSkus()).isEmpty();
+    }
+
+    @Test
+    void keysThatMatchNothingAreReportedBackOnceEach() {
+        long unknownId = monitor.getId() + 1_000;
+
+        ProductBatchResponseDto response = productService.getProductsBatch(ProductBatchRequestDto.builder()
+                .ids(List.of(monitor.getId(), unknownId, unknownId))
+                .skus(List.of("NOPE-1", "MS-001", "NOPE-1"))
+                .build());
+
+        assertThat(response.getProducts()).extracting(ProductSummaryDto::getSku)
+                .containsExactlyInAnyOrder("MN-001", "MS-001");
+        assertThat(response.getMissingIds()).containsExactly(unknownId);
+        assertThat(response.getMissingSkus()).containsExactly("NOPE-1");
+    }
+
+    @Test
+    void requestMustNameBetweenOneAndTheMaximumKeys() {
+        List<Long> maxIds = LongStream.rangeClosed(1, MAX_BATCH_LOOKUP_SIZE).boxed().toList();
+        List<Long> halfIds = maxIds.subList(0, MAX_BATCH_LOOKUP_SIZE / 2 + 1);
+        List<String> halfSkus = new ArrayList<>();
+        for (int i = 0; i < MAX_BATCH_LOOKUP_SIZE / 2; i++) {
+            halfSkus.add("SKU-" + i);
+        }
+
+        assertThat(validator.validate(ProductBatchRequestDto.builder().ids(maxIds).build())).isEmpty();
+        assertThat(validator.validate(ProductBatchRequestDto.builder().build())).isNotEmpty();
+        assertThat(validator.validate(ProductBatchRequestDto.builder().ids(List.of()).skus(List.of()).build()))
+                .isNotEmpty();
+        // Each list alone is within its limit, together they are one over
+        assertThat(validator.validate(ProductBatchRequestDto.builder().ids(halfIds).skus(halfSkus).build()))
+                .isNotEmpty();
+        List<Long> tooMany = LongStream.rangeClosed(1, MAX_BATCH_LOOKUP_SIZE + 1).boxed().toList();
+        assertThat(validator.validate(ProductBatchRequestDto.builder().ids(tooMany).build())).isNotEmpty();
+    }
+
+    private Product save(Category category, String name, String sku) {
+        return productRepository.save(Product.builder()
+                .name(name)
+                .sku(sku)
+                .price(new BigDecimal("49.99"))
+                .stockQuantity(10)
+                .minStockLevel(1)
+                .isActive(true)
+                .category(category)
+                .build());
+    }
+}
@@ -0,0 +1,134 @@
+package com.nahid.product.service.impl;
+
+import com.nahid.product.cache.AvailableToPromiseCache;
+import com.nahid.product.cache.SingleFlight;
+import com.nahid.product.dto.request.PurchaseProductItemDto;
+import com.nahid.product.dto.request.PurchaseProductRequestDto;
+import com.nahid.product.dto.response.ReservationResultDto;
+import com.nahid.product.entity.Category;
+import com.nahid.product.entity.InventoryReservation;
+import com.nahid.product.entity.Product;
+import com.nahid.product.enums.ReservationStatus;
+import com.nahid.product.mapper.ProductMapper;
+import com.nahid.product.repository.CategoryRepository;
+import com.nahid.product.repository.InventoryReservationRepository;
+import com.nahid.product.repository.ProductRepository;
+import com.nahid.product.service.InventoryService;
+import com.nahid.product.service.ProductSearchService;
+import com.nahid.product.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({ProductServiceImpl.class, PurchaseServiceImpl.class, AvailableToPromiseCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductServiceImplBulkReservationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockitoBean
+    private ProductMapper productMapper;
+    @MockitoBean
+    private InventoryService inventoryService;
+    @MockitoBean
+    private ProductSearchService productSearchService;
+    @MockitoBean
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private InventoryReservationRepository reservationRepository;
+
+    @Test
+    void failedReservationInABulkCallLeavesTheOthersCommitted() {
+        Category category = categoryRepository.save(Category.builder()
+                .name("Bulk")
+                .isActive(true)
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Bulk SKU")
+                .sku("BULK-001")
+                .price(new BigDecimal("4.50"))
+                .stockQuantity(5)
+                .minStockLevel(0)
+                .isActive(true)
+                .category(category)
+                .build());
+
+        List<ReservationResultDto> reserved = productService.reserveInventoryBulk(List.of(
+                reservation("ORD-A", product.getId(), 2),
+                reservation("ORD-B", product.getId(), 10),
+                reservation("ORD-C", product.getId(), 3)));
+
+        assertThat(reserved).extracting(ReservationResultDto::getOrderReference, ReservationResultDto::isSuccess)
+                .containsExactly(
+                        tuple("ORD-A", true),
+                        tuple("ORD-B", false),
+                        tuple("ORD-C", true));
+        assertThat(reserved.get(1).getMessage()).isNotBlank();
+        assertThat(stockOf(product)).isZero();
+        assertThat(statusOf("ORD-A")).isEqualTo(ReservationStatus.RESERVED);
+        assertThat(reservationRepository.findByOrderReference("ORD-B")).isEmpty();
+        assertThat(statusOf("ORD-C")).isEqualTo(ReservationStatus.RESERVED);
+
+        assertThat(productService.confirmReservations(List.of("ORD-A")))
+                .allMatch(ReservationResultDto::isSuccess);
+        assertThat(productService.releaseReservations(List.of("ORD-C")))
+                .allMatch(ReservationResultDto::isSuccess);
+
+        assertThat(statusOf("ORD-A")).isEqualTo(ReservationStatus.CONFIRMED);
+        assertThat(statusOf("ORD-C")).isEqualTo(ReservationStatus.RELEASED);
+        assertThat(stockOf(product)).isEqualTo(3);
+    }
+
+    private static PurchaseProductRequestDto reservation(String orderReference, Long productId, int quantity) {
+        return PurchaseProductRequestDto.builder()
+                .orderReference(orderReference)
+                .items(List.of(PurchaseProductItemDto.builder()
+                        .productId(productId)
+                        .quantity(quantity)
+                        .build()))
+                .build();
+    }
+
+    private int stockOf(Product product) {
+        return productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+    }
+
+    private ReservationStatus statusOf(String orderReference) {
+        return reservationRepository.findByOrderReference(orderReference)
+                .map(InventoryReservation::getStatus)
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,121 @@
+package com.nahid.product.service.impl;
+
+import com.nahid.product.cache.AvailableToPromiseCache;
+import com.nahid.product.dto.request.PurchaseProductItemDto;
+import com.nahid.product.dto.request.PurchaseProductRequestDto;
+import com.nahid.product.entity.Category;
+import com.nahid.product.entity.Product;
+import com.nahid.product.exception.PurchaseException;
+import com.nahid.product.repository.CategoryRepository;
+import com.nahid.product.repository.InventoryReservationRepository;
+import com.nahid.product.repository.ProductRepository;
+import com.nahid.product.service.PurchaseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({PurchaseServiceImpl.class, AvailableToPromiseCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PurchaseServiceImplConcurrencyTest {
+
+    private static final int INITIAL_STOCK = 200;
+    private static final int ATTEMPTS = 1_000;
+    private static final int THREADS = 32;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private PurchaseService purchaseService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private InventoryReservationRepository reservationRepository;
+
+    @Test
+    void concurrentReservationsOnOneSkuNeverOversell() throws Exception {
+        Category category = categoryRepository.save(Category.builder()
+                .name("Flash sale")
+                .isActive(true)
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("Hot SKU")
+                .sku("HOT-001")
+                .price(new BigDecimal("9.99"))
+                .stockQuantity(INITIAL_STOCK)
+                .minStockLevel(0)
+                .isActive(true)
+                .category(category)
+                .build());
+
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            String orderReference = "ORD-HOT-" + i;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    purchaseService.reserveInventory(PurchaseProductRequestDto.builder()
+                            .orderReference(orderReference)
+                            .items(List.of(PurchaseProductItemDto.builder()
+                                    .productId(product.getId())
+                                    .quantity(1)
+                                    .build()))
+                            .build());
+                    reserved.incrementAndGet();
+                } catch (PurchaseException ex) {
+                    rejected.incrementAndGet();
+                } catch (Throwable ex) {
+                    unexpected.add(ex);
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+
+        Product reloaded = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(unexpected).isEmpty();
+        assertThat(reserved.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(rejected.get()).isEqualTo(ATTEMPTS - INITIAL_STOCK);
+        assertThat(reloaded.getStockQuantity()).isZero();
+        assertThat(reservationRepository.count()).isEqualTo(INITIAL_STOCK);
+    }
+}
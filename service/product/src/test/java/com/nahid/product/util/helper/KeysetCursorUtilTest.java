@@ -0,0 +1,82 @@
+package com.nahid.product.util.helper;
+
+import com.nahid.product.dto.response.CursorPageDto;
+import com.nahid.product.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorUtilTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 3, 14, 15, 9, 26, 535_000_000);
+
+    @Test
+    void cursorOfTheLastItemDecodesToItsKeys() {
+        List<Long> ids = List.of(41L, 42L);
+        Window<Long> window = Window.from(ids, index -> position(CREATED_AT.minusMinutes(index), ids.get(index)), true);
+
+        CursorPageDto<Long> page = KeysetCursorUtil.toPage(window);
+        ScrollPosition decoded = KeysetCursorUtil.decode(page.getNextCursor(), Long::valueOf);
+
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getItems()).containsExactlyElementsOf(ids);
+        assertThat(decoded).isInstanceOf(KeysetScrollPosition.class);
+        assertThat(((KeysetScrollPosition) decoded).getKeys())
+                .containsExactly(Map.entry("createdAt", CREATED_AT.minusMinutes(1)), Map.entry("id", 42L));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        Window<Long> window = Window.from(List.of(41L), index -> position(CREATED_AT, 41L), false);
+
+        CursorPageDto<Long> page = KeysetCursorUtil.toPage(window);
+
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.isHasNext()).isFalse();
+    }
+
+    @Test
+    void missingCursorStartsFromTheNewest() {
+        assertThat(KeysetCursorUtil.decode(null, Long::valueOf).isInitial()).isTrue();
+        assertThat(KeysetCursorUtil.decode("  ", Long::valueOf).isInitial()).isTrue();
+    }
+
+    @Test
+    void malformedCursorIsRejectedAsInvalid() {
+        for (String cursor : List.of("not base64!", encode("no-separator"), encode("yesterday|" + 41L),
+                encode(CREATED_AT + "|not-an-id"))) {
+            assertThatThrownBy(() -> KeysetCursorUtil.decode(cursor, Long::valueOf))
+                    .isInstanceOf(InvalidCursorException.class)
+                    .hasMessageContaining("Invalid pagination cursor");
+        }
+    }
+
+    @Test
+    void pageSizeIsClampedToOneThroughTheMaximum() {
+        assertThat(KeysetCursorUtil.pageSize(0)).isEqualTo(1);
+        assertThat(KeysetCursorUtil.pageSize(20)).isEqualTo(20);
+        assertThat(KeysetCursorUtil.pageSize(10_000)).isEqualTo(KeysetCursorUtil.MAX_PAGE_SIZE);
+    }
+
+    private static ScrollPosition position(LocalDateTime createdAt, Long id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdAt", createdAt);
+        keys.put("id", id);
+        return ScrollPosition.forward(keys);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -4,6 +4,7 @@ import com.nahid.userservice.dto.event.AuditEventMessageDto;
 import com.nahid.userservice.enums.EventStatus;
 import com.nahid.userservice.producer.AuditEventPublisher;
 import com.nahid.userservice.util.annotation.Auditable;
+import com.nahid.userservice.util.helper.AuthContextUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -87,7 +88,7 @@ public class AuditAspect {
     }
 
     private String getUserId() {
-        String userHeader = request.getHeader("X-Auth-User");
-        return userHeader != null ? userHeader : "";
+        AuthContextUtil.AuthContext authContext = AuthContextUtil.decode(request.getHeader(AuthContextUtil.HEADER));
+        return authContext != null ? authContext.username() : "";
     }
 }
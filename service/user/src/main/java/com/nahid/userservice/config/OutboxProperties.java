@@ -0,0 +1,42 @@
+package com.nahid.userservice.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Outbox relay settings. Each poll claims up to {@code batch-size} events and keeps going while full
+ * batches are delivered. {@code send-timeout-ms} bounds how long a batch waits for broker acks while
+ * holding its row locks; an event that fails is retried after an exponential backoff between
+ * {@code initial-backoff-ms} and {@code max-backoff-ms}, and holds back later events with its key.
+ */
+@Getter
+@Component
+public class OutboxProperties {
+
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public OutboxProperties(@Value("${outbox.relay.batch-size:200}") int batchSize,
+                            @Value("${outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs,
+                            @Value("${outbox.relay.initial-backoff-ms:1000}") long initialBackoffMs,
+                            @Value("${outbox.relay.max-backoff-ms:60000}") long maxBackoffMs) {
+        this.batchSize = Math.max(1, batchSize);
+        this.sendTimeout = Duration.ofMillis(sendTimeoutMs);
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+    }
+
+    /**
+     * @param attempt the number of failed sends so far, starting at 1
+     */
+    public Duration backoff(int attempt) {
+        long multiplier = 1L << Math.min(attempt - 1, 20);
+        Duration backoff = initialBackoff.multipliedBy(multiplier);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
@@ -0,0 +1,160 @@
+package com.nahid.userservice.outbox;
+
+import com.nahid.userservice.config.OutboxProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves outbox events to Kafka. A batch is claimed with {@code FOR UPDATE SKIP LOCKED}, sent without
+ * waiting between records, and the acknowledged rows are deleted in the same transaction, so several
+ * instances can relay side by side without sending a row twice in the normal case. Delivery is
+ * at-least-once: a crash after the broker ack but before the commit sends the batch again.
+ * <p>
+ * {@code outbox.relay.lag} is the age of the oldest unsent event and {@code outbox.relay.pending}
+ * the number of unsent events, both refreshed every poll.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> outboxKafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong pendingEvents = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, String> outboxKafkaTemplate,
+                       TransactionTemplate transactionTemplate,
+                       OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.sentCounter = Counter.builder("outbox.relay.sent")
+                .description("Outbox events acknowledged by the broker")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.relay.failed")
+                .description("Outbox send attempts that failed and were rescheduled")
+                .register(meterRegistry);
+        TimeGauge.builder("outbox.relay.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest outbox event not yet relayed")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.pending", pendingEvents, AtomicLong::get)
+                .description("Outbox events not yet relayed")
+                .register(meterRegistry);
+    }
+
+    public void relayPending() {
+        boolean fullBatchDelivered;
+        do {
+            fullBatchDelivered = Boolean.TRUE.equals(transactionTemplate.execute(status -> relayBatch()));
+        } while (fullBatchDelivered);
+        refreshLag();
+    }
+
+    /**
+     * @return {@code true} when a full batch went out without failures, meaning more may be waiting
+     */
+    private boolean relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.claimBatch(LocalDateTime.now(), properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(send(event));
+        }
+        outboxKafkaTemplate.flush();
+
+        long deadline = System.nanoTime() + properties.getSendTimeout().toNanos();
+        List<Long> delivered = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                delivered.add(event.getId());
+            } catch (ExecutionException e) {
+                reschedule(event, e.getCause() != null ? e.getCause() : e);
+            } catch (TimeoutException e) {
+                reschedule(event, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reschedule(event, e);
+            }
+        }
+
+        outboxEventRepository.deleteAllByIdInBatch(delivered);
+        sentCounter.increment(delivered.size());
+        return delivered.size() == properties.getBatchSize();
+    }
+
+    private CompletableFuture<SendResult<String, String>> send(OutboxEvent event) {
+        try {
+            return outboxKafkaTemplate.send(toRecord(event));
+        } catch (RuntimeException e) {
+            // e.g. metadata not available within max.block.ms; handled like a failed ack
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private ProducerRecord<String, String> toRecord(OutboxEvent event) {
+        ProducerRecord<String, String> record =
+                new ProducerRecord<>(event.getTopic(), event.getMessageKey(), event.getPayload());
+        if (event.getTypeId() != null) {
+            record.headers().add(new RecordHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME,
+                    event.getTypeId().getBytes(StandardCharsets.UTF_8)));
+        }
+        return record;
+    }
+
+    // The row stays managed, so the new schedule is flushed when the batch transaction commits
+    private void reschedule(OutboxEvent event, Throwable error) {
+        int attempts = event.getAttempts() + 1;
+        Duration backoff = properties.backoff(attempts);
+        event.setAttempts(attempts);
+        event.setAvailableAt(LocalDateTime.now().plus(backoff));
+        event.setLastError(truncate(error.getClass().getSimpleName() + ": " + error.getMessage()));
+        failedCounter.increment();
+        log.warn("Failed to relay outbox event {} to {} (attempt {}), retrying in {} ms: {}",
+                event.getId(), event.getTopic(), attempts, backoff.toMillis(), error.getMessage());
+    }
+
+    private void refreshLag() {
+        LocalDateTime oldest = outboxEventRepository.findOldestCreatedAt();
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+        pendingEvents.set(oldest == null ? 0 : outboxEventRepository.count());
+    }
+
+    private static String truncate(String value) {
+        return value.length() > MAX_ERROR_LENGTH ? value.substring(0, MAX_ERROR_LENGTH) : value;
+    }
+}